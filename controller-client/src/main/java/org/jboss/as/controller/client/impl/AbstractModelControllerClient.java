@@ -25,6 +25,8 @@ import static org.jboss.as.protocol.mgmt.ProtocolUtils.expectHeader;
 import java.io.DataInput;
 import java.io.IOException;
 import java.io.InputStream;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -62,6 +64,11 @@ public abstract class AbstractModelControllerClient implements ModelControllerCl
 
     private static final OperationMessageHandler NO_OP_HANDLER = OperationMessageHandler.DISCARD;
 
+    /**
+     * Whether to ask servers to compress operation responses. Servers not supporting it send them uncompressed.
+     */
+    private static final boolean COMPRESS_RESPONSES = Boolean.parseBoolean(getSystemProperty("org.jboss.as.controller.client.compress-responses"));
+
     /**
      * Get the mgmt channel association.
      *
@@ -135,6 +142,26 @@ public abstract class AbstractModelControllerClient implements ModelControllerCl
         return handlers.resolveNext();
     }
 
+    /**
+     * Gets whether servers should be asked to compress operation responses. Compression pays off for clients
+     * reading large responses over a network. By default it is enabled by setting the
+     * {@code org.jboss.as.controller.client.compress-responses} system property to {@code true}.
+     *
+     * @return {@code true} if responses should be compressed
+     */
+    protected boolean isCompressResponses() {
+        return COMPRESS_RESPONSES;
+    }
+
+    private static String getSystemProperty(final String name) {
+        return System.getSecurityManager() == null ? System.getProperty(name) : AccessController.doPrivileged(new PrivilegedAction<String>() {
+            @Override
+            public String run() {
+                return System.getProperty(name);
+            }
+        });
+    }
+
     /**
      * Execute for result.
      *
@@ -187,13 +214,23 @@ public abstract class AbstractModelControllerClient implements ModelControllerCl
                 operation.writeExternal(output);
                 output.write(ModelControllerProtocol.PARAM_INPUTSTREAMS_LENGTH);
                 output.writeInt(inputStreamLength);
+                if (isCompressResponses()) {
+                    // Older servers stop reading after the input streams length, so they simply ignore this
+                    output.write(ModelControllerProtocol.PARAM_ACCEPT_COMPRESSED_RESPONSE);
+                }
             }
 
             @Override
             public void handleRequest(final DataInput input, final ActiveOperation.ResultHandler<OperationResponse> resultHandler, final ManagementRequestContext<OperationExecutionContext> context) throws IOException {
-                expectHeader(input, ModelControllerProtocol.PARAM_RESPONSE);
-                final ModelNode node = new ModelNode();
-                node.readExternal(input);
+                final byte param = input.readByte();
+                final ModelNode node;
+                if (param == ModelControllerProtocol.PARAM_COMPRESSED_RESPONSE) {
+                    node = ModelNodeCompression.readCompressed(input);
+                } else {
+                    expectHeader(param, ModelControllerProtocol.PARAM_RESPONSE);
+                    node = new ModelNode();
+                    node.readExternal(input);
+                }
                 resultHandler.done(getOperationResponse(node, context.getOperationId()));
                 expectHeader(input, ManagementProtocol.RESPONSE_END);
             }
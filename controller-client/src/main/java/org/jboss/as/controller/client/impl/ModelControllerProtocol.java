@@ -61,5 +61,8 @@ public interface ModelControllerProtocol {
     // The propagated identity params
     byte PARAM_IDENTITY_LENGTH = 0x50;
     byte PARAM_IN_VM_CALL = 0x51;
+    // Response compression params
+    byte PARAM_ACCEPT_COMPRESSED_RESPONSE = 0x52;
+    byte PARAM_COMPRESSED_RESPONSE = 0x53;
 
 }
@@ -0,0 +1,109 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.client.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Writes and reads {@link ModelNode}s in their {@link ModelNode#writeExternal(DataOutput) external form} compressed
+ * with Deflate. Management responses repeat the same attribute names over and over, so large ones such as a
+ * recursive read of a whole domain shrink to a small fraction of their size.
+ * <p>
+ * The compressed bytes are preceded by their length, so the reader never consumes data following the node.
+ */
+public final class ModelNodeCompression {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private ModelNodeCompression() {
+    }
+
+    /**
+     * Writes the node in compressed form.
+     *
+     * @param node the node to write
+     * @param output the output to write to
+     * @throws IOException if the node could not be written
+     */
+    public static void writeCompressed(final ModelNode node, final DataOutput output) throws IOException {
+        final ExposedByteArrayOutputStream bytes = new ExposedByteArrayOutputStream();
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes, deflater, BUFFER_SIZE))) {
+                node.writeExternal(out);
+            }
+        } finally {
+            deflater.end();
+        }
+        output.writeInt(bytes.size());
+        bytes.writeTo(output);
+    }
+
+    /**
+     * Reads a node written by {@link #writeCompressed(ModelNode, DataOutput)}.
+     *
+     * @param input the input to read from
+     * @return the node
+     * @throws IOException if the node could not be read
+     */
+    public static ModelNode readCompressed(final DataInput input) throws IOException {
+        final int length = input.readInt();
+        if (length < 0) {
+            throw new IOException("Invalid compressed length " + length);
+        }
+        final byte[] compressed = new byte[length];
+        input.readFully(compressed);
+        final Inflater inflater = new Inflater();
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(compressed), inflater, BUFFER_SIZE))) {
+            final ModelNode node = new ModelNode();
+            node.readExternal(in);
+            return node;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /** Allows writing the buffered bytes without copying them first */
+    private static final class ExposedByteArrayOutputStream extends ByteArrayOutputStream {
+
+        ExposedByteArrayOutputStream() {
+            super(BUFFER_SIZE);
+        }
+
+        void writeTo(final DataOutput output) throws IOException {
+            output.write(buf, 0, count);
+        }
+    }
+}
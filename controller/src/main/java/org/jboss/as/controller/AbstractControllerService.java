@@ -32,6 +32,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REL
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESTART;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SHUTDOWN;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.jboss.as.controller.logging.ControllerLogger.MGMT_OP_LOGGER;
 import static org.jboss.as.controller.logging.ControllerLogger.ROOT_LOGGER;
 
 import java.io.BufferedWriter;
@@ -628,6 +629,7 @@ public abstract class AbstractControllerService implements Service<ModelControll
             @Override
             public void run() {
                 try {
+                    flushConfiguration();
                     stopAsynchronous(context);
                 } finally {
                     try {
@@ -656,6 +658,17 @@ public abstract class AbstractControllerService implements Service<ModelControll
         }
     }
 
+    private void flushConfiguration() {
+        // Write any deferred configuration change before a reload or restart reads the configuration back
+        if (configurationPersister != null) {
+            try {
+                configurationPersister.flush();
+            } catch (ConfigurationPersistenceException e) {
+                MGMT_OP_LOGGER.errorf(e, e.toString());
+            }
+        }
+    }
+
     /**
      * Hook for subclasses to perform work during the asynchronous task started by
      * {@link #stop(org.jboss.msc.service.StopContext)}. This base method does nothing.
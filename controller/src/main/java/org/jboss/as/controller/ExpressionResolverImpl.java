@@ -21,7 +21,11 @@
 */
 package org.jboss.as.controller;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.dmr.ModelNode;
@@ -40,6 +44,19 @@ public class ExpressionResolverImpl implements ExpressionResolver {
     private static final int GOT_DOLLAR = 1;
     private static final int GOT_OPEN_BRACE = 2;
 
+    /**
+     * Upper bound on the number of distinct expression strings whose parsed form is cached. Configurations rarely
+     * contain more than a few thousand; once the bound is reached further strings are simply parsed each time.
+     */
+    private static final int MAX_CACHED_TEMPLATES = 16384;
+
+    /**
+     * The parsed form of expression strings seen before, shared by all resolvers. Only the structure of the string is
+     * cached, never the result of resolving it, so there is nothing to invalidate when system properties or the
+     * values behind pluggable resolvers change.
+     */
+    private static final ConcurrentMap<String, ExpressionTemplate> TEMPLATES = new ConcurrentHashMap<>();
+
     private final boolean lenient;
 
     /**
@@ -140,7 +157,11 @@ public class ExpressionResolverImpl implements ExpressionResolver {
      */
     private ModelNode resolveExpressionStringRecursively(final String expressionString, final boolean ignoreDMRResolutionFailure,
                                                          final boolean initial) throws OperationFailedException {
-        ParseAndResolveResult resolved = parseAndResolve(expressionString, ignoreDMRResolutionFailure);
+        // Only strings from the configuration are worth caching; what they resolve to may vary
+        ExpressionTemplate template = initial ? getTemplate(expressionString) : ExpressionTemplate.NOT_SUPPORTED;
+        ParseAndResolveResult resolved = template != ExpressionTemplate.NOT_SUPPORTED
+                ? template.resolve(this, expressionString, ignoreDMRResolutionFailure)
+                : parseAndResolve(expressionString, ignoreDMRResolutionFailure);
         if (resolved.recursive) {
             // Some part of expressionString resolved into a different expression.
             // So, start over, ignoring failures. Ignore failures because we don't require
@@ -165,6 +186,17 @@ public class ExpressionResolverImpl implements ExpressionResolver {
         }
     }
 
+    private static ExpressionTemplate getTemplate(final String expressionString) {
+        ExpressionTemplate template = TEMPLATES.get(expressionString);
+        if (template == null) {
+            template = ExpressionTemplate.compile(expressionString);
+            if (TEMPLATES.size() < MAX_CACHED_TEMPLATES) {
+                TEMPLATES.putIfAbsent(expressionString, template);
+            }
+        }
+        return template;
+    }
+
     private ParseAndResolveResult parseAndResolve(final String initialValue, boolean lenient) throws OperationFailedException {
 
 
@@ -417,8 +449,6 @@ public class ExpressionResolverImpl implements ExpressionResolver {
 
     private static ParseAndResolveResult createRecursiveResult(String initialValue, String val,
                                                           Stack<OpenExpression> stack, int expressionEndIndex) {
-        int initialLength = initialValue.length();
-
         int expressionIndex = -1;
         while (expressionIndex == -1) {
             OpenExpression oe = stack.pop();
@@ -426,6 +456,12 @@ public class ExpressionResolverImpl implements ExpressionResolver {
                 expressionIndex = oe.startIndex;
             }
         }
+        return createRecursiveResult(initialValue, val, expressionIndex, expressionEndIndex);
+    }
+
+    private static ParseAndResolveResult createRecursiveResult(String initialValue, String val,
+                                                          int expressionIndex, int expressionEndIndex) {
+        int initialLength = initialValue.length();
         String result;
         if (expressionIndex == 0 && expressionEndIndex == initialLength -1) {
             // basic case
@@ -471,6 +507,127 @@ public class ExpressionResolverImpl implements ExpressionResolver {
         }
     }
 
+    /**
+     * The parsed form of a string containing only non-nested expressions, which is how nearly all expressions in a
+     * configuration look. Resolving it gives the same result as {@link #parseAndResolve(String, boolean)} without
+     * scanning the string again.
+     */
+    private static final class ExpressionTemplate {
+
+        /** Marks strings the template cannot represent, which are left to {@link #parseAndResolve(String, boolean)} */
+        private static final ExpressionTemplate NOT_SUPPORTED = new ExpressionTemplate(null, null, null, null, false);
+
+        /** The text around the expressions, with {@code $$} escapes already applied. One more than the expressions */
+        private final String[] literals;
+        /** The expressions, each including its leading {@code ${} and trailing {@code }} */
+        private final String[] expressions;
+        private final int[] startIndexes;
+        private final int[] endIndexes;
+        /** Whether the literal text differs from the original string due to escapes */
+        private final boolean escaped;
+
+        private ExpressionTemplate(String[] literals, String[] expressions, int[] startIndexes, int[] endIndexes, boolean escaped) {
+            this.literals = literals;
+            this.expressions = expressions;
+            this.startIndexes = startIndexes;
+            this.endIndexes = endIndexes;
+            this.escaped = escaped;
+        }
+
+        /**
+         * Parses the string following the same rules as {@link #parseAndResolve(String, boolean)}.
+         *
+         * @param value the string to parse
+         * @return the template, or {@link #NOT_SUPPORTED} if the string contains nested or incomplete expressions
+         */
+        static ExpressionTemplate compile(final String value) {
+            final List<String> literals = new ArrayList<>();
+            final List<String> expressions = new ArrayList<>();
+            final List<Integer> startIndexes = new ArrayList<>();
+            final List<Integer> endIndexes = new ArrayList<>();
+            final StringBuilder literal = new StringBuilder();
+            boolean escaped = false;
+            final int len = value.length();
+            int i = 0;
+            while (i < len) {
+                final char ch = value.charAt(i);
+                if (ch != '$' || i + 1 == len) {
+                    // A trailing '$' is kept as is
+                    literal.append(ch);
+                    i++;
+                    continue;
+                }
+                final char next = value.charAt(i + 1);
+                if (next == '$') {
+                    literal.append('$');
+                    escaped = true;
+                    i += 2;
+                    continue;
+                } else if (next != '{') {
+                    literal.append('$');
+                    i++;
+                    continue;
+                }
+                int ignoreBraceLevel = 0;
+                int end = i + 2;
+                for (; end < len; end++) {
+                    final char c = value.charAt(end);
+                    if (c == '$') {
+                        return NOT_SUPPORTED;
+                    } else if (c == '{') {
+                        ignoreBraceLevel++;
+                    } else if (c == '}') {
+                        if (ignoreBraceLevel == 0) {
+                            break;
+                        }
+                        ignoreBraceLevel--;
+                    }
+                }
+                if (end == len) {
+                    // Leave reporting the incomplete expression to the parser
+                    return NOT_SUPPORTED;
+                }
+                literals.add(literal.toString());
+                literal.setLength(0);
+                expressions.add(value.substring(i, end + 1));
+                startIndexes.add(i);
+                endIndexes.add(end);
+                i = end + 1;
+            }
+            literals.add(literal.toString());
+
+            final int[] starts = new int[startIndexes.size()];
+            final int[] ends = new int[endIndexes.size()];
+            for (int j = 0; j < starts.length; j++) {
+                starts[j] = startIndexes.get(j);
+                ends[j] = endIndexes.get(j);
+            }
+            return new ExpressionTemplate(literals.toArray(new String[literals.size()]),
+                    expressions.toArray(new String[expressions.size()]), starts, ends, escaped);
+        }
+
+        ParseAndResolveResult resolve(final ExpressionResolverImpl resolver, final String initialValue, final boolean lenient) throws OperationFailedException {
+            final StringBuilder builder = new StringBuilder(literals[0]);
+            boolean modified = escaped;
+            for (int i = 0; i < expressions.length; i++) {
+                final String toResolve = expressions[i];
+                final String resolved = resolver.resolveExpressionString(toResolve);
+                if (toResolve.equals(resolved)) {
+                    if (lenient) {
+                        return new ParseAndResolveResult(initialValue, false, false);
+                    }
+                    throw ControllerLogger.ROOT_LOGGER.cannotResolveExpression(initialValue);
+                }
+                if (EXPRESSION_PATTERN.matcher(resolved).matches()) {
+                    return createRecursiveResult(initialValue, resolved, startIndexes[i], endIndexes[i]);
+                }
+                builder.append(resolved).append(literals[i + 1]);
+                modified = true;
+            }
+            return new ParseAndResolveResult(builder.toString(), modified, false);
+        }
+    }
+
     private static class OpenExpression {
         private final int startIndex;
         private int endIndex = -1;
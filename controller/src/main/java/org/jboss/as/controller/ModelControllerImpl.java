@@ -83,6 +83,7 @@ import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.notification.NotificationSupport;
 import org.jboss.as.controller.persistence.ConfigurationPersistenceException;
 import org.jboss.as.controller.persistence.ConfigurationPersister;
+import org.jboss.as.controller.registry.CopyOnWriteScope;
 import org.jboss.as.controller.registry.DelegatingResource;
 import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
@@ -722,7 +723,7 @@ class ModelControllerImpl implements ModelController {
             // Don't do an expensive Resource.Tools.readModel if the persister isn't going to use the result
             if (persister.isPersisting()) {
                 ControllerLogger.MGMT_OP_LOGGER.tracef("persisting %s from %s", model.rootResource, model);
-                final ModelNode newModel = Resource.Tools.readModel(model.rootResource, model.resourceRegistration);
+                final ModelNode newModel = model.readModel();
                 delegate = persister.store(newModel, affectedAddresses);
             } else {
                 ControllerLogger.MGMT_OP_LOGGER.tracef("Ignoring permanent persistence during boot");
@@ -1131,14 +1132,24 @@ class ModelControllerImpl implements ModelController {
         private final Resource delegatingResource;
         // The capability registry
         private final CapabilityRegistry capabilityRegistry;
+        // The scope in which rootResource was copied from the published model, if any
+        private final CopyOnWriteScope copyScope;
 
         private volatile boolean published;
 
         ManagementModelImpl(final ManagementResourceRegistration resourceRegistration,
                             final Resource rootResource,
                             final CapabilityRegistry capabilityRegistry) {
+            this(resourceRegistration, rootResource, capabilityRegistry, null);
+        }
+
+        private ManagementModelImpl(final ManagementResourceRegistration resourceRegistration,
+                            final Resource rootResource,
+                            final CapabilityRegistry capabilityRegistry,
+                            final CopyOnWriteScope copyScope) {
             this.resourceRegistration = resourceRegistration;
             this.rootResource = rootResource;
+            this.copyScope = copyScope;
             assert capabilityRegistry != null;
             this.capabilityRegistry = capabilityRegistry;
             // What we expose depends on the state of our 'published' field. If 'true' we've been published
@@ -1233,6 +1244,8 @@ class ModelControllerImpl implements ModelController {
             ManagementResourceRegistration mrr;
             Resource currentResource;
             CapabilityRegistry currentCaps;
+            Resource clone;
+            CopyOnWriteScope scope;
             if (published) {
                 // This is the first clone since this was published. Use the current stuff as the basis
                 // to ensure that the clone is based on the latest even if we are not the latest.
@@ -1240,19 +1253,44 @@ class ModelControllerImpl implements ModelController {
                 mrr = currentPublished.resourceRegistration;
                 currentResource = currentPublished.rootResource;
                 currentCaps = currentPublished.capabilityRegistry;
+                // The published resource tree is never modified, so the clone can share
+                // everything it doesn't touch with it
+                scope = new CopyOnWriteScope();
+                clone = scope.copy(currentResource);
             } else {
                 // We've already been cloned, which means the thread calling this has the controller lock
                 // and our stuff hasn't been superceded by another thread. So use our stuff
                 mrr = resourceRegistration;
                 currentResource = rootResource;
                 currentCaps = capabilityRegistry;
+                // Our tree may still be modified, so it cannot be shared
+                scope = null;
+                clone = currentResource.clone();
             }
-            Resource clone = currentResource.clone();
-            ManagementModelImpl result = new ManagementModelImpl(mrr, clone, currentCaps);
+            ManagementModelImpl result = new ManagementModelImpl(mrr, clone, currentCaps, scope);
             ControllerLogger.MGMT_OP_LOGGER.tracef("cloned to %s to create %s and %s", currentResource, clone, result);
             return result;
         }
 
+        /**
+         * Reads the full model of our root resource for persistence.
+         *
+         * @return the model. Will not return {@code null}
+         */
+        ModelNode readModel() {
+            if (copyScope == null) {
+                return Resource.Tools.readModel(rootResource, resourceRegistration);
+            }
+            // Walking the whole tree must not copy the children still shared with the published model.
+            // Nothing modifies the tree while the persister reads it, so this is safe
+            copyScope.seal();
+            try {
+                return Resource.Tools.readModel(rootResource, resourceRegistration);
+            } finally {
+                copyScope.unseal();
+            }
+        }
+
         /**
          * Compares the registered requirements to the registered capabilities, returning any missing
          * or inconsistent requirements.
@@ -1272,6 +1310,10 @@ class ModelControllerImpl implements ModelController {
             }
         }
         private void publish() {
+            if (copyScope != null) {
+                // No further changes to our resource tree, so there is nothing left to copy on access
+                copyScope.seal();
+            }
             ModelControllerImpl.this.managementModel.set(this);
             published = true;
             ControllerLogger.MGMT_OP_LOGGER.tracef("published %s", this);
@@ -21,10 +21,13 @@
  */
 package org.jboss.as.controller.audit;
 
+import static java.security.AccessController.doPrivileged;
+
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.services.path.PathManagerService;
 import org.jboss.as.protocol.StreamUtils;
-import org.xnio.IoUtils;
+import org.jboss.threads.JBossThreadFactory;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
@@ -34,30 +37,69 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  *  All methods on this class should be called with {@link org.jboss.as.controller.audit.ManagedAuditLoggerImpl}'s lock taken.
+ *  <p>
+ *  The log file is kept open between records. If the {@code org.wildfly.audit-log.file-handler.queue-size} system
+ *  property is set to a positive number, formatted records are queued and written by a background thread instead,
+ *  which appends all records queued in the meantime and then syncs the file once for the whole batch. Logging blocks
+ *  while the queue is full, so records are never dropped. A batch that could not be written is kept and written again
+ *  before any later record, so a record appended before the failure may appear twice in the file. Any queued records
+ *  are written when the handler is stopped and on JVM shutdown, unless the handler has been stopped before.
  *
  * @author <a href="kabir.khan@jboss.com">Kabir Khan</a>
  * @author <a href="mailto:istudens@redhat.com">Ivo Studensky</a>
  */
 public abstract class AbstractFileAuditLogHandler extends AuditLogHandler {
     protected static final byte[] LINE_TERMINATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+    private static final int QUEUE_SIZE = Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged("org.wildfly.audit-log.file-handler.queue-size", "0"));
     private final PathManagerService pathManager;
     private final String path;
     private final String relativeTo;
 
     private volatile File file;
+    /** The stream to the log file, kept open between records. Guarded by this */
+    private FileOutputStream output;
+    /** Whether records were appended to the output since it was last synced. Guarded by this */
+    private boolean unsynced;
+
+    /** The records waiting to be written by the writer thread, or {@code null} if records are written synchronously */
+    private final BlockingQueue<String> queue;
+    /** The records taken from the queue but not written yet, because the last attempt failed. Guarded by this */
+    private final List<String> unwritten = new ArrayList<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final LongAdder blockedWrites = new LongAdder();
 
     public AbstractFileAuditLogHandler(String name, String formatterName, int maxFailureCount, PathManagerService pathManager, String path, String relativeTo) {
+        this(name, formatterName, maxFailureCount, pathManager, path, relativeTo, QUEUE_SIZE);
+    }
+
+    AbstractFileAuditLogHandler(String name, String formatterName, int maxFailureCount, PathManagerService pathManager, String path, String relativeTo, int queueSize) {
         super(name, formatterName, maxFailureCount);
         this.pathManager = pathManager;
         this.path = path;
         this.relativeTo = relativeTo;
+        this.queue = queueSize > 0 ? new ArrayBlockingQueue<>(queueSize) : null;
     }
 
     @Override
-    void initialize() {
+    synchronized void initialize() {
         if (file == null) {
             File file = new File(pathManager.resolveRelativePathEntry(path, relativeTo));
             if (file.exists() && file.isDirectory()) {
@@ -86,22 +128,216 @@ public abstract class AbstractFileAuditLogHandler extends AuditLogHandler {
 
     @Override
     void stop() {
-        file = null;
+        if (queue != null) {
+            flush();
+            WriterHolder.PENDING.remove(this);
+        }
+        synchronized (this) {
+            closeOutput();
+            file = null;
+        }
+    }
+
+    @Override
+    void writeLogItem(AuditLogItem item) {
+        if (queue == null) {
+            super.writeLogItem(item);
+            return;
+        }
+        // The formatters cache the formatted record until the audit logger clears them, so format it straight away
+        final String formattedItem;
+        try {
+            formattedItem = formatLogItem(item);
+        } catch (Throwable t) {
+            getFailureCountHandler().failure(t);
+            return;
+        }
+        if (!queue.offer(formattedItem)) {
+            blockedWrites.increment();
+            try {
+                // The writer stops after a failed write, so keep asking it to try again while waiting
+                do {
+                    scheduleDrain();
+                    if (hasTooManyFailures()) {
+                        // Disabled, as if the handler had not been asked to log the record
+                        return;
+                    }
+                } while (!queue.offer(formattedItem, 1, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                getFailureCountHandler().failure(e);
+                return;
+            }
+        }
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (drainScheduled.compareAndSet(false, true)) {
+            WriterHolder.PENDING.add(this);
+            WriterHolder.EXECUTOR.execute(this::drain);
+        }
     }
 
     @Override
     void writeLogItem(String formattedItem) throws IOException {
-        final FileOutputStream fos = new FileOutputStream(file, true);
-        final BufferedOutputStream output = new BufferedOutputStream(fos);
+        writeLogItems(Collections.singletonList(formattedItem));
+    }
+
+    /**
+     * Appends the formatted records to the log file and syncs it. The file is checked for rotation before each record
+     * but the first, which {@link #initialize()} has already checked.
+     *
+     * @param formattedItems the records to write
+     * @throws IOException if the records could not be written
+     */
+    synchronized void writeLogItems(List<String> formattedItems) throws IOException {
+        if (formattedItems.isEmpty()) {
+            return;
+        }
+        boolean first = true;
+        for (String formattedItem : formattedItems) {
+            if (!first) {
+                rotateLogFile(file);
+            }
+            first = false;
+            if (output == null) {
+                output = new FileOutputStream(file, true);
+            }
+            final byte[] item = formattedItem.getBytes(StandardCharsets.UTF_8);
+            final byte[] bytes = Arrays.copyOf(item, item.length + LINE_TERMINATOR.length);
+            System.arraycopy(LINE_TERMINATOR, 0, bytes, item.length, LINE_TERMINATOR.length);
+            try {
+                output.write(bytes);
+            } catch (IOException e) {
+                // Reopen the file for the next record
+                closeOutput();
+                throw e;
+            }
+            unsynced = true;
+            logItemWritten(bytes.length);
+        }
         try {
-            output.write(formattedItem.getBytes(StandardCharsets.UTF_8));
-            output.write(LINE_TERMINATOR);
+            //Force the file to sync
+            output.getFD().sync();
+            unsynced = false;
+        } catch (IOException e) {
+            // Reopen the file for the next record
+            closeOutput();
+            throw e;
+        }
+    }
 
-            //Flush and force the file to sync
-            output.flush();
-            fos.getFD().sync();
-        } finally {
-            IoUtils.safeClose(output);
+    /**
+     * Called once a formatted record has been appended to the log file, before it is synced.
+     *
+     * @param length the number of bytes written, including the line terminator
+     */
+    void logItemWritten(int length) {
+    }
+
+    /**
+     * Writes the queued records until the queue is empty. Runs on the writer thread.
+     */
+    private void drain() {
+        for (;;) {
+            while (writeQueuedItems()) {
+                // keep going
+            }
+            if (hasUnwrittenItems()) {
+                // Tried again when the next record is queued, staying pending so that a shutdown still writes them
+                drainScheduled.set(false);
+                return;
+            }
+            WriterHolder.PENDING.remove(this);
+            drainScheduled.set(false);
+            // Records queued after the last check but before the flag was cleared would otherwise be stranded
+            if (queue.isEmpty() || !drainScheduled.compareAndSet(false, true)) {
+                return;
+            }
+            WriterHolder.PENDING.add(this);
+        }
+    }
+
+    /**
+     * Writes any records still queued on the calling thread.
+     */
+    void flush() {
+        while (writeQueuedItems()) {
+            // keep going
+        }
+    }
+
+    /**
+     * Writes any records still queued on JVM shutdown, unless the handler has been stopped.
+     */
+    private synchronized void flushOnShutdown() {
+        if (file != null) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes the records currently in the queue as one batch, or the batch the last attempt failed to write. Draining
+     * the queue with the lock held keeps the records in order when the handler is flushed while the writer thread is
+     * busy.
+     *
+     * @return {@code false} if there was nothing to write or the batch could not be written
+     */
+    private synchronized boolean writeQueuedItems() {
+        if (unwritten.isEmpty()) {
+            queue.drainTo(unwritten);
+            if (unwritten.isEmpty()) {
+                return false;
+            }
+        }
+        FailureCountHandler fch = getFailureCountHandler();
+        try {
+            initialize();
+            writeLogItems(unwritten);
+        } catch (Throwable t) {
+            // Keep the batch for the next attempt
+            fch.failure(t);
+            return false;
+        }
+        unwritten.clear();
+        fch.success();
+        return true;
+    }
+
+    private synchronized boolean hasUnwrittenItems() {
+        return !unwritten.isEmpty();
+    }
+
+    @Override
+    int getQueueDepth() {
+        if (queue == null) {
+            return 0;
+        }
+        synchronized (this) {
+            return queue.size() + unwritten.size();
+        }
+    }
+
+    @Override
+    long getBlockedWrites() {
+        return blockedWrites.sum();
+    }
+
+    /** Call with the lock held */
+    private void closeOutput() {
+        if (output != null) {
+            if (unsynced) {
+                // Records appended before the file is rotated
+                try {
+                    output.getFD().sync();
+                } catch (IOException e) {
+                    ControllerLogger.MGMT_OP_LOGGER.logHandlerWriteFailed(e, name);
+                }
+                unsynced = false;
+            }
+            StreamUtils.safeClose(output);
+            output = null;
         }
     }
 
@@ -159,7 +395,9 @@ public abstract class AbstractFileAuditLogHandler extends AuditLogHandler {
         }
     }
 
-    protected void rename(File file, File to) throws IOException {
+    protected synchronized void rename(File file, File to) throws IOException {
+        // The file must not stay open for writing once it has been moved aside
+        closeOutput();
         if (!file.renameTo(to) && file.exists()) {
             copyFile(file, to);
             file.delete();
@@ -171,7 +409,8 @@ public abstract class AbstractFileAuditLogHandler extends AuditLogHandler {
      *
      * @param file File to create
      */
-    protected void createNewFile(final File file) {
+    protected synchronized void createNewFile(final File file) {
+        closeOutput();
         try {
             file.createNewFile();
             setFileNotWorldReadablePermissions(file);
@@ -195,4 +434,30 @@ public abstract class AbstractFileAuditLogHandler extends AuditLogHandler {
        file.setWritable(true, true);
     }
 
+    /**
+     * Lazily creates the single thread writing the queued records of all handlers.
+     */
+    private static final class WriterHolder {
+        private static final Set<AbstractFileAuditLogHandler> PENDING = ConcurrentHashMap.newKeySet();
+        private static final ExecutorService EXECUTOR;
+
+        static {
+            final JBossThreadFactory threadFactory = doPrivileged(new PrivilegedAction<JBossThreadFactory>() {
+                public JBossThreadFactory run() {
+                    return new JBossThreadFactory(new ThreadGroup("audit-log-writer"), Boolean.TRUE, null, "%G - %t", null, null);
+                }
+            });
+            EXECUTOR = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), threadFactory);
+            doPrivileged(new PrivilegedAction<Void>() {
+                public Void run() {
+                    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                        for (AbstractFileAuditLogHandler handler : PENDING) {
+                            handler.flushOnShutdown();
+                        }
+                    }, "Audit log writer shutdown hook"));
+                    return null;
+                }
+            });
+        }
+    }
 }
@@ -26,6 +26,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.logging.ControllerLogger;
@@ -41,8 +42,8 @@ abstract class AuditLogHandler {
     /** Maximum number of consecutive logging failures before we stop logging */
     private volatile int maxFailureCount = 10;
 
-    /** The number of consecutive failures writing to the log */
-    private int failureCount;
+    /** The number of consecutive failures writing to the log. Atomic as file handlers may write asynchronously */
+    private final AtomicInteger failureCount = new AtomicInteger();
 
 
     protected final String name;
@@ -80,7 +81,7 @@ abstract class AuditLogHandler {
         FailureCountHandler fch = getFailureCountHandler();
         try {
             initialize();
-            String formattedItem = item.format(formatter);
+            String formattedItem = formatLogItem(item);
             writeLogItem(formattedItem);
             fch.success();
         } catch (Throwable t) {
@@ -88,8 +89,12 @@ abstract class AuditLogHandler {
         }
     }
 
+    String formatLogItem(AuditLogItem item) {
+        return item.format(formatter);
+    }
+
     void recycle() {
-        this.failureCount = 0;
+        failureCount.set(0);
         stop();
     }
 
@@ -102,7 +107,7 @@ abstract class AuditLogHandler {
     }
 
     boolean hasTooManyFailures() {
-        return maxFailureCount > 0 && failureCount >= maxFailureCount;
+        return maxFailureCount > 0 && failureCount.get() >= maxFailureCount;
     }
 
     void addReference(PathAddress address){
@@ -121,7 +126,25 @@ abstract class AuditLogHandler {
     }
 
     int getFailureCount() {
-        return failureCount;
+        return failureCount.get();
+    }
+
+    /**
+     * Gets the number of formatted records waiting to be written, for handlers writing asynchronously.
+     *
+     * @return the number of queued records
+     */
+    int getQueueDepth() {
+        return 0;
+    }
+
+    /**
+     * Gets the number of times logging had to wait for the queue of an asynchronous handler to have room.
+     *
+     * @return the number of blocked writes
+     */
+    long getBlockedWrites() {
+        return 0;
     }
 
     FailureCountHandler getFailureCountHandler() {
@@ -145,15 +168,15 @@ abstract class AuditLogHandler {
     class StandardFailureCountHandler implements FailureCountHandler {
         @Override
         public void success() {
-            failureCount = 0;
+            failureCount.set(0);
         }
 
         @Override
         public void failure(Throwable t) {
-            failureCount++;
+            final int count = failureCount.incrementAndGet();
             ControllerLogger.MGMT_OP_LOGGER.logHandlerWriteFailed(t, name);
-            if (hasTooManyFailures()) {
-                ControllerLogger.MGMT_OP_LOGGER.disablingLogHandlerDueToFailures(failureCount, name);
+            if (maxFailureCount > 0 && count >= maxFailureCount) {
+                ControllerLogger.MGMT_OP_LOGGER.disablingLogHandlerDueToFailures(count, name);
             }
         }
     }
@@ -161,7 +184,7 @@ abstract class AuditLogHandler {
     class ReconnectFailureCountHandler implements FailureCountHandler {
         @Override
         public void success() {
-            failureCount = 0;
+            failureCount.set(0);
         }
 
         @Override
@@ -48,6 +48,12 @@ public class FileAuditLogHandler extends AbstractFileAuditLogHandler {
         this.rotateAtStartup = rotateAtStartup;
     }
 
+    FileAuditLogHandler(String name, String formatterName, int maxFailureCount, PathManagerService pathManager,
+                        String path, String relativeTo, boolean rotateAtStartup, int queueSize) {
+        super(name, formatterName, maxFailureCount, pathManager, path, relativeTo, queueSize);
+        this.rotateAtStartup = rotateAtStartup;
+    }
+
     @Override
     protected void initializeAtStartup(final File file) {
         // rotate on every startup
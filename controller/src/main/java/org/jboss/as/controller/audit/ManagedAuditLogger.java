@@ -182,6 +182,26 @@ public interface ManagedAuditLogger extends AuditLogger {
      */
     boolean getHandlerDisabledDueToFailure(String name);
 
+    /**
+     * Get the number of formatted records waiting to be written by a handler
+     *
+     * @param name the name of the handler
+     * @return the number of queued records
+     */
+    default int getHandlerQueueDepth(String name) {
+        return 0;
+    }
+
+    /**
+     * Get the number of times logging had to wait for room in the queue of a handler
+     *
+     * @param name the name of the handler
+     * @return the number of blocked writes
+     */
+    default long getHandlerBlockedWrites(String name) {
+        return 0;
+    }
+
     /**
      * Gets a formatter by its name
      *
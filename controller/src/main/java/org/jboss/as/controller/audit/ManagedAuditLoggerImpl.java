@@ -497,6 +497,28 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
         }
     }
 
+    @Override
+    public int getHandlerQueueDepth(String name) {
+        config.lock();
+        try {
+            AuditLogHandler handler = config.getConfiguredHandler(name);
+            return handler.getQueueDepth();
+        } finally {
+            config.unlock();
+        }
+    }
+
+    @Override
+    public long getHandlerBlockedWrites(String name) {
+        config.lock();
+        try {
+            AuditLogHandler handler = config.getConfiguredHandler(name);
+            return handler.getBlockedWrites();
+        } finally {
+            config.unlock();
+        }
+    }
+
 
     @Override
     public JsonAuditLogItemFormatter getJsonFormatter(String name) {
@@ -83,6 +83,7 @@ public class ModelDescriptionConstants {
     public static final String AUTO_START = "auto-start";
     public static final String BASE_DN = "base-dn";
     public static final String BASE_ROLE = "base-role";
+    public static final String BLOCKED_WRITES = "blocked-writes";
     public static final String BLOCKING = "blocking";
     public static final String BLOCKING_TIMEOUT = "blocking-timeout";
     public static final String BOOT_TIME = "boot-time";
@@ -403,6 +404,7 @@ public class ModelDescriptionConstants {
     public static final String PROVIDES = "provides";
     public static final String PROXIES = "proxies";
     public static final String QUERY = "query";
+    public static final String QUEUE_DEPTH = "queue-depth";
     public static final String READ = "read";
     public static final String READ_ATTRIBUTE_OPERATION = "read-attribute";
     public static final String READ_ATTRIBUTE_GROUP_OPERATION = "read-attribute-group";
@@ -417,6 +419,7 @@ public class ModelDescriptionConstants {
     public static final String READ_ONLY = "read-only";
     public static final String READ_OPERATION_DESCRIPTION_OPERATION = "read-operation-description";
     public static final String READ_OPERATION_NAMES_OPERATION = "read-operation-names";
+    public static final String READ_PROCESSING_PROFILE = "read-processing-profile";
     public static final String READ_RESOURCE_DESCRIPTION_OPERATION = "read-resource-description";
     public static final String READ_RESOURCE_METRICS = "read-resource-metrics";
     public static final String READ_RESOURCE_OPERATION = "read-resource";
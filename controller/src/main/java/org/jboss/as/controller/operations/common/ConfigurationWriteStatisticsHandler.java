@@ -0,0 +1,88 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.controller.operations.common;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationDefinition;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.descriptions.common.ControllerResolver;
+import org.jboss.as.controller.persistence.ConfigurationPersister;
+import org.jboss.as.controller.registry.OperationEntry;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * An operation that reads the statistics of the writes of the configuration changes.
+ */
+public class ConfigurationWriteStatisticsHandler implements OperationStepHandler {
+
+    private static final String OPERATION_NAME = "read-configuration-write-statistics";
+
+    private static final SimpleAttributeDefinition COMMITS = new SimpleAttributeDefinitionBuilder("commits", ModelType.LONG)
+            .build();
+    private static final SimpleAttributeDefinition WRITES = new SimpleAttributeDefinitionBuilder("writes", ModelType.LONG)
+            .build();
+    private static final SimpleAttributeDefinition FAILED_WRITES = new SimpleAttributeDefinitionBuilder("failed-writes", ModelType.LONG)
+            .build();
+    private static final SimpleAttributeDefinition BYTES_WRITTEN = new SimpleAttributeDefinitionBuilder("bytes-written", ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.BYTES)
+            .build();
+    private static final SimpleAttributeDefinition LAST_BYTES_WRITTEN = new SimpleAttributeDefinitionBuilder("last-bytes-written", ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.BYTES)
+            .build();
+    private static final SimpleAttributeDefinition MARSHAL_TIME = new SimpleAttributeDefinitionBuilder("marshal-time", ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .build();
+    private static final SimpleAttributeDefinition LAST_MARSHAL_TIME = new SimpleAttributeDefinitionBuilder("last-marshal-time", ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .build();
+    private static final SimpleAttributeDefinition WRITE_BEHIND = new SimpleAttributeDefinitionBuilder("write-behind", ModelType.BOOLEAN)
+            .build();
+    private static final SimpleAttributeDefinition WRITE_BEHIND_FAILED = new SimpleAttributeDefinitionBuilder("write-behind-failed", ModelType.BOOLEAN)
+            .build();
+
+    public static final OperationDefinition DEFINITION = new SimpleOperationDefinitionBuilder(OPERATION_NAME, ControllerResolver.getResolver("configuration-write-statistics"))
+            .setReplyParameters(COMMITS, WRITES, FAILED_WRITES, BYTES_WRITTEN, LAST_BYTES_WRITTEN, MARSHAL_TIME, LAST_MARSHAL_TIME,
+                    WRITE_BEHIND, WRITE_BEHIND_FAILED)
+            .setReadOnly()
+            .setRuntimeOnly()
+            .withFlag(OperationEntry.Flag.MASTER_HOST_CONTROLLER_ONLY)
+            .build();
+
+    private final ConfigurationPersister persister;
+
+    public ConfigurationWriteStatisticsHandler(ConfigurationPersister persister) {
+        this.persister = persister;
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        context.getResult().set(persister.getWriteStatistics());
+    }
+}
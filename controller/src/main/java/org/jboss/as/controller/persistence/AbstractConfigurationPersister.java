@@ -47,6 +47,8 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
     private final XMLElementWriter<ModelMarshallingContext> rootDeparser;
     private final ConcurrentHashMap<String, XMLElementWriter<SubsystemMarshallingContext>> subsystemWriters = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, Supplier<XMLElementWriter<SubsystemMarshallingContext>>> subsystemWriterSuppliers = new ConcurrentHashMap<>();
+    private final ConfigurationWriteBehind writeBehind;
+    private final ConfigurationWriteStatistics writeStatistics = new ConfigurationWriteStatistics();
 
     /**
      * Construct a new instance.
@@ -54,7 +56,12 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
      * @param rootDeparser the root model deparser
      */
     public AbstractConfigurationPersister(final XMLElementWriter<ModelMarshallingContext> rootDeparser) {
+        this(rootDeparser, new ConfigurationWriteBehind());
+    }
+
+    AbstractConfigurationPersister(final XMLElementWriter<ModelMarshallingContext> rootDeparser, final ConfigurationWriteBehind writeBehind) {
         this.rootDeparser = rootDeparser;
+        this.writeBehind = writeBehind;
     }
 
     @Override
@@ -113,6 +120,40 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
         }
     }
 
+    ConfigurationWriteBehind getWriteBehind() {
+        return writeBehind;
+    }
+
+    ConfigurationWriteStatistics writeStatistics() {
+        return writeStatistics;
+    }
+
+    /**
+     * Gets whether the writes of committed configuration changes may be deferred and coalesced, if enabled by the
+     * {@code org.wildfly.configuration.persister.write-delay} system property. Persisters whose resources act on the
+     * written file as part of the commit or rollback must return {@code false}.
+     * <p>
+     * This default implementation returns {@code true}.
+     *
+     * @return {@code true} if the writes may be deferred
+     */
+    protected boolean isWriteBehindSupported() {
+        return true;
+    }
+
+    /**
+     * Synchronously writes any configuration change whose write was deferred.
+     */
+    @Override
+    public void flush() throws ConfigurationPersistenceException {
+        writeBehind.flush();
+    }
+
+    @Override
+    public ModelNode getWriteStatistics() {
+        return writeStatistics.toModelNode(writeBehind);
+    }
+
     @Override
     public void successfulBoot() throws ConfigurationPersistenceException {
     }
@@ -23,52 +23,76 @@ package org.jboss.as.controller.persistence;
 
 import static org.jboss.as.controller.logging.ControllerLogger.MGMT_OP_LOGGER;
 
-import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
 
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.dmr.ModelNode;
-import org.xnio.IoUtils;
 
 /**
  *
  * @author <a href="kabir.khan@jboss.com">Kabir Khan</a>
  */
 public abstract class AbstractFilePersistenceResource implements ConfigurationPersister.PersistenceResource {
+    private final AbstractConfigurationPersister persister;
+    private volatile ModelNode model;
     private volatile ExposedByteArrayOutputStream marshalled;
+    private volatile boolean rolledBack;
 
     protected AbstractFilePersistenceResource(final ModelNode model, final AbstractConfigurationPersister persister) throws ConfigurationPersistenceException {
-        marshalled = new ExposedByteArrayOutputStream(1024 * 8);
-        try {
-            try {
-                BufferedOutputStream output = new BufferedOutputStream(marshalled);
-                persister.marshallAsXml(model, output);
-                output.close();
-                marshalled.close();
-            } finally {
-                IoUtils.safeClose(marshalled);
-            }
-        } catch (Exception e) {
-            throw ControllerLogger.ROOT_LOGGER.failedToMarshalConfiguration(e);
+        this.persister = persister;
+        final ConfigurationWriteBehind writeBehind = persister.getWriteBehind();
+        if (writeBehind.isEnabled() && persister.isWriteBehindSupported()) {
+            // Defer marshalling until the write is done, so commits coalesced into that write are only marshalled once
+            this.model = model;
+        } else {
+            marshalled = marshal(model, persister);
         }
     }
 
     @Override
     public void commit() {
-        if (marshalled == null) {
+        if (rolledBack) {
             throw ControllerLogger.ROOT_LOGGER.rollbackAlreadyInvoked();
         }
-        try(InputStream in = getMarshalledInputStream()) {
-            doCommit(in);
-        } catch (IOException ioex) {
-            MGMT_OP_LOGGER.errorf(ioex, ioex.getMessage());
+        persister.writeStatistics().committed();
+        if (marshalled == null) {
+            persister.getWriteBehind().schedule(this);
+        } else {
+            writeMarshalled();
         }
     }
 
     @Override
     public void rollback() {
+        rolledBack = true;
         marshalled = null;
+        model = null;
+    }
+
+    /**
+     * Writes the configuration, marshalling it first if that was deferred by the persister's write-behind.
+     *
+     * @throws ConfigurationPersistenceException if the configuration could not be marshalled
+     */
+    void write() throws ConfigurationPersistenceException {
+        if (marshalled == null) {
+            marshalled = marshal(model, persister);
+            model = null;
+        }
+        writeMarshalled();
+    }
+
+    private void writeMarshalled() {
+        try(InputStream in = getMarshalledInputStream()) {
+            doCommit(in);
+            persister.writeStatistics().written(marshalled.size());
+            MGMT_OP_LOGGER.tracef("Committed %d bytes of configuration", marshalled.size());
+        } catch (IOException ioex) {
+            persister.writeStatistics().writeFailed();
+            MGMT_OP_LOGGER.errorf(ioex, ioex.getMessage());
+        }
     }
 
     protected InputStream getMarshalledInputStream() {
@@ -76,4 +100,14 @@ public abstract class AbstractFilePersistenceResource implements ConfigurationPe
     }
 
     protected abstract void doCommit(InputStream marshalled);
+
+    private static ExposedByteArrayOutputStream marshal(final ModelNode model, final AbstractConfigurationPersister persister) throws ConfigurationPersistenceException {
+        final long start = System.nanoTime();
+        final ExposedByteArrayOutputStream marshalled = FilePersistenceUtils.marshalXml(persister, model);
+        final long elapsed = System.nanoTime() - start;
+        persister.writeStatistics().marshalled(elapsed);
+        MGMT_OP_LOGGER.tracef("Marshalled %d bytes of configuration in %d ms", marshalled.size(),
+                TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return marshalled;
+    }
 }
@@ -122,6 +122,7 @@ public class BackupXmlConfigurationPersister extends XmlConfigurationPersister {
 
     @Override
     public String snapshot(String name, String comment) throws ConfigurationPersistenceException {
+        flush();
         return configurationFile.snapshot(name, comment);
     }
 
@@ -106,6 +106,29 @@ public interface ConfigurationPersister {
      */
     void successfulBoot() throws ConfigurationPersistenceException;
 
+    /**
+     * Synchronously writes any committed configuration change that was not written to permanent storage yet.
+     * Called before the configuration is read back, for example when the controller stops or reloads.
+     * <p>
+     * The default implementation does nothing.
+     *
+     * @throws ConfigurationPersistenceException if a problem happened when writing the configuration
+     */
+    default void flush() throws ConfigurationPersistenceException {
+    }
+
+    /**
+     * Gets statistics of the writes of committed configuration changes, such as the number of writes, the bytes
+     * written and the time spent marshalling the configuration.
+     * <p>
+     * The default implementation returns an undefined node.
+     *
+     * @return the statistics. This will never return null
+     */
+    default ModelNode getWriteStatistics() {
+        return new ModelNode();
+    }
+
     /**
      * Take a snapshot of the current configuration
      *
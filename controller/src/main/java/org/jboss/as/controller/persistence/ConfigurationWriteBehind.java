@@ -0,0 +1,145 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.persistence;
+
+import static java.security.AccessController.doPrivileged;
+import static org.jboss.as.controller.logging.ControllerLogger.MGMT_OP_LOGGER;
+
+import java.security.PrivilegedAction;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.jboss.threads.JBossThreadFactory;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Coalesces configuration writes of a persister that are committed in short succession, so that for example a
+ * scripted series of CLI changes results in a single marshal and write of the configuration file rather than one
+ * per change. Only the latest committed configuration is written once the write delay has elapsed.
+ * <p>
+ * Disabled unless the {@code org.wildfly.configuration.persister.write-delay} system property is set to a positive
+ * number of milliseconds. Pending writes are flushed when the persister is {@link ConfigurationPersister#flush() flushed},
+ * which happens before snapshots and when the controller stops or reloads, and on JVM shutdown.
+ * <p>
+ * As the operations whose changes are written in the background have already completed, a failure to marshal the
+ * configuration in the background is logged and disables the write-behind: later changes are then written
+ * synchronously, so that a change which cannot be marshalled fails its own operation.
+ */
+final class ConfigurationWriteBehind {
+
+    static final long WRITE_DELAY = Long.parseLong(WildFlySecurityManager.getPropertyPrivileged("org.wildfly.configuration.persister.write-delay", "0"));
+
+    private final long writeDelay;
+    /** Serializes the writes, so an older configuration never overwrites a newer one. */
+    private final Object writeLock = new Object();
+    /** The latest committed resource not written yet. Guarded by this. */
+    private AbstractFilePersistenceResource pending;
+    /** Whether a background write failed, which disables the write-behind */
+    private final AtomicBoolean failed = new AtomicBoolean();
+
+    ConfigurationWriteBehind() {
+        this(WRITE_DELAY);
+    }
+
+    ConfigurationWriteBehind(long writeDelay) {
+        this.writeDelay = writeDelay;
+    }
+
+    boolean isEnabled() {
+        return writeDelay > 0 && !failed.get();
+    }
+
+    boolean isFailed() {
+        return failed.get();
+    }
+
+    synchronized void schedule(AbstractFilePersistenceResource resource) {
+        if (pending == null) {
+            WriterHolder.PENDING.add(this);
+            WriterHolder.EXECUTOR.schedule(this::flushInBackground, writeDelay, TimeUnit.MILLISECONDS);
+        }
+        pending = resource;
+    }
+
+    /**
+     * Synchronously writes the latest committed configuration, if any.
+     *
+     * @throws ConfigurationPersistenceException if the configuration could not be marshalled
+     */
+    void flush() throws ConfigurationPersistenceException {
+        synchronized (writeLock) {
+            final AbstractFilePersistenceResource toWrite;
+            synchronized (this) {
+                toWrite = pending;
+                pending = null;
+                WriterHolder.PENDING.remove(this);
+            }
+            if (toWrite != null) {
+                toWrite.write();
+            }
+        }
+    }
+
+    private void flushInBackground() {
+        try {
+            flush();
+        } catch (ConfigurationPersistenceException e) {
+            if (failed.compareAndSet(false, true)) {
+                MGMT_OP_LOGGER.errorf(e, "%s; configuration changes are now written when they are committed", e);
+            } else {
+                MGMT_OP_LOGGER.errorf(e, e.toString());
+            }
+        }
+    }
+
+    /**
+     * Lazily creates the single thread doing the writes, so writes of the same file are never concurrent.
+     */
+    private static final class WriterHolder {
+        private static final Set<ConfigurationWriteBehind> PENDING = ConcurrentHashMap.newKeySet();
+        private static final ScheduledExecutorService EXECUTOR;
+
+        static {
+            final JBossThreadFactory threadFactory = doPrivileged(new PrivilegedAction<JBossThreadFactory>() {
+                public JBossThreadFactory run() {
+                    return new JBossThreadFactory(new ThreadGroup("configuration-writer"), Boolean.TRUE, null, "%G - %t", null, null);
+                }
+            });
+            EXECUTOR = new ScheduledThreadPoolExecutor(1, threadFactory);
+            doPrivileged(new PrivilegedAction<Void>() {
+                public Void run() {
+                    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                        for (ConfigurationWriteBehind writeBehind : PENDING) {
+                            writeBehind.flushInBackground();
+                        }
+                    }, "Configuration writer shutdown hook"));
+                    return null;
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.controller.persistence;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Statistics of the configuration writes of a persister, exposed by {@link ConfigurationPersister#getWriteStatistics()}.
+ */
+final class ConfigurationWriteStatistics {
+
+    private final LongAdder commits = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder failedWrites = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+    private final AtomicLong lastBytesWritten = new AtomicLong();
+    private final LongAdder marshalTime = new LongAdder();
+    private final AtomicLong lastMarshalTime = new AtomicLong();
+
+    void committed() {
+        commits.increment();
+    }
+
+    void marshalled(long nanos) {
+        marshalTime.add(nanos);
+        lastMarshalTime.set(nanos);
+    }
+
+    void written(long bytes) {
+        writes.increment();
+        bytesWritten.add(bytes);
+        lastBytesWritten.set(bytes);
+    }
+
+    void writeFailed() {
+        failedWrites.increment();
+    }
+
+    /**
+     * Gets the statistics. Commits coalesced by the {@link ConfigurationWriteBehind write-behind} are counted as
+     * commits but not as writes.
+     *
+     * @param writeBehind the write-behind of the persister
+     * @return the statistics
+     */
+    ModelNode toModelNode(ConfigurationWriteBehind writeBehind) {
+        final ModelNode result = new ModelNode();
+        result.get("commits").set(commits.sum());
+        result.get("writes").set(writes.sum());
+        result.get("failed-writes").set(failedWrites.sum());
+        result.get("bytes-written").set(bytesWritten.sum());
+        result.get("last-bytes-written").set(lastBytesWritten.get());
+        result.get("marshal-time").set(TimeUnit.NANOSECONDS.toMillis(marshalTime.sum()));
+        result.get("last-marshal-time").set(TimeUnit.NANOSECONDS.toMillis(lastMarshalTime.get()));
+        result.get("write-behind").set(writeBehind.isEnabled());
+        result.get("write-behind-failed").set(writeBehind.isFailed());
+        return result;
+    }
+}
@@ -259,11 +259,65 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
         }
     }
 
+    /**
+     * Copies the providers to the given clone, sharing the child resources of {@link DefaultResourceProvider}s
+     * with this resource until the clone first hands them out.
+     *
+     * @param clone the clone
+     * @param scope the scope the clone belongs to
+     */
+    void cloneProviders(AbstractModelResource clone, CopyOnWriteScope scope) {
+        synchronized (children) {
+            for (final Map.Entry<String, ResourceProvider> entry : children.entrySet()) {
+                final ResourceProvider provider = entry.getValue();
+                if (provider instanceof DefaultResourceProvider) {
+                    clone.registerResourceProvider(entry.getKey(), ((DefaultResourceProvider) provider).copyOnWrite(scope));
+                } else {
+                    clone.registerResourceProvider(entry.getKey(), provider.clone());
+                }
+            }
+        }
+    }
+
     private static class DefaultResourceProvider implements ResourceProvider {
 
         private final Map<String, Resource> children = new LinkedHashMap<String, Resource>();
+        /** The scope this provider was copied in, or {@code null} if it is not a copy-on-write copy. */
+        private final CopyOnWriteScope scope;
+        /** Names of the children still shared with the provider this one was copied from. */
+        private Set<String> shared;
 
         protected DefaultResourceProvider() {
+            this(null);
+        }
+
+        private DefaultResourceProvider(CopyOnWriteScope scope) {
+            this.scope = scope;
+        }
+
+        /**
+         * Creates a copy of this provider which references the same child resources. A child is only copied
+         * once the copy hands it out while its scope is still writable.
+         */
+        DefaultResourceProvider copyOnWrite(CopyOnWriteScope scope) {
+            final DefaultResourceProvider provider = new DefaultResourceProvider(scope);
+            synchronized (children) {
+                provider.children.putAll(children);
+                if (!children.isEmpty()) {
+                    provider.shared = new HashSet<String>(children.keySet());
+                }
+            }
+            return provider;
+        }
+
+        /** Must be called while holding the lock on {@code children}. */
+        private Resource unshare(String name, Resource resource) {
+            if (resource != null && shared != null && !scope.isSealed() && shared.remove(name)) {
+                final Resource copy = scope.copy(resource);
+                children.put(name, copy);
+                return copy;
+            }
+            return resource;
         }
 
         @Override
@@ -283,7 +337,7 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
         @Override
         public Resource get(String name) {
             synchronized (children) {
-                return children.get(name);
+                return unshare(name, children.get(name));
             }
         }
 
@@ -336,7 +390,9 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
         @Override
         public Resource remove(String name) {
             synchronized (children) {
-                return children.remove(name);
+                final Resource removed = unshare(name, children.get(name));
+                children.remove(name);
+                return removed;
             }
         }
 
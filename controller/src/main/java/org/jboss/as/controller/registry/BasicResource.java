@@ -77,6 +77,25 @@ class BasicResource extends AbstractModelResource implements Resource {
     @SuppressWarnings({"CloneDoesntCallSuperClone"})
     @Override
     public Resource clone() {
+        final BasicResource clone = copyModel();
+        cloneProviders(clone);
+        return clone;
+    }
+
+    /**
+     * Creates a copy of this resource whose children are shared with this resource until they are
+     * first accessed through the copy.
+     *
+     * @param scope the scope the copy belongs to
+     * @return the copy
+     */
+    BasicResource copyOnWrite(CopyOnWriteScope scope) {
+        final BasicResource clone = copyModel();
+        cloneProviders(clone, scope);
+        return clone;
+    }
+
+    private BasicResource copyModel() {
         final BasicResource clone = new BasicResource(isRuntime(), getOrderedChildTypes(), true);
         for (;;) {
             try {
@@ -86,7 +105,6 @@ class BasicResource extends AbstractModelResource implements Resource {
                 // TODO horrible hack :(
             }
         }
-        cloneProviders(clone);
         return clone;
     }
 
@@ -0,0 +1,79 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.registry;
+
+/**
+ * Creates copies of a {@link Resource} tree that share unmodified children with the tree they were copied from.
+ * <p>
+ * Only the root is copied up front. A child of a {@link Resource.Factory#create() standard resource} is copied the
+ * first time it is handed out by its parent in the copy, so a write operation only ends up copying the path from
+ * the root to the resources it actually touches rather than the whole tree.
+ * <p>
+ * Once the copy is no longer modified (i.e. it has been published as the current model) the scope should be
+ * {@link #seal() sealed}, after which shared children are handed out as they are.
+ * <p>
+ * The tree being copied must not be modified after the copy has been created; this is the case for the
+ * published model of a {@code ModelController}, which is only ever modified via a copy.
+ */
+public final class CopyOnWriteScope {
+
+    private volatile boolean sealed;
+
+    /**
+     * Creates a copy of the given resource belonging to this scope.
+     *
+     * @param resource the resource to copy. Cannot be {@code null}
+     * @return the copy. Will not return {@code null}
+     */
+    public Resource copy(final Resource resource) {
+        if (resource.getClass() == BasicResource.class) {
+            return ((BasicResource) resource).copyOnWrite(this);
+        }
+        // Custom implementations may hold state we know nothing about, so fully clone them
+        return resource.clone();
+    }
+
+    /**
+     * Marks the copies created by this scope as read-only. Children will no longer be copied when accessed.
+     */
+    public void seal() {
+        sealed = true;
+    }
+
+    /**
+     * Reverts a previous {@link #seal()}, so children are once again copied when accessed. Allows a writer to
+     * traverse its whole copy without copying it, provided it does not modify anything while the scope is sealed.
+     */
+    public void unseal() {
+        sealed = false;
+    }
+
+    /**
+     * Gets whether the scope is currently sealed.
+     *
+     * @return {@code true} if the scope is sealed
+     */
+    public boolean isSealed() {
+        return sealed;
+    }
+}
@@ -62,6 +62,7 @@ import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.client.OperationResponse;
 import org.jboss.as.controller.client.impl.ModelControllerProtocol;
+import org.jboss.as.controller.client.impl.ModelNodeCompression;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.core.security.AccessMechanism;
 import org.jboss.as.protocol.StreamUtils;
@@ -149,6 +150,8 @@ public class ModelControllerClientOperationHandler implements ManagementRequestH
 
             ProtocolUtils.expectHeader(input, ModelControllerProtocol.PARAM_INPUTSTREAMS_LENGTH);
             final int attachmentsLength = input.readInt();
+            // Clients not asking for compression end the request here
+            final boolean compressResponse = input.readByte() == ModelControllerProtocol.PARAM_ACCEPT_COMPRESSED_RESPONSE;
             context.executeAsync(new ManagementRequestContext.AsyncTask<Void>() {
                 @Override
                 public void execute(final ManagementRequestContext<Void> context) throws Exception {
@@ -158,7 +161,7 @@ public class ModelControllerClientOperationHandler implements ManagementRequestH
                         AccessAuditContext.doAs(connectionIdentity, remoteAddress, new PrivilegedExceptionAction<Void>() {
                             @Override
                             public Void run() throws Exception {
-                                final CompletedCallback callback = new CompletedCallback(response, context, resultHandler);
+                                final CompletedCallback callback = new CompletedCallback(response, context, resultHandler, compressResponse);
                                 doExecute(operation, attachmentsLength, context, callback);
                                 return null;
                             }
@@ -296,13 +299,16 @@ public class ModelControllerClientOperationHandler implements ManagementRequestH
         private final ManagementResponseHeader response;
         private final ManagementRequestContext<Void> responseContext;
         private final ActiveOperation.ResultHandler<ModelNode> resultHandler;
+        private final boolean compress;
 
         private CompletedCallback(final ManagementResponseHeader response,
                                   final ManagementRequestContext<Void> responseContext,
-                                  final ActiveOperation.ResultHandler<ModelNode> resultHandler) {
+                                  final ActiveOperation.ResultHandler<ModelNode> resultHandler,
+                                  final boolean compress) {
             this.response = response;
             this.responseContext = responseContext;
             this.resultHandler = resultHandler;
+            this.compress = compress;
         }
 
         synchronized void sendResponse(final ModelNode result) {
@@ -325,8 +331,13 @@ public class ModelControllerClientOperationHandler implements ManagementRequestH
                     try {
                         MGMT_OP_LOGGER.tracef("Transmitting response for %d", context.getOperationId());
                         output = responseContext.writeMessage(response);
-                        output.write(ModelControllerProtocol.PARAM_RESPONSE);
-                        result.writeExternal(output);
+                        if (compress) {
+                            output.write(ModelControllerProtocol.PARAM_COMPRESSED_RESPONSE);
+                            ModelNodeCompression.writeCompressed(result, output);
+                        } else {
+                            output.write(ModelControllerProtocol.PARAM_RESPONSE);
+                            result.writeExternal(output);
+                        }
                         output.writeByte(ManagementProtocol.RESPONSE_END);
                         output.close();
                     } catch (IOException e) {
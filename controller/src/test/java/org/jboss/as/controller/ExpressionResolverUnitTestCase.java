@@ -335,6 +335,20 @@ public class ExpressionResolverUnitTestCase {
         }
     }
 
+    @Test
+    public void testRepeatedResolutionSeesPropertyChanges() throws OperationFailedException {
+        ModelNode unresolved = expression("a-${test.prop.repeat:default}-b-${test.prop.repeat:default}");
+        try {
+            assertEquals("a-default-b-default", ExpressionResolver.TEST_RESOLVER.resolveExpressions(unresolved).asString());
+            System.setProperty("test.prop.repeat", "one");
+            assertEquals("a-one-b-one", ExpressionResolver.TEST_RESOLVER.resolveExpressions(unresolved).asString());
+            System.setProperty("test.prop.repeat", "${test.prop.other:two}");
+            assertEquals("a-two-b-two", ExpressionResolver.TEST_RESOLVER.resolveExpressions(unresolved).asString());
+        } finally {
+            System.clearProperty("test.prop.repeat");
+        }
+    }
+
     @Test
     public void testFileSeparator() throws OperationFailedException {
         assertEquals(File.separator, ExpressionResolver.TEST_RESOLVER.resolveExpressions(expression("${/}")).asString());
@@ -25,13 +25,21 @@ import static java.security.AccessController.doPrivileged;
 import static org.junit.Assert.assertEquals;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataOutput;
+import java.io.DataOutputStream;
 import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -59,6 +67,7 @@ import org.jboss.as.protocol.mgmt.support.ManagementChannelInitialization;
 import org.jboss.dmr.ModelNode;
 import org.jboss.logging.Logger;
 import org.jboss.remoting3.Channel;
+import org.jboss.remoting3.MessageInputStream;
 import org.jboss.threads.AsyncFuture;
 import org.jboss.threads.JBossThreadFactory;
 import org.junit.After;
@@ -77,6 +86,7 @@ public class ModelControllerClientTestCase {
     Logger log = Logger.getLogger(ModelControllerClientTestCase.class);
 
     private RemoteChannelPairSetup channels;
+    private final List<Integer> receivedMessageSizes = new CopyOnWriteArrayList<>();
 
     @Before
     public void start() throws Exception {
@@ -90,6 +100,14 @@ public class ModelControllerClientTestCase {
     }
 
     private ModelControllerClient setupTestClient(final ModelController controller) throws IOException {
+        return setupTestClient(controller, null);
+    }
+
+    /**
+     * Sets up a client. If {@code compressResponses} is not {@code null} the client asks for compressed responses
+     * accordingly and the size of each message it receives is recorded in {@link #receivedMessageSizes}.
+     */
+    private ModelControllerClient setupTestClient(final ModelController controller, final Boolean compressResponses) throws IOException {
         try {
             channels.setupRemoting(new ManagementChannelInitialization() {
                 @Override
@@ -121,7 +139,19 @@ public class ModelControllerClientTestCase {
             throw new RuntimeException(e);
         }
         final Channel clientChannel = channels.getClientChannel();
-        return ExistingChannelModelControllerClient.createReceiving(clientChannel, channels.getExecutorService());
+        if (compressResponses == null) {
+            return ExistingChannelModelControllerClient.createReceiving(clientChannel, channels.getExecutorService());
+        }
+        final ManagementChannelHandler handler = new ManagementChannelHandler(ManagementClientChannelStrategy.create(clientChannel), channels.getExecutorService());
+        final ExistingChannelModelControllerClient client = new ExistingChannelModelControllerClient(handler) {
+            @Override
+            protected boolean isCompressResponses() {
+                return compressResponses;
+            }
+        };
+        handler.addHandlerFactory(client);
+        clientChannel.receiveMessage(new RecordingReceiver(handler.getReceiver(), clientChannel, receivedMessageSizes));
+        return client;
     }
 
     @Test @Ignore("WFCORE-1125")
@@ -362,6 +392,60 @@ public class ModelControllerClientTestCase {
         }
     }
 
+    @Test
+    public void testCompressedResponse() throws Exception {
+        final int uncompressedSize = executeLargeResponse(true);
+        // The response has to be much smaller on the wire than the plain DMR encoding of the result
+        Assert.assertFalse(receivedMessageSizes.isEmpty());
+        for (int size : receivedMessageSizes) {
+            Assert.assertTrue(size + " >= " + uncompressedSize / 4, size < uncompressedSize / 4);
+        }
+    }
+
+    @Test
+    public void testUncompressedResponse() throws Exception {
+        final int uncompressedSize = executeLargeResponse(false);
+        Assert.assertTrue(Collections.max(receivedMessageSizes) > uncompressedSize);
+    }
+
+    /**
+     * Executes an operation returning a large result and checks the client reads it back.
+     *
+     * @return the size of the plain DMR encoding of the result
+     */
+    private int executeLargeResponse(final boolean compressResponses) throws Exception {
+        final ModelNode expected = new ModelNode();
+        for (int i = 0; i < 1000; i++) {
+            ModelNode resource = expected.get("resource", "r" + i);
+            resource.get("name").set("r" + i);
+            resource.get("enabled").set(i % 2 == 0);
+            resource.get("value").set(i);
+        }
+        final MockModelController controller = new MockModelController() {
+            @Override
+            public ModelNode execute(ModelNode operation, OperationMessageHandler handler, OperationTransactionControl control, OperationAttachments attachments) {
+                this.operation = operation;
+                ModelNode result = new ModelNode();
+                result.get("outcome").set("success");
+                result.get("result").set(expected);
+                return result;
+            }
+        };
+        final ModelControllerClient client = setupTestClient(controller, compressResponses);
+        try {
+            ModelNode operation = new ModelNode();
+            operation.get("test").set("123");
+            ModelNode result = client.execute(operation);
+            assertEquals("123", controller.getOperation().get("test").asString());
+            assertEquals(expected, result.get("result"));
+        } finally {
+            IoUtils.safeClose(client);
+        }
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        expected.writeExternal(new DataOutputStream(bytes));
+        return bytes.size();
+    }
+
     private void assertArrays(byte[] expected, byte[] actual) {
         assertEquals(expected.length, actual.length);
         for (int i = 0 ; i < expected.length ; i++) {
@@ -410,4 +494,81 @@ public class ModelControllerClientTestCase {
         }
     }
 
+    /**
+     * Records the size of every message read from the channel before handing it to the management receiver.
+     * The channel given to the delegate re-wraps the receiver it registers for the next message.
+     */
+    private static class RecordingReceiver implements Channel.Receiver {
+
+        private final Channel.Receiver delegate;
+        private final Channel channel;
+        private final List<Integer> sizes;
+
+        RecordingReceiver(final Channel.Receiver delegate, final Channel channel, final List<Integer> sizes) {
+            this.delegate = delegate;
+            this.channel = channel;
+            this.sizes = sizes;
+        }
+
+        @Override
+        public void handleMessage(final Channel channel, final MessageInputStream message) {
+            final byte[] bytes;
+            try {
+                final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                final byte[] buffer = new byte[8192];
+                int read;
+                while ((read = message.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+                message.close();
+                bytes = out.toByteArray();
+            } catch (IOException e) {
+                delegate.handleError(channel, e);
+                return;
+            }
+            sizes.add(bytes.length);
+            final ByteArrayInputStream in = new ByteArrayInputStream(bytes);
+            delegate.handleMessage(rewrappingChannel(), new MessageInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            });
+        }
+
+        @Override
+        public void handleError(final Channel channel, final IOException error) {
+            delegate.handleError(channel, error);
+        }
+
+        @Override
+        public void handleEnd(final Channel channel) {
+            delegate.handleEnd(channel);
+        }
+
+        private Channel rewrappingChannel() {
+            return (Channel) Proxy.newProxyInstance(Channel.class.getClassLoader(), new Class<?>[] {Channel.class},
+                    (proxy, method, args) -> {
+                        if ("receiveMessage".equals(method.getName())) {
+                            channel.receiveMessage(new RecordingReceiver((Channel.Receiver) args[0], channel, sizes));
+                            return null;
+                        }
+                        return invoke(method, args);
+                    });
+        }
+
+        private Object invoke(final Method method, final Object[] args) throws Throwable {
+            try {
+                return method.invoke(channel, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
 }
@@ -25,6 +25,11 @@ package org.jboss.as.controller.audit;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.jboss.as.controller.services.path.PathManagerService;
 import org.junit.After;
@@ -65,6 +70,110 @@ public class FileAuditLogHandlerUnitTestCase {
         Assert.assertEquals("Log file was rotated but shouldn't have been", 1, confDir.list().length);
     }
 
+    @Test
+    public void testRecordsAppendedToOpenFile() throws IOException {
+        FileAuditLogHandler auditLogHandler =
+                new FileAuditLogHandler("name", "formatter", 0, pathManager, logFile.getPath(), null, false);
+        auditLogHandler.writeLogItem(createItem("one"));
+        auditLogHandler.writeLogItem(createItem("two"));
+        auditLogHandler.stop();
+        auditLogHandler.writeLogItem(createItem("three"));
+        auditLogHandler.stop();
+
+        Assert.assertEquals(Arrays.asList("one", "two", "three"), readLog());
+        Assert.assertEquals(0, auditLogHandler.getFailureCount());
+    }
+
+    @Test
+    public void testQueuedRecordsWrittenInOrder() throws IOException {
+        FileAuditLogHandler auditLogHandler =
+                new FileAuditLogHandler("name", "formatter", 0, pathManager, logFile.getPath(), null, false, 2);
+        for (int i = 0; i < 100; i++) {
+            auditLogHandler.writeLogItem(createItem(String.valueOf(i)));
+        }
+        auditLogHandler.stop();
+
+        List<String> lines = readLog();
+        Assert.assertEquals(100, lines.size());
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(String.valueOf(i), lines.get(i));
+        }
+        Assert.assertEquals(0, auditLogHandler.getQueueDepth());
+        Assert.assertEquals(0, auditLogHandler.getFailureCount());
+    }
+
+    @Test
+    public void testSizeRotationClosesLogFile() throws IOException {
+        SizeRotatingFileAuditLogHandler auditLogHandler =
+                new SizeRotatingFileAuditLogHandler("name", "formatter", 0, pathManager, logFile.getPath(), null, 1, 1);
+        auditLogHandler.writeLogItem(createItem("one"));
+        auditLogHandler.writeLogItem(createItem("two"));
+        auditLogHandler.stop();
+
+        Assert.assertEquals(Arrays.asList("two"), readLog());
+        Assert.assertEquals(Arrays.asList("one"), Files.readAllLines(new File(confDir, logFile.getName() + ".1").toPath(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testSizeRotationCheckedForEachRecord() throws IOException {
+        SizeRotatingFileAuditLogHandler auditLogHandler =
+                new SizeRotatingFileAuditLogHandler("name", "formatter", 0, pathManager, logFile.getPath(), null, 1, 2);
+        auditLogHandler.initialize();
+        auditLogHandler.writeLogItems(Arrays.asList("one", "two", "three"));
+        auditLogHandler.stop();
+
+        Assert.assertEquals(Arrays.asList("three"), readLog());
+        Assert.assertEquals(Arrays.asList("two"), Files.readAllLines(new File(confDir, logFile.getName() + ".1").toPath(), StandardCharsets.UTF_8));
+        Assert.assertEquals(Arrays.asList("one"), Files.readAllLines(new File(confDir, logFile.getName() + ".2").toPath(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testQueuedRecordsKeptWhenWriteFails() throws IOException {
+        final AtomicBoolean failed = new AtomicBoolean();
+        FileAuditLogHandler auditLogHandler =
+                new FileAuditLogHandler("name", "formatter", 0, pathManager, logFile.getPath(), null, false, 10) {
+                    @Override
+                    synchronized void writeLogItems(List<String> formattedItems) throws IOException {
+                        if (failed.compareAndSet(false, true)) {
+                            throw new IOException("badness happened");
+                        }
+                        super.writeLogItems(formattedItems);
+                    }
+                };
+        for (int i = 0; i < 10; i++) {
+            auditLogHandler.writeLogItem(createItem(String.valueOf(i)));
+        }
+        // The writer thread gives up after the failure, until the next record
+        long deadline = System.currentTimeMillis() + 10000;
+        while (auditLogHandler.getFailureCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+        Assert.assertEquals(1, auditLogHandler.getFailureCount());
+        auditLogHandler.writeLogItem(createItem("10"));
+        auditLogHandler.stop();
+
+        List<String> lines = readLog();
+        Assert.assertEquals(11, lines.size());
+        for (int i = 0; i < 11; i++) {
+            Assert.assertEquals(String.valueOf(i), lines.get(i));
+        }
+        Assert.assertEquals(0, auditLogHandler.getQueueDepth());
+        Assert.assertEquals(0, auditLogHandler.getFailureCount());
+    }
+
+    private List<String> readLog() throws IOException {
+        return Files.readAllLines(logFile.toPath(), StandardCharsets.UTF_8);
+    }
+
+    private static AuditLogItem createItem(final String formatted) {
+        return new AuditLogItem("1.0", false, false, "user", null, null, null) {
+            @Override
+            String format(AuditLogItemFormatter formatter) {
+                return formatted;
+            }
+        };
+    }
+
     private void initializeHandler(boolean rotateAtStartup) {
         FileAuditLogHandler auditLogHandler =
                 new FileAuditLogHandler("name", "formatter", 0, pathManager, logFile.getPath(), null, rotateAtStartup);
@@ -0,0 +1,208 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller.persistence;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of {@link ConfigurationWriteBehind} through the {@link FilePersistenceResource} of a persister.
+ */
+public class ConfigurationWriteBehindTestCase {
+
+    private File file;
+
+    @Before
+    public void createFile() throws IOException {
+        file = File.createTempFile("write-behind", ".xml");
+        Files.write(file.toPath(), "initial".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @After
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file.toPath());
+    }
+
+    @Test
+    public void testCommitsAreCoalesced() throws Exception {
+        final FilePersister persister = new FilePersister(200, true);
+
+        for (int i = 0; i < 10; i++) {
+            persister.store(new ModelNode(i), null).commit();
+        }
+        Assert.assertEquals("initial", read());
+        Assert.assertEquals(0, persister.marshalled.get());
+
+        final long timeout = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (!new ModelNode(9).asString().equals(read()) && System.currentTimeMillis() < timeout) {
+            Thread.sleep(50);
+        }
+        Assert.assertEquals(new ModelNode(9).asString(), read());
+        Assert.assertEquals(1, persister.marshalled.get());
+    }
+
+    @Test
+    public void testFlushWritesSynchronously() throws Exception {
+        final FilePersister persister = new FilePersister(TimeUnit.HOURS.toMillis(1), true);
+
+        persister.store(new ModelNode(1), null).commit();
+        persister.store(new ModelNode(2), null).commit();
+        Assert.assertEquals("initial", read());
+
+        persister.flush();
+        Assert.assertEquals(new ModelNode(2).asString(), read());
+        Assert.assertEquals(1, persister.marshalled.get());
+
+        persister.flush();
+        Assert.assertEquals(1, persister.marshalled.get());
+    }
+
+    @Test
+    public void testRolledBackChangeIsNotWritten() throws Exception {
+        final FilePersister persister = new FilePersister(TimeUnit.HOURS.toMillis(1), true);
+
+        final ConfigurationPersister.PersistenceResource resource = persister.store(new ModelNode(1), null);
+        resource.rollback();
+        persister.flush();
+        Assert.assertEquals("initial", read());
+        Assert.assertEquals(0, persister.marshalled.get());
+    }
+
+    @Test
+    public void testMarshallingFailureIsReported() throws Exception {
+        final FilePersister persister = new FilePersister(TimeUnit.HOURS.toMillis(1), true);
+
+        persister.store(new ModelNode("fail"), null).commit();
+        try {
+            persister.flush();
+            Assert.fail("Marshalling should have failed");
+        } catch (ConfigurationPersistenceException expected) {
+            // expected
+        }
+        Assert.assertEquals("initial", read());
+    }
+
+    @Test
+    public void testBackgroundMarshallingFailureDisablesWriteBehind() throws Exception {
+        final FilePersister persister = new FilePersister(50, true);
+
+        persister.store(new ModelNode("fail"), null).commit();
+        final long timeout = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (persister.getWriteBehind().isEnabled() && System.currentTimeMillis() < timeout) {
+            Thread.sleep(50);
+        }
+        Assert.assertFalse(persister.getWriteBehind().isEnabled());
+        Assert.assertTrue(persister.getWriteStatistics().get("write-behind-failed").asBoolean());
+        Assert.assertEquals("initial", read());
+
+        // Later changes are written synchronously, failing the store of the change which cannot be marshalled
+        persister.store(new ModelNode(1), null).commit();
+        Assert.assertEquals(new ModelNode(1).asString(), read());
+        try {
+            persister.store(new ModelNode("fail"), null);
+            Assert.fail("Marshalling should have failed");
+        } catch (ConfigurationPersistenceException expected) {
+            // expected
+        }
+        Assert.assertEquals(new ModelNode(1).asString(), read());
+    }
+
+    @Test
+    public void testWriteStatistics() throws Exception {
+        final FilePersister persister = new FilePersister(TimeUnit.HOURS.toMillis(1), true);
+
+        persister.store(new ModelNode(1), null).commit();
+        persister.store(new ModelNode(22), null).commit();
+        persister.flush();
+        persister.store(new ModelNode(333), null).rollback();
+
+        final ModelNode statistics = persister.getWriteStatistics();
+        Assert.assertEquals(2, statistics.get("commits").asLong());
+        Assert.assertEquals(1, statistics.get("writes").asLong());
+        Assert.assertEquals(0, statistics.get("failed-writes").asLong());
+        final long bytes = new ModelNode(22).asString().getBytes(StandardCharsets.UTF_8).length;
+        Assert.assertEquals(bytes, statistics.get("bytes-written").asLong());
+        Assert.assertEquals(bytes, statistics.get("last-bytes-written").asLong());
+        Assert.assertTrue(statistics.get("marshal-time").asLong() >= 0);
+        Assert.assertTrue(statistics.get("write-behind").asBoolean());
+        Assert.assertFalse(statistics.get("write-behind-failed").asBoolean());
+    }
+
+    @Test
+    public void testUnsupportedPersisterWritesSynchronously() throws Exception {
+        final FilePersister persister = new FilePersister(TimeUnit.HOURS.toMillis(1), false);
+
+        persister.store(new ModelNode(1), null).commit();
+        Assert.assertEquals(new ModelNode(1).asString(), read());
+        Assert.assertEquals(1, persister.marshalled.get());
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        Assert.assertFalse(new ConfigurationWriteBehind(0).isEnabled());
+    }
+
+    private String read() throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+
+    private class FilePersister extends TestConfigurationPersister {
+        private final boolean writeBehindSupported;
+        private final AtomicInteger marshalled = new AtomicInteger();
+
+        FilePersister(long writeDelay, boolean writeBehindSupported) {
+            super(writeDelay);
+            this.writeBehindSupported = writeBehindSupported;
+        }
+
+        @Override
+        PersistenceResource create(ModelNode model) throws ConfigurationPersistenceException {
+            return new FilePersistenceResource(model, file, this);
+        }
+
+        @Override
+        protected boolean isWriteBehindSupported() {
+            return writeBehindSupported;
+        }
+
+        @Override
+        public void marshallAsXml(ModelNode model, OutputStream output) throws ConfigurationPersistenceException {
+            marshalled.incrementAndGet();
+            if (model.getType() == ModelType.STRING && "fail".equals(model.asString())) {
+                throw new ConfigurationPersistenceException("fail");
+            }
+            super.marshallAsXml(model, output);
+        }
+    }
+}
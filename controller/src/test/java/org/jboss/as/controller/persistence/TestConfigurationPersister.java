@@ -40,6 +40,10 @@ public abstract class TestConfigurationPersister extends AbstractConfigurationPe
         super(null);
     }
 
+    TestConfigurationPersister(long writeDelay) {
+        super(null, new ConfigurationWriteBehind(writeDelay));
+    }
+
     @Override
     public PersistenceResource store(ModelNode model, Set<PathAddress> affectedAddresses)
             throws ConfigurationPersistenceException {
@@ -0,0 +1,117 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.registry;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.dmr.ModelNode;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of {@link CopyOnWriteScope}.
+ */
+public class CopyOnWriteScopeUnitTestCase {
+
+    private static final PathElement SUBSYSTEM_A = PathElement.pathElement("subsystem", "a");
+    private static final PathElement SUBSYSTEM_B = PathElement.pathElement("subsystem", "b");
+    private static final PathElement CHILD = PathElement.pathElement("child", "one");
+
+    private Resource original;
+
+    @Before
+    public void setup() {
+        original = Resource.Factory.create();
+        original.getModel().get("name").set("root");
+        for (PathElement subsystem : new PathElement[] {SUBSYSTEM_A, SUBSYSTEM_B}) {
+            Resource resource = Resource.Factory.create();
+            resource.getModel().get("value").set(subsystem.getValue());
+            Resource child = Resource.Factory.create();
+            child.getModel().get("value").set(1);
+            resource.registerChild(CHILD, child);
+            original.registerChild(subsystem, resource);
+        }
+    }
+
+    @Test
+    public void testUntouchedChildrenAreShared() {
+        CopyOnWriteScope scope = new CopyOnWriteScope();
+        Resource copy = scope.copy(original);
+
+        Assert.assertNotSame(original, copy);
+        Resource touched = copy.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD));
+        Assert.assertNotSame(original.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)), touched);
+
+        scope.seal();
+        Assert.assertSame(original.getChild(SUBSYSTEM_B), copy.getChild(SUBSYSTEM_B));
+        Assert.assertSame(touched, copy.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)));
+    }
+
+    @Test
+    public void testWritesDoNotAffectOriginal() {
+        CopyOnWriteScope scope = new CopyOnWriteScope();
+        Resource copy = scope.copy(original);
+
+        ModelNode model = new ModelNode();
+        model.get("value").set(2);
+        copy.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)).writeModel(model);
+        copy.getChild(SUBSYSTEM_B).registerChild(PathElement.pathElement("child", "two"), Resource.Factory.create());
+        copy.getChild(SUBSYSTEM_B).removeChild(CHILD);
+        copy.getModel().get("name").set("copy");
+        scope.seal();
+
+        Assert.assertEquals("root", original.getModel().get("name").asString());
+        Assert.assertEquals(1, original.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)).getModel().get("value").asInt());
+        Assert.assertEquals(2, copy.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)).getModel().get("value").asInt());
+        Assert.assertEquals(1, original.getChild(SUBSYSTEM_B).getChildrenNames("child").size());
+        Assert.assertTrue(original.getChild(SUBSYSTEM_B).hasChild(CHILD));
+        Assert.assertEquals(1, copy.getChild(SUBSYSTEM_B).getChildrenNames("child").size());
+        Assert.assertFalse(copy.getChild(SUBSYSTEM_B).hasChild(CHILD));
+    }
+
+    @Test
+    public void testCloneOfCopyIsIndependent() {
+        CopyOnWriteScope scope = new CopyOnWriteScope();
+        Resource copy = scope.copy(original);
+        Resource clone = copy.clone();
+
+        clone.navigate(PathAddress.pathAddress(SUBSYSTEM_B, CHILD)).getModel().get("value").set(3);
+
+        Assert.assertEquals(1, original.navigate(PathAddress.pathAddress(SUBSYSTEM_B, CHILD)).getModel().get("value").asInt());
+        Assert.assertEquals(1, copy.navigate(PathAddress.pathAddress(SUBSYSTEM_B, CHILD)).getModel().get("value").asInt());
+    }
+
+    @Test
+    public void testSealedReadDoesNotCopy() {
+        CopyOnWriteScope scope = new CopyOnWriteScope();
+        Resource copy = scope.copy(original);
+
+        scope.seal();
+        Assert.assertSame(original.getChild(SUBSYSTEM_A), copy.getChild(SUBSYSTEM_A));
+        scope.unseal();
+        Resource touched = copy.getChild(SUBSYSTEM_A);
+        Assert.assertNotSame(original.getChild(SUBSYSTEM_A), touched);
+        Assert.assertSame(touched, copy.getChild(SUBSYSTEM_A));
+    }
+}
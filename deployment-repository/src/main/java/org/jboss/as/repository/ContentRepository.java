@@ -65,6 +65,11 @@ public interface ContentRepository {
     long LOCK_TIMEOUT = 5000L;
     String DELETED_CONTENT = "deleted-contents";
     String MARKED_CONTENT = "marked-contents";
+    /**
+     * Name of the directory, next to a content file of the repository, in which data derived from that content may be
+     * cached. The directory is removed along with the content.
+     */
+    String DERIVED_CONTENT = "derived";
 
     /**
      * Add the given content to the repository along with a reference tracked by {@code name}.
@@ -162,6 +167,28 @@ public interface ContentRepository {
     default void flush(boolean success) {
     }
 
+    /**
+     * Gets the directory in which data derived from some content, such as indexes, may be cached. The directory is
+     * removed along with the content.
+     *
+     * @param hash the hash of the content
+     * @return the directory, which may not exist yet, or {@code null} if this repository cannot store derived data
+     */
+    default Path getDerivedContentDirectory(byte[] hash) {
+        return null;
+    }
+
+    /**
+     * Copies the data derived from some content to content created from it, e.g. by adding files to exploded
+     * content, if the new content does not have derived data yet. The original content keeps its own derived data.
+     * Users of the derived data of the new content must therefore not assume it was derived from that exact content.
+     *
+     * @param sourceHash the hash of the original content
+     * @param targetHash the hash of the content created from it
+     */
+    default void transferDerivedContent(byte[] sourceHash, byte[] targetHash) {
+    }
+
     /**
      * Clean content that is not referenced from the repository.
      *
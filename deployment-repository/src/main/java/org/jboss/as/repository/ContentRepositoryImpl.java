@@ -30,15 +30,17 @@ import static org.jboss.as.repository.PathUtil.getFileExtension;
 import static org.jboss.as.repository.PathUtil.isArchive;
 import static org.jboss.as.repository.PathUtil.resolveSecurely;
 
-import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.security.DigestOutputStream;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
@@ -53,6 +55,7 @@ import org.jboss.vfs.VirtualFile;
 import static org.jboss.as.repository.PathUtil.unzip;
 
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -67,8 +70,13 @@ import org.wildfly.common.Assert;
 public class ContentRepositoryImpl implements ContentRepository {
 
     protected static final String CONTENT = "content";
+    private static final int BUFFER_SIZE = 64 * 1024;
     private final File repoRoot;
     private final File tmpRoot;
+    /**
+     * @deprecated not thread safe; the repository now uses a digest per hashing
+     */
+    @Deprecated
     protected final MessageDigest messageDigest;
     private final Map<String, Set<ContentReference>> contentHashReferences = new HashMap<>();
     private final Map<String, ReentrantLock> lockedContents = new HashMap<>();
@@ -86,8 +94,16 @@ public class ContentRepositoryImpl implements ContentRepository {
         this.tmpRoot = tmpRoot;
         this.obsolescenceTimeout = obsolescenceTimeout;
         this.lockTimeout = lockTimeout;
+        this.messageDigest = createMessageDigest();
+    }
+
+    /**
+     * Creates a digest for hashing content. {@code MessageDigest} is not thread safe, and sharing one
+     * would serialize all hashing, so each hashing uses its own.
+     */
+    private static MessageDigest createMessageDigest() {
         try {
-            this.messageDigest = MessageDigest.getInstance("SHA-1");
+            return MessageDigest.getInstance("SHA-1");
         } catch (NoSuchAlgorithmException e) {
             throw DeploymentRepositoryLogger.ROOT_LOGGER.cannotObtainSha1(e, MessageDigest.class.getSimpleName());
         }
@@ -120,27 +136,29 @@ public class ContentRepositoryImpl implements ContentRepository {
         byte[] sha1Bytes;
         Path tmp = File.createTempFile(CONTENT, ".tmp", repoRoot).toPath();
         if (stream != null) {
-            try (OutputStream fos = Files.newOutputStream(tmp)) {
-                synchronized (messageDigest) {
-                    messageDigest.reset();
-                    DigestOutputStream dos = new DigestOutputStream(fos, messageDigest);
-                    BufferedInputStream bis = new BufferedInputStream(stream);
-                    byte[] bytes = new byte[8192];
-                    int read;
-                    while ((read = bis.read(bytes)) > -1) {
-                        dos.write(bytes, 0, read);
+            // Use our own digest so concurrent uploads are not hashed one at a time
+            final MessageDigest digest = createMessageDigest();
+            final long start = System.nanoTime();
+            long size = 0;
+            try (ReadableByteChannel in = Channels.newChannel(stream);
+                 FileChannel out = FileChannel.open(tmp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+                while (in.read(buffer) > -1) {
+                    buffer.flip();
+                    size += buffer.remaining();
+                    digest.update(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+                    while (buffer.hasRemaining()) {
+                        out.write(buffer);
                     }
-                    fos.flush();
+                    buffer.clear();
                 }
-                sha1Bytes = messageDigest.digest();
             }
+            sha1Bytes = digest.digest();
+            DeploymentRepositoryLogger.ROOT_LOGGER.debugf("Hashed %d bytes of content in %d ns", size, System.nanoTime() - start);
         } else {//create a directory instead
             Files.delete(tmp);
             Files.createDirectory(tmp);
-            synchronized (messageDigest) {
-                messageDigest.reset();
-                sha1Bytes = HashUtil.hashPath(messageDigest, tmp);
-            }
+            sha1Bytes = HashUtil.hashPath(createMessageDigest(), tmp);
         }
         final Path realFile = getDeploymentContentFile(sha1Bytes, true);
         if (hasContent(sha1Bytes)) {
@@ -190,6 +208,36 @@ public class ContentRepositoryImpl implements ContentRepository {
         return Files.exists(getDeploymentContentFile(hash));
     }
 
+    @Override
+    public Path getDerivedContentDirectory(byte[] hash) {
+        Assert.checkNotNullParam("hash", hash);
+        return readWrite ? getDeploymentHashDir(hash, false).resolve(DERIVED_CONTENT) : null;
+    }
+
+    @Override
+    public void transferDerivedContent(byte[] sourceHash, byte[] targetHash) {
+        if (!readWrite || Arrays.equals(sourceHash, targetHash)) {
+            return;
+        }
+        final Path source = getDeploymentHashDir(sourceHash, false).resolve(DERIVED_CONTENT);
+        final Path target = getDeploymentHashDir(targetHash, false).resolve(DERIVED_CONTENT);
+        if (Files.isDirectory(source) && Files.exists(target.getParent()) && Files.notExists(target)) {
+            // The source content may still be in use, or be used again, so its derived data is copied rather than moved
+            Path tmp = null;
+            try {
+                tmp = createTempDirectory(target.getParent(), DERIVED_CONTENT);
+                copyRecursively(source, tmp, true);
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+                tmp = null;
+            } catch (IOException ex) {
+                // The derived data is only a cache, so the new content simply starts without it
+                DeploymentRepositoryLogger.ROOT_LOGGER.debugf(ex, "Failed to copy %s to %s", source, target);
+            } finally {
+                deleteSilentlyRecursively(tmp);
+            }
+        }
+    }
+
     protected Path getRepoRoot() {
         return repoRoot.toPath();
     }
@@ -300,6 +348,9 @@ public class ContentRepositoryImpl implements ContentRepository {
                 }
             }
             deleteRecursively(contentPath);
+            if (HashUtil.isEachHexHashInTable(reference.getHexHash())) {
+                deleteRecursively(contentPath.resolveSibling(DERIVED_CONTENT));
+            }
         } catch (IOException ex) {
             DeploymentRepositoryLogger.ROOT_LOGGER.contentDeletionError(ex, contentPath.toString());
         } catch (InterruptedException ex) {
@@ -421,7 +472,7 @@ public class ContentRepositoryImpl implements ContentRepository {
             Path tmp = createTempDirectory(repoRoot.toPath(), CONTENT);
             Path contentDir = Files.createDirectory(tmp.resolve(CONTENT));
             unzip(contentPath, contentDir);
-            byte[] sha1Bytes = HashUtil.hashPath(messageDigest, contentDir);
+            byte[] sha1Bytes = HashUtil.hashPath(createMessageDigest(), contentDir);
             final Path realFile = getDeploymentContentFile(sha1Bytes, true);
             if (hasContent(sha1Bytes)) {
                 // we've already got this content
@@ -464,7 +515,7 @@ public class ContentRepositoryImpl implements ContentRepository {
                     deleteRecursively(targetPath);
                 }
                 unzip(sourcePath, targetPath);
-                byte[] sha1Bytes = HashUtil.hashPath(messageDigest, contentDir);
+                byte[] sha1Bytes = HashUtil.hashPath(createMessageDigest(), contentDir);
                 final Path realFile = getDeploymentContentFile(sha1Bytes, true);
                 if (hasContent(sha1Bytes)) {
                     // we've already got this content
@@ -630,7 +681,7 @@ public class ContentRepositoryImpl implements ContentRepository {
                         }
                     }
                 }
-                byte[] sha1Bytes = HashUtil.hashPath(messageDigest, contentDir);
+                byte[] sha1Bytes = HashUtil.hashPath(createMessageDigest(), contentDir);
                 final Path realFile = getDeploymentContentFile(sha1Bytes, true);
                 if (hasContent(sha1Bytes)) {
                     // we've already got this content
@@ -667,7 +718,7 @@ public class ContentRepositoryImpl implements ContentRepository {
                     Path targetFile = resolveSecurely(contentDir, path);
                     deleteFileWithEmptyAncestorDirectories(targetFile);
                 }
-                byte[] sha1Bytes = HashUtil.hashPath(messageDigest, contentDir);
+                byte[] sha1Bytes = HashUtil.hashPath(createMessageDigest(), contentDir);
                 final Path realFile = getDeploymentContentFile(sha1Bytes, true);
                 if (hasContent(sha1Bytes)) {
                     // we've already got this content
@@ -0,0 +1,95 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.repository;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Limits the number of file transfers in progress at the same time. Transfers over the limit are queued rather than
+ * blocking the thread that starts them, and are started as earlier transfers complete.
+ */
+public final class FileTransferQueue {
+
+    private final int maxTransfers;
+    /** Guarded by this. */
+    private final Deque<Runnable> waiting = new ArrayDeque<>();
+    /** Guarded by this. */
+    private int inProgress;
+
+    /**
+     * @param maxTransfers the maximum number of transfers in progress at the same time
+     */
+    public FileTransferQueue(int maxTransfers) {
+        if (maxTransfers < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.maxTransfers = maxTransfers;
+    }
+
+    /**
+     * Starts a transfer, now if fewer than the maximum number of transfers are in progress, otherwise once another
+     * transfer completes. The transfer must call {@link #complete()} when it is done, whether it succeeded or not.
+     *
+     * @param transfer starts the transfer. Must not block
+     */
+    public void start(Runnable transfer) {
+        synchronized (this) {
+            if (inProgress >= maxTransfers) {
+                waiting.add(transfer);
+                return;
+            }
+            inProgress++;
+        }
+        run(transfer);
+    }
+
+    /**
+     * Records that a transfer is done, starting the next queued transfer if any.
+     */
+    public void complete() {
+        final Runnable next;
+        synchronized (this) {
+            next = waiting.poll();
+            if (next == null) {
+                inProgress--;
+                return;
+            }
+        }
+        run(next);
+    }
+
+    private void run(Runnable transfer) {
+        boolean ok = false;
+        try {
+            transfer.run();
+            ok = true;
+        } finally {
+            if (!ok) {
+                // the transfer never started, so it will not complete
+                complete();
+            }
+        }
+    }
+}
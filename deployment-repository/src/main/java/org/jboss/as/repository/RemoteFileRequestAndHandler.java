@@ -23,7 +23,6 @@ package org.jboss.as.repository;
 
 import static org.jboss.as.protocol.mgmt.ProtocolUtils.expectHeader;
 
-import java.io.BufferedOutputStream;
 import java.io.DataInput;
 import java.io.File;
 import java.io.FileInputStream;
@@ -51,16 +50,30 @@ import org.jboss.logging.BasicLogger;
  */
 public abstract class RemoteFileRequestAndHandler {
 
+    /** Large buffers cut the per-write overhead of the remoting message streams the files are copied through */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     private final RemoteFileProtocolIdMapper protocol;
     private final Executor asyncExecutor;
+    private final FileTransferQueue transferQueue;
 
     protected RemoteFileRequestAndHandler(RemoteFileProtocolIdMapper protocol) {
         this(protocol, null);
     }
 
     protected RemoteFileRequestAndHandler(RemoteFileProtocolIdMapper protocol, Executor asyncExecutor) {
+        this(protocol, asyncExecutor, null);
+    }
+
+    /**
+     * @param protocol the protocol codes
+     * @param asyncExecutor the executor to send files with, or {@code null} to use the request context's executor
+     * @param transferQueue limits the number of files being sent at the same time, or {@code null} for no limit
+     */
+    protected RemoteFileRequestAndHandler(RemoteFileProtocolIdMapper protocol, Executor asyncExecutor, FileTransferQueue transferQueue) {
         this.protocol = protocol;
         this.asyncExecutor = asyncExecutor;
+        this.transferQueue = transferQueue;
     }
 
     public void sendRequest(FlushableDataOutput output, byte rootId, String filePath) throws IOException{
@@ -102,8 +115,8 @@ public abstract class RemoteFileRequestAndHandler {
                         file.mkdir();
                     } else {
                         long totalRead = 0;
-                        try (OutputStream fileOut = new BufferedOutputStream(new FileOutputStream(file))) {
-                            final byte[] buffer = new byte[8192];
+                        try (OutputStream fileOut = new FileOutputStream(file)) {
+                            final byte[] buffer = new byte[(int) Math.min(length, BUFFER_SIZE)];
                             while (totalRead < length) {
                                 int len = Math.min((int) (length - totalRead), buffer.length);
                                 input.readFully(buffer, 0, len);
@@ -133,22 +146,41 @@ public abstract class RemoteFileRequestAndHandler {
         ManagementRequestContext.AsyncTask<Void> task = new ManagementRequestContext.AsyncTask<Void>() {
             @Override
             public void execute(ManagementRequestContext<Void> context) throws RequestProcessingException, IOException {
-                final File localPath = reader.readRootFile(rootId, filePath);
-                FlushableDataOutput output = context.writeMessage(ManagementResponseHeader.create(context.getRequestHeader()));
                 try {
-                    writeResponse(localPath, output);
-                    output.close();
-                    resultHandler.done(null); // call stack (AsyncTaskRunner created by ManagementRequestContext) handles failures
+                    final File localPath = reader.readRootFile(rootId, filePath);
+                    FlushableDataOutput output = context.writeMessage(ManagementResponseHeader.create(context.getRequestHeader()));
+                    try {
+                        writeResponse(localPath, output);
+                        output.close();
+                        resultHandler.done(null); // call stack (AsyncTaskRunner created by ManagementRequestContext) handles failures
+                    } finally {
+                        StreamUtils.safeClose(output);
+                    }
                 } finally {
-                    StreamUtils.safeClose(output);
+                    if (transferQueue != null) {
+                        transferQueue.complete();
+                    }
                 }
             }
         };
 
+        if (transferQueue == null) {
+            executeAsync(task, context);
+        } else {
+            // Queue the transfer rather than block a management thread waiting for the others to complete
+            transferQueue.start(() -> {
+                if (!executeAsync(task, context)) {
+                    transferQueue.complete();
+                }
+            });
+        }
+    }
+
+    private boolean executeAsync(final ManagementRequestContext.AsyncTask<Void> task, final ManagementRequestContext<Void> context) {
         if (asyncExecutor == null) {
-            context.executeAsync(task);
+            return context.executeAsync(task);
         } else {
-            context.executeAsync(task, asyncExecutor);
+            return context.executeAsync(task, asyncExecutor);
         }
     }
 
@@ -177,9 +209,7 @@ public abstract class RemoteFileRequestAndHandler {
     private void getChildFiles(final File base, final List<File> childFiles) {
         for (File child : base.listFiles()) {
             childFiles.add(child);
-            if (child.isFile() || isEmpty(child)) {
-                childFiles.add(child);
-            } else {
+            if (!child.isFile() && !isEmpty(child)) {
                 getChildFiles(child, childFiles);
             }
         }
@@ -208,7 +238,7 @@ public abstract class RemoteFileRequestAndHandler {
         InputStream inputStream = null;
         try {
             inputStream = new FileInputStream(file);
-            byte[] buffer = new byte[8192];
+            byte[] buffer = new byte[BUFFER_SIZE];
             int len;
             while ((len = inputStream.read(buffer)) != -1) {
                 output.write(buffer, 0, len);
@@ -40,15 +40,20 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.FileTime;
 import java.security.AccessController;
+import java.security.MessageDigest;
 import java.security.PrivilegedAction;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 import org.hamcrest.CoreMatchers;
@@ -125,6 +130,36 @@ public class ContentRepositoryTest {
         }
     }
 
+    /**
+     * Test of addContent method, of class ContentRepository, with concurrent uploads.
+     */
+    @Test
+    public void testAddContentConcurrently() throws Exception {
+        final int uploads = 8;
+        final List<byte[]> contents = new ArrayList<>();
+        final List<byte[]> expected = new ArrayList<>();
+        for (int i = 0; i < uploads; i++) {
+            byte[] content = new byte[256 * 1024 + i];
+            Arrays.fill(content, (byte) i);
+            contents.add(content);
+            expected.add(MessageDigest.getInstance("SHA-1").digest(content));
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(uploads);
+        try {
+            final List<Future<byte[]>> results = new ArrayList<>();
+            for (final byte[] content : contents) {
+                results.add(executor.submit(() -> repository.addContent(new ByteArrayInputStream(content))));
+            }
+            for (int i = 0; i < uploads; i++) {
+                byte[] hash = results.get(i).get();
+                assertThat(HashUtil.bytesToHexString(hash), is(HashUtil.bytesToHexString(expected.get(i))));
+                assertTrue(repository.hasContent(hash));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     /**
      * Test of explodeContent method, of class ContentRepository.
      */
@@ -318,6 +353,34 @@ public class ContentRepositoryTest {
         }
     }
 
+    /**
+     * Test of transferDerivedContent method, of class ContentRepository.
+     */
+    @Test
+    public void testTransferDerivedContent() throws Exception {
+        byte[] archive = createArchive(Collections.singletonList("overlay.xhtml"));
+        try (ByteArrayInputStream stream = new ByteArrayInputStream(archive)) {
+            byte[] hash = repository.explodeContent(repository.addContent(stream));
+            Path derived = repository.getDerivedContentDirectory(hash);
+            Files.createDirectories(derived);
+            Files.write(derived.resolve("entry.idx"), "index".getBytes(StandardCharsets.UTF_8));
+            byte[] updatedHash = repository.addContentToExploded(hash,
+                    Collections.singletonList(new ExplodedContent("test.jsp",
+                            new ByteArrayInputStream("this is a test".getBytes(StandardCharsets.UTF_8)))),
+                    true);
+            repository.transferDerivedContent(hash, updatedHash);
+            Path updatedDerived = repository.getDerivedContentDirectory(updatedHash);
+            assertThat(readFileContent(updatedDerived.resolve("entry.idx")), is("index"));
+            // the original content keeps its derived data, e.g. for a rollback to it
+            assertThat(readFileContent(derived.resolve("entry.idx")), is("index"));
+            // derived data that already exists is not replaced
+            Files.write(updatedDerived.resolve("entry.idx"), "updated".getBytes(StandardCharsets.UTF_8));
+            repository.transferDerivedContent(hash, updatedHash);
+            assertThat(readFileContent(updatedDerived.resolve("entry.idx")), is("updated"));
+            assertThat(updatedDerived.getParent().toFile().list().length, is(2));
+        }
+    }
+
     @Test
     public void testListContents() throws Exception {
         byte[] archive = createArchive(Collections.singletonList("overlay.xhtml"));
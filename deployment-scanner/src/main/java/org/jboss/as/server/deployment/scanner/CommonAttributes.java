@@ -32,6 +32,8 @@ interface CommonAttributes {
     String AUTO_DEPLOY_XML = "auto-deploy-xml";
     String DEPLOYMENT_SCANNER = "deployment-scanner";
     String DEPLOYMENT_TIMEOUT = "deployment-timeout";
+    String LAST_SCAN_DURATION = "last-scan-duration";
+    String LAST_SCAN_FILES_EXAMINED = "last-scan-files-examined";
     String NAME = "name";
     String PATH = "path";
     String RELATIVE_TO = "relative-to";
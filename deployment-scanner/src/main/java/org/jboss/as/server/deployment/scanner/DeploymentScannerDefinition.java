@@ -28,6 +28,7 @@ import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.services.path.PathInfoHandler;
@@ -126,6 +127,17 @@ public class DeploymentScannerDefinition extends SimpleResourceDefinition {
                     .setDefaultValue(ModelNode.FALSE)
                     .build();
 
+    static final SimpleAttributeDefinition LAST_SCAN_DURATION =
+            new SimpleAttributeDefinitionBuilder(CommonAttributes.LAST_SCAN_DURATION, ModelType.LONG, true)
+                    .setStorageRuntime()
+                    .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                    .build();
+
+    static final SimpleAttributeDefinition LAST_SCAN_FILES_EXAMINED =
+            new SimpleAttributeDefinitionBuilder(CommonAttributes.LAST_SCAN_FILES_EXAMINED, ModelType.INT, true)
+                    .setStorageRuntime()
+                    .build();
+
     protected static final SimpleAttributeDefinition[] ALL_ATTRIBUTES = {PATH,RELATIVE_TO,SCAN_ENABLED,SCAN_INTERVAL,AUTO_DEPLOY_EXPLODED,AUTO_DEPLOY_XML,AUTO_DEPLOY_ZIPPED,DEPLOYMENT_TIMEOUT,RUNTIME_FAILURE_CAUSES_ROLLBACK};
 
     @Override
@@ -141,6 +153,8 @@ public class DeploymentScannerDefinition extends SimpleResourceDefinition {
         resourceRegistration.registerReadWriteAttribute(AUTO_DEPLOY_XML, null, commonHandler);
         resourceRegistration.registerReadWriteAttribute(DEPLOYMENT_TIMEOUT, null, commonHandler);
         resourceRegistration.registerReadWriteAttribute(RUNTIME_FAILURE_CAUSES_ROLLBACK, null, commonHandler);
+        resourceRegistration.registerMetric(LAST_SCAN_DURATION, DeploymentScannerMetricHandler.INSTANCE);
+        resourceRegistration.registerMetric(LAST_SCAN_FILES_EXAMINED, DeploymentScannerMetricHandler.INSTANCE);
     }
 
     @Override
@@ -0,0 +1,64 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.scanner;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Reads the statistics of the last scan of a running deployment scanner. The result is undefined if the scanner is
+ * not running or did not scan yet.
+ */
+class DeploymentScannerMetricHandler extends AbstractRuntimeOnlyHandler {
+
+    static final DeploymentScannerMetricHandler INSTANCE = new DeploymentScannerMetricHandler();
+
+    private DeploymentScannerMetricHandler() {
+    }
+
+    @Override
+    protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final String attributeName = operation.require(NAME).asString();
+        final ServiceController<?> controller = context.getServiceRegistry(false).getService(DeploymentScannerService.getServiceName(context.getCurrentAddressValue()));
+        if (controller == null || controller.getState() != ServiceController.State.UP) {
+            return;
+        }
+        final FileSystemDeploymentService scanner = (FileSystemDeploymentService) ((DeploymentScannerService) controller.getService()).getValue();
+        final long value;
+        if (CommonAttributes.LAST_SCAN_DURATION.equals(attributeName)) {
+            value = scanner.getLastScanDuration();
+        } else if (CommonAttributes.LAST_SCAN_FILES_EXAMINED.equals(attributeName)) {
+            value = scanner.getLastScanFilesExamined();
+        } else {
+            throw new IllegalStateException(attributeName);
+        }
+        if (value >= 0) {
+            context.getResult().set(value);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.scanner;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.jboss.as.server.deployment.scanner.logging.DeploymentScannerLogger;
+
+/**
+ * Tracks whether anything changed in the directories scanned by a {@link FileSystemDeploymentService}, so that
+ * periodic scans can be skipped while nothing did.
+ * <p>
+ * Only the directories themselves are watched, not the content of exploded deployments. Changes the file system
+ * does not report (e.g. on network file systems) are only picked up when the scanner reconciles with a full scan.
+ * Not thread safe; the scanner only uses it while holding its scan lock, but may close it at any time.
+ */
+final class DirectoryWatcher implements Closeable {
+
+    private final WatchService watchService;
+    private final Map<Path, WatchKey> keys = new HashMap<>();
+
+    DirectoryWatcher(final WatchService watchService) {
+        this.watchService = watchService;
+    }
+
+    /**
+     * Creates a watcher for the default file system.
+     *
+     * @return the watcher, or {@code null} if the file system cannot be watched
+     */
+    static DirectoryWatcher create() {
+        try {
+            return new DirectoryWatcher(FileSystems.getDefault().newWatchService());
+        } catch (IOException | UnsupportedOperationException e) {
+            DeploymentScannerLogger.ROOT_LOGGER.debugf(e, "Cannot watch the file system for deployment changes");
+            return null;
+        }
+    }
+
+    /**
+     * Starts watching a directory, if it is not watched already.
+     *
+     * @param directory the directory
+     * @return {@code false} if the directory cannot be watched, in which case changes to it can only be detected by scanning
+     */
+    boolean watch(final File directory) {
+        final Path path = directory.toPath();
+        final WatchKey key = keys.get(path);
+        if (key != null && key.isValid()) {
+            return true;
+        }
+        try {
+            keys.put(path, path.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY));
+            return true;
+        } catch (IOException | RuntimeException e) {
+            DeploymentScannerLogger.ROOT_LOGGER.debugf(e, "Cannot watch %s for deployment changes", path);
+            keys.remove(path);
+            return false;
+        }
+    }
+
+    /**
+     * Gets whether any watched directory changed since the previous call, and forgets about those changes. Directories
+     * that can no longer be watched, e.g. because they were removed, count as changed and are no longer watched.
+     *
+     * @return {@code true} if something changed
+     */
+    boolean pollChanges() {
+        boolean changed = false;
+        try {
+            WatchKey key;
+            while ((key = watchService.poll()) != null) {
+                changed |= !key.pollEvents().isEmpty();
+                key.reset();
+            }
+        } catch (ClosedWatchServiceException e) {
+            // The scanner is being stopped
+            return true;
+        }
+        for (Iterator<WatchKey> it = keys.values().iterator(); it.hasNext(); ) {
+            if (!it.next().isValid()) {
+                it.remove();
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            DeploymentScannerLogger.ROOT_LOGGER.debugf(e, "Failed to close the watch service");
+        }
+    }
+}
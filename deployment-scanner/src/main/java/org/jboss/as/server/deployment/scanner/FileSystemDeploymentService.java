@@ -21,6 +21,7 @@
  */
 package org.jboss.as.server.deployment.scanner;
 
+import static java.security.AccessController.doPrivileged;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ARCHIVE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CANCELLED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
@@ -57,17 +58,22 @@ import java.nio.file.DirectoryStream;
 import java.nio.file.DirectoryStream.Filter;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -91,6 +97,8 @@ import org.jboss.as.server.deployment.scanner.api.DeploymentScanner;
 import org.jboss.as.server.deployment.scanner.logging.DeploymentScannerLogger;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.Property;
+import org.jboss.threads.JBossThreadFactory;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Service that monitors the filesystem for deployment content and if found deploys it.
@@ -123,6 +131,52 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
      */
     static final long DEFAULT_DEPLOYMENT_TIMEOUT = 600;
 
+    /**
+     * Whether periodic scans are skipped as long as the file system reports no change in the scanned directories
+     */
+    static final boolean WATCH = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged("org.jboss.as.server.deployment.scanner.watch", "false"));
+
+    /**
+     * Max period, in milliseconds, between two full scans when watching the scanned directories, so that changes the
+     * file system did not report are eventually picked up
+     */
+    static final long WATCH_RECONCILE_INTERVAL;
+
+    /**
+     * Max number of threads checking whether archives are completely written
+     */
+    static final int MAX_PARALLELISM;
+
+    /**
+     * Max number of deployment operations executed together; the ones found by a scan are all executed together if less than 1
+     */
+    static final int BATCH_SIZE;
+
+    static {
+        long reconcileInterval;
+        try {
+            reconcileInterval = Long.parseLong(WildFlySecurityManager.getPropertyPrivileged("org.jboss.as.server.deployment.scanner.watch.reconcile-interval", "60000"));
+        } catch (NumberFormatException e) {
+            reconcileInterval = 60000;
+        }
+        WATCH_RECONCILE_INTERVAL = reconcileInterval;
+        final int processors = Runtime.getRuntime().availableProcessors();
+        int parallelism;
+        try {
+            parallelism = Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged("org.jboss.as.server.deployment.scanner.max-parallelism", Integer.toString(processors)));
+        } catch (NumberFormatException e) {
+            parallelism = processors;
+        }
+        MAX_PARALLELISM = parallelism;
+        int batchSize;
+        try {
+            batchSize = Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged("org.jboss.as.server.deployment.scanner.batch-size", "0"));
+        } catch (NumberFormatException e) {
+            batchSize = 0;
+        }
+        BATCH_SIZE = batchSize;
+    }
+
     private File deploymentDir;
     private long scanInterval = 0;
     private volatile boolean scanEnabled = false;
@@ -163,6 +217,13 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
     private volatile boolean deploymentDirAccessible = true;
     private volatile boolean lastScanSuccessful = true;
 
+    private volatile DirectoryWatcher watcher;
+    private volatile long watchReconcileInterval = WATCH_RECONCILE_INTERVAL;
+    private boolean lastScanWatched;
+    private long lastWatchedScanTime;
+    private volatile long lastScanDuration = -1;
+    private volatile int lastScanFilesExamined = -1;
+
     @Override
     public void handleNotification(Notification notification) {
         if (scanEnabled && acquireScanLock()) {
@@ -380,6 +441,8 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
     public synchronized void stopScanner() {
         this.scanEnabled = false;
         cancelScan();
+        safeClose(watcher);
+        watcher = null;
         safeClose(deploymentOperations);
         this.deploymentOperations = null;
         if (undeployScanTask != null) {
@@ -590,6 +653,12 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
                 deployedContentEstablished = true;
             }
 
+            if (!oneOffScan && !isScanRequired()) {
+                ROOT_LOGGER.tracef("Skipping scan of directory %s as nothing changed", deploymentDir.getAbsolutePath());
+                return scheduleRescan;
+            }
+
+            final long scanStart = System.nanoTime();
             ScanContext scanContext = null;
             try {
                 scanContext = new ScanContext(deploymentOperations);
@@ -602,6 +671,12 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
             }
 
             scanDirectory(deploymentDir, relativePath, scanContext);
+            try {
+                checkCompletion(scanContext);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return scheduleRescan;
+            }
 
             // WARN about markers with no associated content. Do this first in case any auto-deploy issue
             // is due to a file that wasn't meant to be auto-deployed, but has a misspelled marker
@@ -638,6 +713,11 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
 
             // Deal with any incomplete or non-scannable auto-deploy content
             ScanStatus status = handleAutoDeployFailures(scanContext);
+            lastScanDuration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - scanStart);
+            lastScanFilesExamined = scanContext.filesExamined;
+            // Anything left to retry requires another scan even if nothing changes
+            lastScanWatched = scanContext.watched && status == ScanStatus.PROCEED;
+            lastWatchedScanTime = scanContext.scanStartTime;
             if (status != ScanStatus.PROCEED) {
                 if (status == ScanStatus.RETRY && scanInterval > 1000) {
                     // schedule a non-repeating task to try again more quickly
@@ -667,6 +747,20 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
 
     private void executeScannerTasks(List<ScannerTask> scannerTasks, DeploymentOperations deploymentOperations,
                                      boolean oneOffScan) throws InterruptedException {
+        if (BATCH_SIZE < 1 || scannerTasks.size() <= BATCH_SIZE) {
+            executeScannerTaskBatch(scannerTasks, deploymentOperations, oneOffScan);
+            return;
+        }
+        // Smaller composites let the first deployments complete before the last ones even started
+        for (int i = 0; i < scannerTasks.size(); i += BATCH_SIZE) {
+            final List<ScannerTask> batch = new ArrayList<ScannerTask>(scannerTasks.subList(i, Math.min(i + BATCH_SIZE, scannerTasks.size())));
+            ROOT_LOGGER.tracef("Executing deployment scanner tasks %d to %d of %d", i + 1, i + batch.size(), scannerTasks.size());
+            executeScannerTaskBatch(batch, deploymentOperations, oneOffScan);
+        }
+    }
+
+    private void executeScannerTaskBatch(List<ScannerTask> scannerTasks, DeploymentOperations deploymentOperations,
+                                         boolean oneOffScan) throws InterruptedException {
         // Process the tasks
         if (scannerTasks.size() > 0) {
             List<ModelNode> updates = new ArrayList<ModelNode>(scannerTasks.size());
@@ -849,7 +943,12 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
      * @param scanContext context of the scan
      */
     private void scanDirectory(final File directory, final String relativePath, final ScanContext scanContext) {
+        final DirectoryWatcher watcher = this.watcher;
+        if (watcher != null && !watcher.watch(directory)) {
+            scanContext.watched = false;
+        }
         final List<File> children = listDirectoryChildren(directory, filter);
+        scanContext.filesExamined += children.size();
         for (File child : children) {
             final String fileName = child.getName();
             if (fileName.endsWith(DEPLOYED)) {
@@ -900,6 +999,12 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
                 final String deploymentName = fileName.substring(0, fileName.length() - markerStatus.length());
 
                 if (FAILED_DEPLOY.equals(markerStatus)) {
+                    final CompletionCheck check = scanContext.pendingCompletionChecks.get(deploymentName);
+                    if (check != null) {
+                        // Only reattempted if the archive is not deployed anyway once checked, see checkCompletion
+                        check.failedMarker = true;
+                        continue;
+                    }
                     if (!scanContext.firstScanDeployments.add(deploymentName)) {
                         continue;
                     }
@@ -937,24 +1042,15 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
 
                         DeploymentMarker marker = deployed.get(fileName);
                         if (marker == null || marker.lastModified != timestamp) {
-                            try {
-                                if (isZipComplete(child)) {
-                                    final String path = relativeTo == null ? child.getAbsolutePath() : relativePath + fileName;
-                                    final boolean archive = child.isFile();
-                                    if(firstScan){
-                                        scanContext.firstScanDeployments.add(fileName);
-                                    }
-                                    addContentAddingTask(path, archive, fileName, child, timestamp, scanContext);
-                                } else {
-                                    //we need to make sure that the file was not deleted while
-                                    //the scanner was running
-                                    if (child.exists()) {
-                                        scanContext.incompleteFiles.put(child, new IncompleteDeploymentStatus(child, timestamp));
-                                    }
-                                }
-                            } catch (NonScannableZipException e) {
-                                // Track for possible logging in scan()
-                                scanContext.nonscannable.put(child, new NonScannableStatus(e, timestamp));
+                            final String path = relativeTo == null ? child.getAbsolutePath() : relativePath + fileName;
+                            // Checked while the rest of the directory is scanned, see checkCompletion
+                            final CompletionCheck check = new CompletionCheck(child, path, timestamp, scanContext.scannerTasks.size());
+                            scanContext.completionChecks.add(check);
+                            if (firstScan) {
+                                scanContext.pendingCompletionChecks.put(fileName, check);
+                            }
+                            if (MAX_PARALLELISM > 1) {
+                                check.future = ExecutorHolder.EXECUTOR.submit(check);
                             }
                         }
                     }
@@ -1016,6 +1112,53 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         }
     }
 
+    /**
+     * Gets whether a periodic scan may find anything new, i.e. unless the scanned directories are watched, whether
+     * the file system reported a change since the previous scan or it is time to reconcile with a full scan.
+     * Invoke with the scan lock held.
+     */
+    private boolean isScanRequired() {
+        final DirectoryWatcher watcher = this.watcher;
+        if (watcher == null) {
+            return true;
+        }
+        // Always drain the pending changes, as the scan about to run will see them
+        final boolean changed = watcher.pollChanges();
+        return changed || firstScan || !lastScanWatched
+                || System.currentTimeMillis() - lastWatchedScanTime >= watchReconcileInterval;
+    }
+
+    /**
+     * Makes periodic scans use the given watcher, rather than the one created when the scanner starts if
+     * {@link #WATCH} is set.
+     *
+     * @param watcher the watcher
+     * @param reconcileInterval the time in milliseconds after which a full scan runs even if nothing changed
+     */
+    synchronized void setDirectoryWatcher(final DirectoryWatcher watcher, final long reconcileInterval) {
+        safeClose(this.watcher);
+        this.watcher = watcher;
+        this.watchReconcileInterval = reconcileInterval;
+    }
+
+    /**
+     * Gets how long the last scan took to examine the scanned directories, excluding the deployment operations it triggered.
+     *
+     * @return the duration in milliseconds, or {@code -1} if no scan ran yet
+     */
+    long getLastScanDuration() {
+        return lastScanDuration;
+    }
+
+    /**
+     * Gets the number of files and directories the last scan examined.
+     *
+     * @return the number of files, or {@code -1} if no scan ran yet
+     */
+    int getLastScanFilesExamined() {
+        return lastScanFilesExamined;
+    }
+
     private boolean isXmlComplete(final File xmlFile) {
         try {
             return XmlCompletionScanner.isCompleteDocument(xmlFile);
@@ -1068,15 +1211,82 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
 
     private long addContentAddingTask(final String path, final boolean archive, final String deploymentName,
                                       final File deploymentFile, final long timestamp, final ScanContext scanContext) {
+        return addContentAddingTask(path, archive, deploymentName, deploymentFile, timestamp, scanContext, scanContext.scannerTasks.size());
+    }
+
+    private long addContentAddingTask(final String path, final boolean archive, final String deploymentName,
+                                      final File deploymentFile, final long timestamp, final ScanContext scanContext, final int index) {
         if (scanContext.registeredDeployments.containsKey(deploymentName)) {
-            scanContext.scannerTasks.add(new ReplaceTask(path, archive, deploymentName, deploymentFile, timestamp));
+            scanContext.scannerTasks.add(index, new ReplaceTask(path, archive, deploymentName, deploymentFile, timestamp));
         } else {
-            scanContext.scannerTasks.add(new DeployTask(path, archive, deploymentName, deploymentFile, timestamp));
+            scanContext.scannerTasks.add(index, new DeployTask(path, archive, deploymentName, deploymentFile, timestamp));
         }
         scanContext.toRemove.remove(deploymentName);
         return timestamp;
     }
 
+    /**
+     * Waits for the checks started by {@link #scanDirectory(File, String, ScanContext)} to tell whether the
+     * auto-deployable content is completely written, running the ones that were not started in parallel, and adds the
+     * tasks to deploy the complete content in the order it was found.
+     */
+    private void checkCompletion(final ScanContext scanContext) throws InterruptedException {
+        final List<CompletionCheck> checks = scanContext.completionChecks;
+        try {
+            for (CompletionCheck check : checks) {
+                if (check.future == null) {
+                    check.run();
+                } else {
+                    check.future.get();
+                }
+            }
+        } catch (InterruptedException e) {
+            for (CompletionCheck check : checks) {
+                if (check.future != null) {
+                    check.future.cancel(false);
+                }
+            }
+            throw e;
+        } catch (ExecutionException e) {
+            // As if the check had run on this thread
+            final Throwable cause = e.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw (RuntimeException) cause;
+        }
+        // Going backwards, inserting a task does not shift the position of the ones inserted after it
+        for (int i = checks.size() - 1; i >= 0; i--) {
+            final CompletionCheck check = checks.get(i);
+            final File child = check.file;
+            final String fileName = child.getName();
+            if (check.complete) {
+                if (firstScan) {
+                    scanContext.firstScanDeployments.add(fileName);
+                }
+                addContentAddingTask(check.path, child.isFile(), fileName, child, check.timestamp, scanContext, check.taskIndex);
+                continue;
+            }
+            if (check.nonScannable != null) {
+                // Track for possible logging in scan()
+                scanContext.nonscannable.put(child, new NonScannableStatus(check.nonScannable, check.timestamp));
+            } else if (child.exists()) {
+                //we need to make sure that the file was not deleted while
+                //the scanner was running
+                scanContext.incompleteFiles.put(child, new IncompleteDeploymentStatus(child, check.timestamp));
+            }
+            if (check.failedMarker && scanContext.firstScanDeployments.add(fileName)) {
+                // AS7-2581 - attempt to redeploy failed deployments on restart.
+                ROOT_LOGGER.reattemptingFailedDeployment(fileName);
+                if (!child.exists()) {
+                    scanContext.ignoredMissingDeployments.add(fileName);
+                    continue;
+                }
+                addContentAddingTask(check.path, child.isFile(), fileName, child, getDeploymentTimestamp(child), scanContext, check.taskIndex);
+            }
+        }
+    }
+
     private boolean isRegisteredDeployment(final ScanContext scanContext, final String fileName) {
         if(!scanContext.persistentDeployments.contains(fileName)) {//check that we are talking about the deployment in the scanned folder
             return scanContext.registeredDeployments.get(fileName) == null ? false : scanContext.registeredDeployments.get(fileName);
@@ -1254,6 +1464,9 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
     private synchronized void startScan() {
         if (scanEnabled) {
             if (scanInterval > 0) {
+                if (WATCH && watcher == null) {
+                    watcher = DirectoryWatcher.create();
+                }
                 scanTask = scheduledExecutor.scheduleWithFixedDelay(scanRunnable, 0, scanInterval, TimeUnit.MILLISECONDS);
             } else {
                 scanTask = scheduledExecutor.schedule(scanRunnable, scanInterval, TimeUnit.MILLISECONDS);
@@ -1692,6 +1905,23 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
          * Timestamp when the scan started
          */
         private final long scanStartTime = System.currentTimeMillis();
+        /**
+         * Auto-deployable content that may not be completely written yet
+         */
+        private final List<CompletionCheck> completionChecks = new ArrayList<CompletionCheck>();
+        /**
+         * Completion checks on the first scan, by deployment name, until the content is found complete and is claimed
+         * in firstScanDeployments
+         */
+        private final Map<String, CompletionCheck> pendingCompletionChecks = new HashMap<String, CompletionCheck>();
+        /**
+         * Number of directory entries examined by the scan
+         */
+        private int filesExamined;
+        /**
+         * Whether changes to all the scanned directories are reported by the file system
+         */
+        private boolean watched = true;
 
         private ScanContext(final DeploymentOperations deploymentOperations) {
             registeredDeployments = deploymentOperations.getDeploymentsStatus();
@@ -1699,6 +1929,55 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         }
     }
 
+    /**
+     * Whether some auto-deployable content is completely written.
+     */
+    private final class CompletionCheck implements Runnable {
+        private final File file;
+        private final String path;
+        private final long timestamp;
+        private final int taskIndex;
+        private volatile boolean complete;
+        private volatile NonScannableZipException nonScannable;
+        /**
+         * Whether a .failed marker was found for the content on the first scan
+         */
+        private boolean failedMarker;
+        private Future<?> future;
+
+        private CompletionCheck(final File file, final String path, final long timestamp, final int taskIndex) {
+            this.file = file;
+            this.path = path;
+            this.timestamp = timestamp;
+            this.taskIndex = taskIndex;
+        }
+
+        @Override
+        public void run() {
+            try {
+                complete = isZipComplete(file);
+            } catch (NonScannableZipException e) {
+                nonScannable = e;
+            }
+        }
+    }
+
+    private static final class ExecutorHolder {
+        private static final ExecutorService EXECUTOR;
+
+        static {
+            final JBossThreadFactory threadFactory = doPrivileged(new PrivilegedAction<JBossThreadFactory>() {
+                public JBossThreadFactory run() {
+                    return new JBossThreadFactory(new ThreadGroup("DeploymentScannerCompletionCheck-threads"), Boolean.TRUE, null, "%G - %t", null, null);
+                }
+            });
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_PARALLELISM, MAX_PARALLELISM, 60L, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), threadFactory);
+            executor.allowCoreThreadTimeOut(true);
+            EXECUTOR = executor;
+        }
+    }
+
     private static class IncompleteDeploymentStatus {
         private final long timestamp;
         private final long size;
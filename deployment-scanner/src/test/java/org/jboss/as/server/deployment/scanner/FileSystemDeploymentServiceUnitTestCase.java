@@ -56,10 +56,15 @@ import static org.junit.Assert.fail;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
@@ -97,6 +102,7 @@ import org.jboss.threads.AsyncFuture;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -1298,6 +1304,124 @@ public class FileSystemDeploymentServiceUnitTestCase {
 
     }
 
+    /**
+     * Test that archives checked for completeness together are deployed in the order they were found, and that an
+     * incomplete one among them keeps all of them pending
+     */
+    @Test
+    public void testIncompleteAmongSeveralArchives() throws Exception {
+
+        List<File> archives = new ArrayList<File>();
+        for (int i = 0; i < 6; i++) {
+            File archive = new File(tmpDir, "archive" + i + ".jar");
+            testSupport.createZip(archive, 0, false, i == 3, true, false);
+            archives.add(archive);
+        }
+        File incomplete = archives.get(3);
+
+        TesteeSet ts = createTestee();
+        ts.testee.setAutoDeployZippedContent(true);
+
+        ts.testee.scan();
+
+        for (File archive : archives) {
+            assertFalse(new File(tmpDir, archive.getName() + FileSystemDeploymentService.DEPLOYED).exists());
+            assertTrue(new File(tmpDir, archive.getName() + FileSystemDeploymentService.PENDING).exists());
+        }
+        assertTrue(ts.controller.deployed.isEmpty());
+
+        incomplete.delete();
+        testSupport.createZip(incomplete, 0, false, false, false, false);
+
+        ts.controller.addCompositeSuccessResponse(archives.size());
+        ts.testee.scan();
+
+        for (File archive : archives) {
+            assertTrue(new File(tmpDir, archive.getName() + FileSystemDeploymentService.DEPLOYED).exists());
+            assertFalse(new File(tmpDir, archive.getName() + FileSystemDeploymentService.PENDING).exists());
+        }
+        assertEquals(archives.size(), ts.controller.deployed.size());
+
+        // The deployments are in the order the scanner lists the directory
+        List<String> listed = new ArrayList<String>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(tmpDir.toPath(), "*.jar")) {
+            for (Path path : stream) {
+                listed.add(path.getFileName().toString());
+            }
+        }
+        Set<String> deployedOrder = new LinkedHashSet<String>();
+        collectDeploymentNames(ts.controller.requests.get(ts.controller.requests.size() - 1), deployedOrder);
+        assertEquals(listed, new ArrayList<String>(deployedOrder));
+    }
+
+    /**
+     * Tests that archive content with a .failed marker from a previous run is deployed once on the first scan,
+     * whichever of the two files the scanner lists first.
+     */
+    @Test
+    public void testFailedArchiveDeployedOnceOnFirstScan() throws Exception {
+        File failed = createFile("foo.war" + FileSystemDeploymentService.FAILED_DEPLOY);
+        File war = new File(tmpDir, "foo.war");
+        File deployed = new File(tmpDir, "foo.war" + FileSystemDeploymentService.DEPLOYED);
+        testSupport.createZip(war, 0, false, false, true, false);
+        war.setLastModified(failed.lastModified() + 10000);
+
+        TesteeSet ts = createTestee();
+        ts.testee.setAutoDeployZippedContent(true);
+        ts.controller.addCompositeSuccessResponse(1);
+        ts.testee.scan();
+
+        assertTrue(deployed.exists());
+        assertFalse(failed.exists());
+        assertEquals(1, ts.controller.deployed.size());
+    }
+
+    /**
+     * Tests that archive content with a .failed marker from a previous run is not claimed on the first scan while
+     * it is incomplete, and is deployed once it is complete.
+     */
+    @Test
+    public void testIncompleteFailedArchiveOnFirstScan() throws Exception {
+        File failed = createFile("foo.war" + FileSystemDeploymentService.FAILED_DEPLOY);
+        File war = new File(tmpDir, "foo.war");
+        File deployed = new File(tmpDir, "foo.war" + FileSystemDeploymentService.DEPLOYED);
+        File pending = new File(tmpDir, "foo.war" + FileSystemDeploymentService.PENDING);
+        testSupport.createZip(war, 0, false, true, true, false);
+        war.setLastModified(failed.lastModified() + 10000);
+
+        TesteeSet ts = createTestee();
+        ts.testee.setAutoDeployZippedContent(true);
+        ts.testee.scan();
+
+        assertFalse(deployed.exists());
+        assertTrue(pending.exists());
+        assertTrue(ts.controller.deployed.isEmpty());
+
+        war.delete();
+        testSupport.createZip(war, 0, false, false, true, false);
+        war.setLastModified(failed.lastModified() + 20000);
+        ts.controller.addCompositeSuccessResponse(1);
+        ts.testee.scan();
+
+        assertTrue(deployed.exists());
+        assertFalse(pending.exists());
+        assertFalse(failed.exists());
+        assertEquals(1, ts.controller.deployed.size());
+    }
+
+    private static void collectDeploymentNames(ModelNode op, Set<String> names) {
+        if (op.hasDefined(STEPS)) {
+            for (ModelNode step : op.get(STEPS).asList()) {
+                collectDeploymentNames(step, names);
+            }
+        } else if (op.hasDefined(OP_ADDR)) {
+            PathAddress address = PathAddress.pathAddress(op.get(OP_ADDR));
+            if (address.size() > 0) {
+                names.add(address.getLastElement().getValue());
+            }
+        }
+    }
+
     /**
      * Tests that an incomplete deployment that makes no progress gets a .failed marker
      */
@@ -1920,6 +2044,105 @@ public class FileSystemDeploymentServiceUnitTestCase {
         assertNotEquals(deploymentHash, ts.controller.deployed.get("foo.war")); // should have been redeployed
     }
 
+    @Test
+    public void testWatchedScanSkippedWithoutChanges() throws Exception {
+        TesteeSet ts = createTestee();
+        DirectoryWatcher watcher = DirectoryWatcher.create();
+        Assume.assumeNotNull(watcher);
+        ts.testee.setDirectoryWatcher(watcher, TimeUnit.HOURS.toMillis(1));
+
+        ts.testee.scan();
+        int requests = ts.controller.requests.size();
+        assertTrue(requests > 0);
+
+        // Nothing changed, so the scanner should not even read the deployment status
+        ts.testee.scan();
+        ts.testee.scan();
+        assertEquals(requests, ts.controller.requests.size());
+    }
+
+    @Test
+    public void testWatchedScanRunsOnChange() throws Exception {
+        TesteeSet ts = createTestee();
+        DirectoryWatcher watcher = DirectoryWatcher.create();
+        Assume.assumeNotNull(watcher);
+        ts.testee.setDirectoryWatcher(watcher, TimeUnit.HOURS.toMillis(1));
+        ts.testee.scan();
+
+        File war = createFile("foo.war");
+        File dodeploy = createFile("foo.war" + FileSystemDeploymentService.DO_DEPLOY);
+        File deployed = new File(tmpDir, "foo.war" + FileSystemDeploymentService.DEPLOYED);
+        ts.controller.addCompositeSuccessResponse(1);
+
+        // Some watch services poll the file system, so give them time to report the new files
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
+        while (!deployed.exists() && System.currentTimeMillis() < deadline) {
+            ts.testee.scan();
+            Thread.sleep(100);
+        }
+        assertTrue(war.exists());
+        assertFalse(dodeploy.exists());
+        assertTrue(deployed.exists());
+        assertEquals(1, ts.controller.deployed.size());
+    }
+
+    @Test
+    public void testWatchedScanReconciles() throws Exception {
+        TesteeSet ts = createTestee();
+        DirectoryWatcher watcher = DirectoryWatcher.create();
+        Assume.assumeNotNull(watcher);
+        // Reconcile on every scan, as if changes the file system did not report could have happened
+        ts.testee.setDirectoryWatcher(watcher, 0);
+
+        ts.testee.scan();
+        int requests = ts.controller.requests.size();
+        ts.testee.scan();
+        assertTrue(ts.controller.requests.size() > requests);
+        requests = ts.controller.requests.size();
+        ts.testee.scan();
+        assertTrue(ts.controller.requests.size() > requests);
+    }
+
+    @Test
+    public void testUnwatchableDirectoryScanned() throws Exception {
+        TesteeSet ts = createTestee();
+        // A watch service of another provider, with which no directory can be registered
+        ts.testee.setDirectoryWatcher(new DirectoryWatcher(new WatchService() {
+            @Override
+            public void close() {
+            }
+
+            @Override
+            public WatchKey poll() {
+                return null;
+            }
+
+            @Override
+            public WatchKey poll(long timeout, TimeUnit unit) {
+                return null;
+            }
+
+            @Override
+            public WatchKey take() {
+                throw new UnsupportedOperationException();
+            }
+        }), TimeUnit.HOURS.toMillis(1));
+
+        ts.testee.scan();
+        int requests = ts.controller.requests.size();
+        ts.testee.scan();
+        assertTrue(ts.controller.requests.size() > requests);
+
+        File war = createFile("foo.war");
+        File dodeploy = createFile("foo.war" + FileSystemDeploymentService.DO_DEPLOY);
+        File deployed = new File(tmpDir, "foo.war" + FileSystemDeploymentService.DEPLOYED);
+        ts.controller.addCompositeSuccessResponse(1);
+        ts.testee.scan();
+        assertTrue(war.exists());
+        assertFalse(dodeploy.exists());
+        assertTrue(deployed.exists());
+    }
+
     private void testIgnoreExternalDeployment(ExternalDeployment externalDeployment) throws Exception {
         File war = createFile("foo.war");
         File dodeploy = createFile("foo.war" + FileSystemDeploymentService.DO_DEPLOY);
@@ -63,6 +63,8 @@ public abstract class AbstractFileAuditLogHandlerResourceDefinition extends Audi
 
     protected static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[]{FORMATTER, PATH, RELATIVE_TO, MAX_FAILURE_COUNT};
 
+    private static final AttributeDefinition[] QUEUE_RUNTIME_ATTRIBUTES = new AttributeDefinition[] {QUEUE_DEPTH, BLOCKED_WRITES};
+
 
     public AbstractFileAuditLogHandlerResourceDefinition(ManagedAuditLogger auditLogger, PathManagerService pathManager, PathElement pathElement, ResourceDescriptionResolver descriptionResolver,
                                                          OperationStepHandler addHandler, OperationStepHandler removeHandler) {
@@ -76,6 +78,9 @@ public abstract class AbstractFileAuditLogHandlerResourceDefinition extends Audi
         for (AttributeDefinition def : ATTRIBUTES) {
             resourceRegistration.registerReadWriteAttribute(def, null, write);
         }
+        for (AttributeDefinition def : QUEUE_RUNTIME_ATTRIBUTES) {
+            resourceRegistration.registerReadOnlyAttribute(def, new HandlerRuntimeAttributeHandler(auditLogger));
+        }
     }
 
     protected abstract HandlerWriteAttributeHandler getWriteAttributeHandler(ManagedAuditLogger auditLogger, PathManagerService pathManager, AttributeDefinition... attributeDefinitions);
@@ -83,6 +83,17 @@ public class AuditLogHandlerResourceDefinition extends SimpleResourceDefinition
         .setRuntimeServiceNotRequired()
         .build();
 
+    public static final SimpleAttributeDefinition QUEUE_DEPTH = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.QUEUE_DEPTH, ModelType.INT)
+        .setRequired(true)
+        .setStorageRuntime()
+        .setRuntimeServiceNotRequired()
+        .build();
+
+    public static final SimpleAttributeDefinition BLOCKED_WRITES = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.BLOCKED_WRITES, ModelType.LONG)
+        .setRequired(true)
+        .setStorageRuntime()
+        .setRuntimeServiceNotRequired()
+        .build();
 
     private static final AttributeDefinition[] RUNTIME_ATTRIBUTES = new AttributeDefinition[] {FAILURE_COUNT, DISABLED_DUE_TO_FAILURE};
 
@@ -123,7 +134,7 @@ public class AuditLogHandlerResourceDefinition extends SimpleResourceDefinition
                 new HandlerRecycleHandler(auditLogger));
     }
 
-    private static class HandlerRuntimeAttributeHandler extends AbstractRuntimeOnlyHandler {
+    static class HandlerRuntimeAttributeHandler extends AbstractRuntimeOnlyHandler {
         private final ManagedAuditLogger auditLogger;
 
         HandlerRuntimeAttributeHandler(ManagedAuditLogger auditLogger) {
@@ -143,6 +154,10 @@ public class AuditLogHandlerResourceDefinition extends SimpleResourceDefinition
                 context.getResult().set(auditLogger.getHandlerFailureCount(handlerName));
             } else if (attr.equals(DISABLED_DUE_TO_FAILURE.getName())) {
                 context.getResult().set(auditLogger.getHandlerDisabledDueToFailure(handlerName));
+            } else if (attr.equals(QUEUE_DEPTH.getName())) {
+                context.getResult().set(auditLogger.getHandlerQueueDepth(handlerName));
+            } else if (attr.equals(BLOCKED_WRITES.getName())) {
+                context.getResult().set(auditLogger.getHandlerBlockedWrites(handlerName));
             }
         }
     }
@@ -22,6 +22,8 @@
 
 package org.jboss.as.domain.controller;
 
+import org.jboss.as.domain.controller.operations.coordination.SlaveHostLatencyStatistics;
+
 /**
  * @author Emanuel Muckenhuber
  */
@@ -53,4 +55,11 @@ public interface HostRegistrations {
      */
     void pruneDisconnected();
 
+    /**
+     * Get the latencies of the domain operations executed on the registered hosts.
+     *
+     * @return the latency statistics
+     */
+    SlaveHostLatencyStatistics getLatencyStatistics();
+
 }
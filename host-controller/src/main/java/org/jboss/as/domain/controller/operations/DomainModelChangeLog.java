@@ -0,0 +1,142 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.controller.operations;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HOST;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.dmr.ModelNode;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Bounded log of the changes committed to the domain model, so that a slave host reconnecting to the master can be
+ * told whether anything it did not ignore changed since it last synchronized its copy of the domain model.
+ * <p>
+ * Each commit increments the generation of the domain model and records which top level domain resources it
+ * affected. Generations are only comparable within the same epoch, which is unique to each log and thus changes
+ * whenever the master is restarted or reloaded. Once more than {@code jboss.as.domain.change-log-size} commits
+ * (default 256) are recorded, the oldest are discarded and slaves that synchronized before them need a full
+ * synchronization.
+ */
+public final class DomainModelChangeLog {
+
+    static final String EPOCH = "epoch";
+    static final String GENERATION = "generation";
+
+    private static final int MAX_SIZE;
+
+    static {
+        int size;
+        try {
+            size = Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged("jboss.as.domain.change-log-size", "256"));
+        } catch (NumberFormatException e) {
+            size = 256;
+        }
+        MAX_SIZE = Math.max(size, 0);
+    }
+
+    private final String epoch = UUID.randomUUID().toString();
+    // GuardedBy this
+    private final Deque<Entry> entries = new ArrayDeque<>();
+    // GuardedBy this
+    private long generation;
+    // GuardedBy this. The generation up to which changes were discarded from the log
+    private long truncatedGeneration;
+
+    /**
+     * Records a change committed to the domain model.
+     *
+     * @param affectedAddresses the addresses of the resources affected by the change. Addresses of hosts are ignored
+     */
+    public synchronized void recordCommit(final Set<PathAddress> affectedAddresses) {
+        final Set<PathAddress> topLevelAddresses = new HashSet<>();
+        for (final PathAddress address : affectedAddresses) {
+            if (address.size() == 0) {
+                topLevelAddresses.add(address);
+            } else if (!HOST.equals(address.getElement(0).getKey())) {
+                topLevelAddresses.add(address.subAddress(0, 1));
+            }
+        }
+        generation++;
+        entries.addLast(new Entry(generation, topLevelAddresses));
+        while (entries.size() > MAX_SIZE) {
+            truncatedGeneration = entries.removeFirst().generation;
+        }
+    }
+
+    /**
+     * Gets the current generation of the domain model, in the form slave hosts send it back when reconnecting.
+     * <p>
+     * Changes are recorded after the changed model is published, and an operation context reads the model when it
+     * is created, so the generation sent along with a model must be read before the context reading it is created.
+     *
+     * @return the current generation
+     */
+    public synchronized ModelNode getGeneration() {
+        final ModelNode result = new ModelNode();
+        result.get(EPOCH).set(epoch);
+        result.get(GENERATION).set(generation);
+        return result;
+    }
+
+    /**
+     * Gets the top level resources of the domain model that changed after a given generation.
+     *
+     * @param knownGeneration a generation previously obtained from {@link #getGeneration()}, possibly by another log
+     * @return the addresses of the changed top level resources, the empty address standing for the root resource
+     *         itself, or {@code null} if the changes since that generation are not known
+     */
+    synchronized Set<PathAddress> getChangesSince(final ModelNode knownGeneration) {
+        if (!knownGeneration.hasDefined(EPOCH) || !knownGeneration.hasDefined(GENERATION)
+                || !epoch.equals(knownGeneration.get(EPOCH).asString())) {
+            return null;
+        }
+        final long since = knownGeneration.get(GENERATION).asLong();
+        if (since > generation || since < truncatedGeneration) {
+            return null;
+        }
+        final Set<PathAddress> result = new HashSet<>();
+        for (final Entry entry : entries) {
+            if (entry.generation > since) {
+                result.addAll(entry.topLevelAddresses);
+            }
+        }
+        return result;
+    }
+
+    private static final class Entry {
+        private final long generation;
+        private final Set<PathAddress> topLevelAddresses;
+
+        private Entry(final long generation, final Set<PathAddress> topLevelAddresses) {
+            this.generation = generation;
+            this.topLevelAddresses = topLevelAddresses;
+        }
+    }
+}
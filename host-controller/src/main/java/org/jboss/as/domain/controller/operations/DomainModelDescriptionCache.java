@@ -0,0 +1,157 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.controller.operations;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.as.domain.controller.logging.DomainControllerLogger;
+import org.jboss.dmr.ModelNode;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Caches the transformed and described domain model sent to registering slave hosts.
+ * <p>
+ * Transforming the whole domain model for each registering slave is expensive, and when the master restarts all the
+ * slaves register at about the same time, usually with only a few distinct combinations of model versions and
+ * ignored resources. Descriptions are keyed by everything that influences the transformation apart from the domain
+ * model itself, and are all discarded whenever a change to the domain model is committed.
+ * <p>
+ * The number of cached descriptions can be set with the {@code jboss.as.domain.model-cache-size} system property;
+ * {@code 0} disables the cache.
+ */
+public final class DomainModelDescriptionCache {
+
+    private static final int MAX_SIZE;
+
+    static {
+        int size;
+        try {
+            size = Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged("jboss.as.domain.model-cache-size", "16"));
+        } catch (NumberFormatException e) {
+            size = 16;
+        }
+        MAX_SIZE = Math.max(size, 0);
+    }
+
+    private final Map<ModelNode, List<ModelNode>> descriptions = new LinkedHashMap<ModelNode, List<ModelNode>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<ModelNode, List<ModelNode>> eldest) {
+            return size() > MAX_SIZE;
+        }
+    };
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    // GuardedBy descriptions
+    private long generation;
+
+    /**
+     * Gets whether descriptions are cached at all.
+     *
+     * @return {@code true} if the cache is enabled
+     */
+    public boolean isEnabled() {
+        return MAX_SIZE > 0;
+    }
+
+    /**
+     * Gets the current generation of the domain model, which changes each time the cache is {@link #invalidate() invalidated}.
+     * <p>
+     * An operation context reads the model when it is created, not when it acquires the controller lock, so the
+     * generation a description gets cached under must be read before the context that describes the model is created.
+     *
+     * @return the generation
+     */
+    public long getGeneration() {
+        synchronized (descriptions) {
+            return generation;
+        }
+    }
+
+    /**
+     * Gets a cached description.
+     *
+     * @param key the description of what influenced the transformation
+     * @return the described resources, or {@code null} if they need to be computed
+     */
+    List<ModelNode> get(final ModelNode key) {
+        final List<ModelNode> result;
+        synchronized (descriptions) {
+            result = descriptions.get(key);
+        }
+        if (result != null) {
+            DomainControllerLogger.ROOT_LOGGER.tracef("Reusing the cached domain model description for %s (%d hits, %d misses)", key, hits.incrementAndGet(), misses.get());
+        } else {
+            misses.incrementAndGet();
+        }
+        return result;
+    }
+
+    /**
+     * Caches a description, unless the domain model changed since it was read.
+     *
+     * @param key the description of what influenced the transformation
+     * @param generation the {@link #getGeneration() generation} of the domain model the description was created from
+     * @param describedResources the described resources, which must not be modified afterwards
+     */
+    void put(final ModelNode key, final long generation, final List<ModelNode> describedResources) {
+        if (MAX_SIZE == 0) {
+            return;
+        }
+        synchronized (descriptions) {
+            if (generation == this.generation) {
+                descriptions.put(key, describedResources);
+            }
+        }
+    }
+
+    /**
+     * Discards all cached descriptions. Called when a change to the domain model is committed.
+     */
+    public void invalidate() {
+        synchronized (descriptions) {
+            generation++;
+            descriptions.clear();
+        }
+    }
+
+    /**
+     * Gets the number of registrations that reused a cached description.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of registrations that had to transform the domain model.
+     *
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+}
@@ -22,6 +22,8 @@
 
 package org.jboss.as.domain.controller.operations;
 
+import java.util.List;
+
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
@@ -38,11 +40,28 @@ class ReadDomainModelHandler implements OperationStepHandler {
     private final Transformers transformers;
     private final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry;
     private final boolean lock;
+    private final DomainModelDescriptionCache descriptionCache;
+    private final ModelNode cacheKey;
+    private final long generation;
 
     public ReadDomainModelHandler(final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry, final Transformers transformers, final boolean lock) {
+        this(ignoredTransformationRegistry, transformers, lock, null, null, 0);
+    }
+
+    /**
+     * @param descriptionCache the cache of described domain models, or {@code null}
+     * @param cacheKey the key of the described domain model in {@code descriptionCache}, or {@code null} if it should not be cached
+     * @param generation the {@link DomainModelDescriptionCache#getGeneration() generation} of {@code descriptionCache},
+     *                   read before the operation context that reads the domain model was created
+     */
+    ReadDomainModelHandler(final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry, final Transformers transformers, final boolean lock,
+                           final DomainModelDescriptionCache descriptionCache, final ModelNode cacheKey, final long generation) {
         this.transformers = transformers;
         this.ignoredTransformationRegistry = ignoredTransformationRegistry != null ? ignoredTransformationRegistry : Transformers.DEFAULT;
         this.lock = lock;
+        this.descriptionCache = cacheKey != null ? descriptionCache : null;
+        this.cacheKey = cacheKey;
+        this.generation = generation;
     }
 
     public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
@@ -52,9 +71,22 @@ class ReadDomainModelHandler implements OperationStepHandler {
             context.acquireControllerLock();
         }
 
+        if (descriptionCache != null) {
+            final List<ModelNode> cached = descriptionCache.get(cacheKey);
+            if (cached != null) {
+                context.getResult().set(cached);
+                return;
+            }
+        }
+
         final Transformers.TransformationInputs transformationInputs = new Transformers.TransformationInputs(context);
         final ReadMasterDomainModelUtil readUtil = ReadMasterDomainModelUtil.readMasterDomainResourcesForInitialConnect(transformers,
                 transformationInputs, ignoredTransformationRegistry, transformationInputs.getRootResource());
+        if (descriptionCache != null) {
+            // The context read the model when it was created, which may be before a change committed while it
+            // waited for the lock. The generation was read before that, so such a model does not get cached.
+            descriptionCache.put(cacheKey, generation, readUtil.getDescribedResources());
+        }
         context.getResult().set(readUtil.getDescribedResources());
     }
 
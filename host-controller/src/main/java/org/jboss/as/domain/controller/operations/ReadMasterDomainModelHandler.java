@@ -22,12 +22,27 @@
 
 package org.jboss.as.domain.controller.operations;
 
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.IGNORED_RESOURCES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.IGNORE_UNUSED_CONFIG;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT_MAJOR_VERSION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT_MICRO_VERSION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT_MINOR_VERSION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROFILE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVER_GROUP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SOCKET_BINDING_GROUP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+
+import java.util.Set;
+import java.util.TreeSet;
+
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.ModelVersion;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.extension.ExtensionRegistry;
 import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.controller.transform.TransformationTarget;
 import org.jboss.as.controller.transform.Transformers;
 import org.jboss.as.host.controller.mgmt.HostInfo;
 import org.jboss.dmr.ModelNode;
@@ -49,12 +64,37 @@ public class ReadMasterDomainModelHandler implements OperationStepHandler {
     private final Transformers transformers;
     private final ExtensionRegistry extensionRegistry;
     private final boolean lock;
+    private final DomainModelDescriptionCache descriptionCache;
+    private final long descriptionGeneration;
+    private final DomainModelChangeLog changeLog;
+    private final ModelNode domainModelGeneration;
 
     public ReadMasterDomainModelHandler(final HostInfo hostInfo, final Transformers transformers, final ExtensionRegistry extensionRegistry, boolean lock) {
+        this(hostInfo, transformers, extensionRegistry, lock, null, 0, null, null);
+    }
+
+    /**
+     * Creates a handler that caches the described domain model and tells the slave which generation of the domain
+     * model it gets. The operation context reads the domain model when it is created, so both generations must be
+     * read before that, or a model from before a concurrent change could be cached or sent under a generation
+     * that includes the change.
+     *
+     * @param descriptionCache the cache of described domain models, or {@code null}
+     * @param descriptionGeneration the {@link DomainModelDescriptionCache#getGeneration() generation} of {@code descriptionCache}
+     * @param changeLog the log of the changes to the domain model, or {@code null}
+     * @param domainModelGeneration the {@link DomainModelChangeLog#getGeneration() generation} of {@code changeLog}
+     */
+    public ReadMasterDomainModelHandler(final HostInfo hostInfo, final Transformers transformers, final ExtensionRegistry extensionRegistry, boolean lock,
+                                        final DomainModelDescriptionCache descriptionCache, final long descriptionGeneration,
+                                        final DomainModelChangeLog changeLog, final ModelNode domainModelGeneration) {
         this.hostInfo = hostInfo;
         this.transformers = transformers;
         this.extensionRegistry = extensionRegistry;
         this.lock = lock;
+        this.descriptionCache = descriptionCache;
+        this.descriptionGeneration = descriptionGeneration;
+        this.changeLog = changeLog;
+        this.domainModelGeneration = domainModelGeneration;
     }
 
     @Override
@@ -65,6 +105,7 @@ public class ReadMasterDomainModelHandler implements OperationStepHandler {
         }
 
         final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry;
+        ModelNode cacheKey = null;
         final Resource resource = context.readResourceFromRoot(PathAddress.EMPTY_ADDRESS);
         // The host info is only null in the tests
         if (hostInfo == null) {
@@ -72,10 +113,81 @@ public class ReadMasterDomainModelHandler implements OperationStepHandler {
         } else {
             final ReadMasterDomainModelUtil.RequiredConfigurationHolder rc = hostInfo.populateRequiredConfigurationHolder(resource, extensionRegistry);
             ignoredTransformationRegistry = ReadMasterDomainModelUtil.createHostIgnoredRegistry(hostInfo, rc);
+            if (changeLog != null && domainModelGeneration != null) {
+                // Tell the slave which generation of the domain model it gets, so it can send it back when reconnecting
+                context.getResponseHeaders().get(ReadMasterDomainModelUtil.DOMAIN_MODEL_GENERATION).set(domainModelGeneration);
+                if (isUnchanged(ignoredTransformationRegistry)) {
+                    context.getResponseHeaders().get(ReadMasterDomainModelUtil.DOMAIN_MODEL_UNCHANGED).set(true);
+                    context.getResult().setEmptyList();
+                    return;
+                }
+            }
+            if (descriptionCache != null && descriptionCache.isEnabled()) {
+                cacheKey = createCacheKey(rc);
+            }
         }
 
-        final OperationStepHandler handler = new ReadDomainModelHandler(ignoredTransformationRegistry, transformers, lock);
+        final OperationStepHandler handler = new ReadDomainModelHandler(ignoredTransformationRegistry, transformers, lock, descriptionCache, cacheKey, descriptionGeneration);
         context.addStep(handler, OperationContext.Stage.MODEL);
     }
 
+    /**
+     * Checks whether the copy of the domain model the slave synchronized before is still current, i.e. whether all
+     * the changes since then only affected resources the slave ignores. This considers every change logged so far,
+     * including any made after the generation sent to the slave was read.
+     */
+    private boolean isUnchanged(final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry) {
+        final ModelNode knownGeneration = hostInfo.getDomainModelGeneration();
+        if (knownGeneration == null) {
+            return false;
+        }
+        final Set<PathAddress> changes = changeLog.getChangesSince(knownGeneration);
+        if (changes == null) {
+            return false;
+        }
+        for (final PathAddress address : changes) {
+            if (address.size() == 0 || !ignoredTransformationRegistry.isResourceTransformationIgnored(address)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Describes everything apart from the domain model that the transformed domain model depends on, i.e. the
+     * versions of the host and of its subsystems, and the resources it ignores.
+     */
+    private ModelNode createCacheKey(final ReadMasterDomainModelUtil.RequiredConfigurationHolder rc) {
+        final ModelNode key = new ModelNode();
+        key.get(MANAGEMENT_MAJOR_VERSION).set(hostInfo.getManagementMajorVersion());
+        key.get(MANAGEMENT_MINOR_VERSION).set(hostInfo.getManagementMinorVersion());
+        key.get(MANAGEMENT_MICRO_VERSION).set(hostInfo.getManagementMicroVersion());
+        final TransformationTarget target = transformers.getTarget();
+        final ModelNode subsystems = key.get(SUBSYSTEM).setEmptyObject();
+        final Set<String> subsystemNames = new TreeSet<>();
+        for (final String extension : extensionRegistry.getExtensionModuleNames()) {
+            subsystemNames.addAll(extensionRegistry.getAvailableSubsystems(extension).keySet());
+        }
+        for (final String subsystem : subsystemNames) {
+            final ModelVersion version = target.getSubsystemVersion(subsystem);
+            if (version != null) {
+                subsystems.get(subsystem).set(version.toString());
+            }
+        }
+        key.get(IGNORED_RESOURCES).set(hostInfo.getIgnoredResourcesDescription());
+        key.get(IGNORE_UNUSED_CONFIG).set(hostInfo.isIgnoreUnaffectedConfig());
+        if (hostInfo.isIgnoreUnaffectedConfig()) {
+            addSorted(key.get(PROFILE).setEmptyList(), rc.getProfiles());
+            addSorted(key.get(SERVER_GROUP).setEmptyList(), rc.getServerGroups());
+            addSorted(key.get(SOCKET_BINDING_GROUP).setEmptyList(), rc.getSocketBindings());
+        }
+        return key;
+    }
+
+    private static void addSorted(final ModelNode list, final Set<String> names) {
+        for (final String name : new TreeSet<>(names)) {
+            list.add(name);
+        }
+    }
+
 }
@@ -65,6 +65,17 @@ public class ReadMasterDomainModelUtil {
 
     public static final String ORDERED_CHILD_TYPES_PROPERTY = "ordered-child-types";
 
+    /**
+     * Host info entry and response header holding the generation of the domain model a slave host synchronized with.
+     */
+    public static final String DOMAIN_MODEL_GENERATION = "domain-model-generation";
+
+    /**
+     * Response header telling a reconnecting slave host that its copy of the domain model is still current, in
+     * which case the domain model is not sent.
+     */
+    public static final String DOMAIN_MODEL_UNCHANGED = "domain-model-unchanged";
+
     private final Set<PathElement> newRootResources = new HashSet<>();
 
     private volatile List<ModelNode> describedResources;
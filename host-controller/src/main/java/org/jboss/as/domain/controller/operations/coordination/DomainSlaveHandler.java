@@ -29,16 +29,25 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPE
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
 import static org.jboss.as.domain.controller.logging.DomainControllerLogger.HOST_CONTROLLER_LOGGER;
 
+import java.security.PrivilegedAction;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import org.jboss.as.controller.AccessAuditContext;
 import org.jboss.as.controller.BlockingTimeout;
 import org.jboss.as.controller.CurrentOperationIdHolder;
 import org.jboss.as.controller.OperationContext;
@@ -46,6 +55,7 @@ import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.ProxyController;
 import org.jboss.as.controller.TransformingProxyController;
+import org.jboss.as.controller.access.InVmAccess;
 import org.jboss.as.controller.client.OperationResponse;
 import org.jboss.as.controller.operations.OperationAttachments;
 import org.jboss.as.controller.remote.ResponseAttachmentInputStreamSupport;
@@ -54,6 +64,7 @@ import org.jboss.as.controller.transform.Transformers;
 import org.jboss.dmr.ModelNode;
 import org.jboss.threads.AsyncFuture;
 import org.jboss.as.controller.operations.DomainOperationTransmuter;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Executes the first phase of a two phase operation on one or more remote, slave host controllers.
@@ -62,13 +73,64 @@ import org.jboss.as.controller.operations.DomainOperationTransmuter;
  */
 public class DomainSlaveHandler implements OperationStepHandler {
 
+    /**
+     * The maximum number of slave hosts an operation is sent to concurrently, including the thread executing this
+     * handler. Sending an operation transforms it for the target host and writes it to the remote connection, which
+     * adds up when done one host after the other in large domains.
+     */
+    private static final int MAX_PARALLELISM;
+
+    static {
+        int parallelism;
+        try {
+            parallelism = Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged("jboss.as.domain.slave-fan-out.max-parallelism", "8"));
+        } catch (NumberFormatException e) {
+            parallelism = 8;
+        }
+        MAX_PARALLELISM = Math.max(parallelism, 1);
+    }
+
     private final MultiphaseOverallContext multiphaseContext;
     private final Map<String, ProxyController> hostProxies;
+    private final ExecutorService executorService;
+    private final SlaveHostLatencyStatistics latencyStatistics;
 
     public DomainSlaveHandler(final Map<String, ProxyController> hostProxies,
                               final MultiphaseOverallContext domainOperationContext) {
+        this(hostProxies, domainOperationContext, null);
+    }
+
+    /**
+     * Creates a handler sending the operation to several slave hosts concurrently.
+     *
+     * @param hostProxies the proxies of the slave hosts, by host name
+     * @param domainOperationContext the context of the overall domain operation
+     * @param executorService the executor used to send the operation to several hosts concurrently, or {@code null}
+     *                        to send it to one host after the other
+     */
+    public DomainSlaveHandler(final Map<String, ProxyController> hostProxies,
+                              final MultiphaseOverallContext domainOperationContext,
+                              final ExecutorService executorService) {
+        this(hostProxies, domainOperationContext, executorService, null);
+    }
+
+    /**
+     * Creates a handler sending the operation to several slave hosts concurrently.
+     *
+     * @param hostProxies the proxies of the slave hosts, by host name
+     * @param domainOperationContext the context of the overall domain operation
+     * @param executorService the executor used to send the operation to several hosts concurrently, or {@code null}
+     *                        to send it to one host after the other
+     * @param latencyStatistics where to record how long each host took to prepare the operation, or {@code null}
+     */
+    public DomainSlaveHandler(final Map<String, ProxyController> hostProxies,
+                              final MultiphaseOverallContext domainOperationContext,
+                              final ExecutorService executorService,
+                              final SlaveHostLatencyStatistics latencyStatistics) {
         this.hostProxies = hostProxies;
         this.multiphaseContext = domainOperationContext;
+        this.executorService = executorService;
+        this.latencyStatistics = latencyStatistics;
     }
 
     @Override
@@ -83,10 +145,11 @@ public class DomainSlaveHandler implements OperationStepHandler {
         final BlockingTimeout blockingTimeout = BlockingTimeout.Factory.getDomainBlockingTimeout(context);
         final Set<String> outstanding = new HashSet<String>(hostProxies.keySet());
         final List<TransactionalProtocolClient.PreparedOperation<HostControllerUpdateTask.ProxyOperation>> results = new ArrayList<TransactionalProtocolClient.PreparedOperation<HostControllerUpdateTask.ProxyOperation>>();
-        final Map<String, HostControllerUpdateTask.ExecutedHostRequest> finalResults = new HashMap<String, HostControllerUpdateTask.ExecutedHostRequest>();
-        final HostControllerUpdateTask.ProxyOperationListener listener = new HostControllerUpdateTask.ProxyOperationListener();
+        final Map<String, HostControllerUpdateTask.ExecutedHostRequest> finalResults = new ConcurrentHashMap<String, HostControllerUpdateTask.ExecutedHostRequest>();
+        final HostControllerUpdateTask.ProxyOperationListener listener = new HostControllerUpdateTask.ProxyOperationListener(latencyStatistics);
         final Transformers.TransformationInputs transformationInputs = Transformers.TransformationInputs.getOrCreate(context);
         final List<DomainOperationTransmuter> transformers = context.getAttachment(OperationAttachments.SLAVE_SERVER_OPERATION_TRANSMUTERS);
+        final Map<String, HostControllerUpdateTask> tasks = new LinkedHashMap<String, HostControllerUpdateTask>();
         for (Map.Entry<String, ProxyController> entry : hostProxies.entrySet()) {
             // Create the proxy task
             final String host = entry.getKey();
@@ -101,11 +164,17 @@ public class DomainSlaveHandler implements OperationStepHandler {
             // Set the flags for host controller operations
             clonedOp.get(OPERATION_HEADERS, EXECUTE_FOR_COORDINATOR).set(true);
             clonedOp.get(OPERATION_HEADERS, DomainControllerLockIdUtils.DOMAIN_CONTROLLER_LOCK_ID).set(CurrentOperationIdHolder.getCurrentOperationID());
-            final HostControllerUpdateTask task = new HostControllerUpdateTask(host, clonedOp, context, proxyController, transformationInputs);
-            // Execute the operation on the remote host
-            final HostControllerUpdateTask.ExecutedHostRequest finalResult = task.execute(listener);
-            multiphaseContext.recordHostRequest(host, finalResult);
-            finalResults.put(host, finalResult);
+            tasks.put(host, new HostControllerUpdateTask(host, clonedOp, context, proxyController, transformationInputs));
+        }
+        // Execute the operation on the remote hosts. Their prepared results are collected below in the order they arrive
+        try {
+            executeTasks(tasks, listener, finalResults);
+        } catch (RuntimeException | Error e) {
+            // Don't leave the hosts the operation was sent to waiting for the outcome
+            for (final HostControllerUpdateTask.ExecutedHostRequest finalResult : finalResults.values()) {
+                finalResult.asyncCancel();
+            }
+            throw e;
         }
 
         // Wait for all hosts to reach the prepared state
@@ -178,6 +247,122 @@ public class DomainSlaveHandler implements OperationStepHandler {
         }
     }
 
+    /**
+     * Sends the operation to the remote hosts, using up to {@link #MAX_PARALLELISM} threads including the calling one.
+     * Each request is recorded as soon as it was sent. If sending to a host fails, the operation is no longer sent to the
+     * hosts that did not get it yet, and the failure is thrown once the hosts being sent the operation got it.
+     *
+     * @param tasks the tasks sending the operation, by host name
+     * @param listener the listener receiving the prepared results
+     * @param finalResults the map to put the executed requests in, by host name
+     */
+    void executeTasks(final Map<String, HostControllerUpdateTask> tasks,
+                      final HostControllerUpdateTask.ProxyOperationListener listener,
+                      final Map<String, HostControllerUpdateTask.ExecutedHostRequest> finalResults) {
+        final int workers = executorService == null ? 0 : Math.min(MAX_PARALLELISM, tasks.size()) - 1;
+        if (workers <= 0) {
+            for (Map.Entry<String, HostControllerUpdateTask> entry : tasks.entrySet()) {
+                executeTask(entry.getKey(), entry.getValue(), listener, finalResults);
+            }
+            return;
+        }
+
+        final Queue<Map.Entry<String, HostControllerUpdateTask>> queue = new ConcurrentLinkedQueue<Map.Entry<String, HostControllerUpdateTask>>(tasks.entrySet());
+        final PrivilegedAction<Void> drain = new PrivilegedAction<Void>() {
+            @Override
+            public Void run() {
+                Map.Entry<String, HostControllerUpdateTask> entry;
+                while ((entry = queue.poll()) != null) {
+                    try {
+                        executeTask(entry.getKey(), entry.getValue(), listener, finalResults);
+                    } catch (RuntimeException | Error e) {
+                        // Stop sending the operation, as it is going to fail anyway
+                        queue.clear();
+                        throw e;
+                    }
+                }
+                return null;
+            }
+        };
+        // The identity of the caller and whether it is an in-vm call are associated with the calling thread,
+        // and are sent to the remote hosts along with the operation
+        final AccessAuditContext accessAuditContext = SecurityActions.currentAccessAuditContext();
+        final boolean inVmCall = InVmAccess.isInVmCall();
+        final Callable<Void> worker = new Callable<Void>() {
+            @Override
+            public Void call() {
+                final PrivilegedAction<Void> action = inVmCall ? new PrivilegedAction<Void>() {
+                    @Override
+                    public Void run() {
+                        return InVmAccess.runInVm(drain);
+                    }
+                } : drain;
+                if (accessAuditContext != null) {
+                    return AccessAuditContext.doAs(accessAuditContext.isInflowed(), accessAuditContext.getSecurityIdentity(),
+                            accessAuditContext.getRemoteAddress(), action);
+                }
+                return action.run();
+            }
+        };
+        final List<Future<Void>> futures = new ArrayList<Future<Void>>(workers);
+        try {
+            for (int i = 0; i < workers; i++) {
+                futures.add(executorService.submit(worker));
+            }
+        } catch (RejectedExecutionException e) {
+            HOST_CONTROLLER_LOGGER.tracef(e, "Sending the operation to the remaining hosts from the calling thread");
+        }
+        Throwable failure = null;
+        try {
+            drain.run();
+        } catch (RuntimeException | Error e) {
+            failure = e;
+        }
+
+        // Wait for the workers to send the operations they took, even if sending failed, so that each host they
+        // sent the operation to has its request recorded
+        boolean interrupted = false;
+        try {
+            for (Future<Void> future : futures) {
+                while (true) {
+                    try {
+                        future.get();
+                        break;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    } catch (ExecutionException e) {
+                        if (failure == null) {
+                            failure = e.getCause();
+                        } else {
+                            failure.addSuppressed(e.getCause());
+                        }
+                        break;
+                    }
+                }
+            }
+        } finally {
+            if (interrupted) {
+                // Let the wait for the prepared results learn about the interruption
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (failure instanceof Error) {
+            throw (Error) failure;
+        } else if (failure != null) {
+            throw new IllegalStateException(failure);
+        }
+    }
+
+    private void executeTask(final String host, final HostControllerUpdateTask task,
+                             final HostControllerUpdateTask.ProxyOperationListener listener,
+                             final Map<String, HostControllerUpdateTask.ExecutedHostRequest> finalResults) {
+        final HostControllerUpdateTask.ExecutedHostRequest request = task.execute(listener);
+        multiphaseContext.recordHostRequest(host, request);
+        finalResults.put(host, request);
+    }
+
     private void handleMissingHostResponses(Map<String, HostControllerUpdateTask.ExecutedHostRequest> finalResults,
                                             Set<String> outstanding, boolean timedOut, long timeout) {
 
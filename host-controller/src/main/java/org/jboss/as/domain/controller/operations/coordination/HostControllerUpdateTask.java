@@ -42,6 +42,8 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
@@ -113,9 +115,11 @@ class HostControllerUpdateTask {
                     HOST_CONTROLLER_LOGGER.tracef("Sending %s (transformed to null) to %s", operation, name);
                 }
 
+                listener.operationSending(name);
                 final AsyncFuture<OperationResponse> result = client.execute(subsystemListener, proxyOperation);
                 return new ExecutedHostRequest(result, transformationResult);
             } catch (IOException e) {
+                listener.operationNotSent(name);
                 // Handle protocol failures
                 final TransactionalProtocolClient.PreparedOperation<ProxyOperation> result = BlockingQueueOperationListener.FailedOperation.create(proxyOperation, e);
                 subsystemListener.operationPrepared(result);
@@ -227,9 +231,35 @@ class HostControllerUpdateTask {
      */
     static class ProxyOperationListener extends BlockingQueueOperationListener<ProxyOperation> {
         final boolean trace = HOST_CONTROLLER_LOGGER.isTraceEnabled();
+        // The time operations were sent to each host, to record the latency of their prepared results
+        private final Map<String, Long> sendTimes = new ConcurrentHashMap<>();
+        private final SlaveHostLatencyStatistics latencyStatistics;
+
+        ProxyOperationListener() {
+            this(null);
+        }
+
+        /**
+         * @param latencyStatistics where to record the latency of the prepared results, or {@code null} not to record it
+         */
+        ProxyOperationListener(final SlaveHostLatencyStatistics latencyStatistics) {
+            this.latencyStatistics = latencyStatistics;
+        }
+
+        void operationSending(final String hostName) {
+            sendTimes.put(hostName, System.nanoTime());
+        }
+
+        void operationNotSent(final String hostName) {
+            sendTimes.remove(hostName);
+        }
 
         @Override
         public void operationPrepared(final TransactionalProtocolClient.PreparedOperation<ProxyOperation> prepared) {
+            final Long sendTime = sendTimes.remove(prepared.getOperation().getName());
+            if (sendTime != null && latencyStatistics != null) {
+                latencyStatistics.record(prepared.getOperation().getName(), System.nanoTime() - sendTime);
+            }
             try {
                 super.operationPrepared(prepared);
             } finally {
@@ -60,6 +60,7 @@ public class OperationCoordinatorStepHandler {
     private final Map<String, ProxyController> serverProxies;
     private final OperationSlaveStepHandler localSlaveHandler;
     private volatile ExecutorService executorService;
+    private volatile SlaveHostLatencyStatistics slaveLatencyStatistics;
 
     OperationCoordinatorStepHandler(final LocalHostControllerInfo localHostControllerInfo,
                                     final Map<String, ProxyController> hostProxies,
@@ -115,6 +116,10 @@ public class OperationCoordinatorStepHandler {
         this.executorService = executorService;
     }
 
+    void setSlaveLatencyStatistics(SlaveHostLatencyStatistics slaveLatencyStatistics) {
+        this.slaveLatencyStatistics = slaveLatencyStatistics;
+    }
+
     private ExecutorService getExecutorService() {
         return executorService == null ? Executors.newSingleThreadExecutor() : executorService;
     }
@@ -209,7 +214,7 @@ public class OperationCoordinatorStepHandler {
                     }
                 }
 
-                context.addStep(slaveOp.clone(), new DomainSlaveHandler(remoteProxies, overallContext), OperationContext.Stage.DOMAIN);
+                context.addStep(slaveOp.clone(), new DomainSlaveHandler(remoteProxies, overallContext, executorService, slaveLatencyStatistics), OperationContext.Stage.DOMAIN);
             }
         }
 
@@ -100,6 +100,10 @@ public class PrepareStepHandler  implements OperationStepHandler {
         coordinatorHandler.setExecutorService(executorService);
     }
 
+    public void setSlaveLatencyStatistics(final SlaveHostLatencyStatistics slaveLatencyStatistics) {
+        coordinatorHandler.setSlaveLatencyStatistics(slaveLatencyStatistics);
+    }
+
     private boolean isServerOperation(ModelNode operation) {
         PathAddress addr = PathAddress.pathAddress(operation.get(OP_ADDR));
         return addr.size() > 1
@@ -0,0 +1,138 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.controller.operations.coordination;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Latencies of the first phase of the domain operations executed on each slave host controller, that is the time
+ * between sending an operation to a slave and receiving its prepared result.
+ * <p>
+ * Latencies are kept in a histogram per slave host, with buckets bounded by {@link #BUCKET_BOUNDS_MILLIS}, so that
+ * slow hosts can be told apart from slow operations. The master host controller owns an instance, and exposes it
+ * through the {@code host-connection} runtime resources.
+ */
+public final class SlaveHostLatencyStatistics {
+
+    public static final String COUNT = "count";
+    public static final String MIN = "min";
+    public static final String MAX = "max";
+    public static final String AVERAGE = "average";
+
+    /** The upper bounds, in milliseconds, of all the buckets but the last one, which is unbounded. */
+    static final long[] BUCKET_BOUNDS_MILLIS = {1, 5, 10, 50, 100, 500, 1000, 5000, 30000};
+
+    private final ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * Records the latency of the first phase of an operation executed on a slave host.
+     *
+     * @param hostName the name of the slave host
+     * @param latency the latency, in nanoseconds
+     */
+    void record(final String hostName, final long latency) {
+        Histogram histogram = histograms.get(hostName);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(hostName, h -> new Histogram());
+        }
+        histogram.record(TimeUnit.NANOSECONDS.toMillis(latency));
+    }
+
+    /**
+     * Gets the latencies recorded for a slave host, in milliseconds.
+     *
+     * @param hostName the name of the slave host
+     * @return a node with the count, min, max and average latencies, undefined if no operation was executed on the host
+     */
+    public ModelNode getLatency(final String hostName) {
+        final Histogram histogram = histograms.get(hostName);
+        return histogram == null ? new ModelNode() : histogram.getLatency();
+    }
+
+    /**
+     * Gets the histogram of the latencies recorded for a slave host.
+     *
+     * @param hostName the name of the slave host
+     * @return a node with the number of latencies in each bucket, keyed by the bounds of the bucket in milliseconds,
+     *         undefined if no operation was executed on the host
+     */
+    public ModelNode getHistogram(final String hostName) {
+        final Histogram histogram = histograms.get(hostName);
+        return histogram == null ? new ModelNode() : histogram.getHistogram();
+    }
+
+    /**
+     * Forgets the latencies recorded for a slave host, e.g. because it is no longer registered.
+     *
+     * @param hostName the name of the slave host
+     */
+    public void clear(final String hostName) {
+        histograms.remove(hostName);
+    }
+
+    private static final class Histogram {
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS_MILLIS.length + 1);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+        private void record(final long millis) {
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS_MILLIS.length && millis > BUCKET_BOUNDS_MILLIS[bucket]) {
+                bucket++;
+            }
+            buckets.incrementAndGet(bucket);
+            count.increment();
+            total.add(millis);
+            min.accumulate(millis);
+            max.accumulate(millis);
+        }
+
+        private ModelNode getLatency() {
+            final ModelNode result = new ModelNode();
+            final long count = this.count.sum();
+            result.get(COUNT).set(count);
+            result.get(MIN).set(count == 0 ? 0L : min.get());
+            result.get(MAX).set(max.get());
+            result.get(AVERAGE).set(count == 0 ? 0L : total.sum() / count);
+            return result;
+        }
+
+        private ModelNode getHistogram() {
+            final ModelNode result = new ModelNode().setEmptyObject();
+            for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+                result.get("<=" + BUCKET_BOUNDS_MILLIS[i]).set(buckets.get(i));
+            }
+            result.get(">" + BUCKET_BOUNDS_MILLIS[BUCKET_BOUNDS_MILLIS.length - 1]).set(buckets.get(BUCKET_BOUNDS_MILLIS.length));
+            return result;
+        }
+    }
+}
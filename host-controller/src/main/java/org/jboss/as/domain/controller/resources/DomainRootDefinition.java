@@ -59,6 +59,7 @@ import org.jboss.as.controller.extension.ExtensionRegistryType;
 import org.jboss.as.controller.extension.ExtensionResourceDefinition;
 import org.jboss.as.controller.extension.MutableRootResourceRegistrationProvider;
 import org.jboss.as.controller.operations.PathAddressFilter;
+import org.jboss.as.controller.operations.common.ConfigurationWriteStatisticsHandler;
 import org.jboss.as.controller.operations.common.NamespaceAddHandler;
 import org.jboss.as.controller.operations.common.NamespaceRemoveHandler;
 import org.jboss.as.controller.operations.common.SchemaLocationAddHandler;
@@ -289,6 +290,8 @@ public class DomainRootDefinition extends SimpleResourceDefinition {
             resourceRegistration.registerOperationHandler(SnapshotDeleteHandler.DEFINITION, snapshotDelete);
             SnapshotListHandler snapshotList = new SnapshotListHandler(configurationPersister);
             resourceRegistration.registerOperationHandler(SnapshotListHandler.DEFINITION, snapshotList);
+            resourceRegistration.registerOperationHandler(ConfigurationWriteStatisticsHandler.DEFINITION,
+                    new ConfigurationWriteStatisticsHandler(configurationPersister));
             SnapshotTakeHandler snapshotTake = new SnapshotTakeHandler(configurationPersister);
             resourceRegistration.registerOperationHandler(SnapshotTakeHandler.DEFINITION, snapshotTake);
 
@@ -36,13 +36,16 @@ import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleMapAttributeDefinition;
 import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.descriptions.ResourceDescriptionResolver;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.as.domain.controller.HostConnectionInfo;
 import org.jboss.as.domain.controller.HostRegistrations;
+import org.jboss.as.domain.controller.operations.coordination.SlaveHostLatencyStatistics;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 
@@ -53,6 +56,9 @@ public class HostConnectionResourceDefinition extends SimpleResourceDefinition {
 
     public static final PathElement PATH = PathElement.pathElement(HOST_CONNECTION);
 
+    private static final String PREPARE_LATENCY_NAME = "prepare-latency";
+    private static final String PREPARE_LATENCY_HISTOGRAM_NAME = "prepare-latency-histogram";
+
     private static final ResourceDescriptionResolver RESOLVER = DomainResolver.getResolver(HOST_CONNECTION, false);
 
     private static final AttributeDefinition CONNECTION_DEF = SimpleAttributeDefinitionBuilder.create(HostConnectionInfo.CONNECTED, ModelType.BOOLEAN, false)
@@ -85,6 +91,23 @@ public class HostConnectionResourceDefinition extends SimpleResourceDefinition {
             .setRuntimeServiceNotRequired()
             .build();
 
+    private static final AttributeDefinition LATENCY_COUNT_DEF = createLatencyField(SlaveHostLatencyStatistics.COUNT, null);
+    private static final AttributeDefinition LATENCY_MIN_DEF = createLatencyField(SlaveHostLatencyStatistics.MIN, MeasurementUnit.MILLISECONDS);
+    private static final AttributeDefinition LATENCY_MAX_DEF = createLatencyField(SlaveHostLatencyStatistics.MAX, MeasurementUnit.MILLISECONDS);
+    private static final AttributeDefinition LATENCY_AVERAGE_DEF = createLatencyField(SlaveHostLatencyStatistics.AVERAGE, MeasurementUnit.MILLISECONDS);
+
+    private static final ObjectTypeAttributeDefinition PREPARE_LATENCY = ObjectTypeAttributeDefinition.Builder.of(PREPARE_LATENCY_NAME,
+                LATENCY_COUNT_DEF, LATENCY_MIN_DEF, LATENCY_MAX_DEF, LATENCY_AVERAGE_DEF)
+            .setRequired(false)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .build();
+
+    private static final AttributeDefinition PREPARE_LATENCY_HISTOGRAM = new SimpleMapAttributeDefinition.Builder(PREPARE_LATENCY_HISTOGRAM_NAME, ModelType.LONG, true)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .build();
+
     private static final OperationDefinition PRUNE_EXPIRED_DEF = new SimpleOperationDefinitionBuilder("prune-expired", RESOLVER)
             .withFlag(OperationEntry.Flag.MASTER_HOST_CONTROLLER_ONLY)
             .build();
@@ -105,6 +128,8 @@ public class HostConnectionResourceDefinition extends SimpleResourceDefinition {
     public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
         resourceRegistration.registerReadOnlyAttribute(CONNECTION_DEF, attributeReadHandler);
         resourceRegistration.registerReadOnlyAttribute(EVENT_LIST, attributeReadHandler);
+        resourceRegistration.registerMetric(PREPARE_LATENCY, attributeReadHandler);
+        resourceRegistration.registerMetric(PREPARE_LATENCY_HISTOGRAM, attributeReadHandler);
     }
 
     @Override
@@ -142,11 +167,25 @@ public class HostConnectionResourceDefinition extends SimpleResourceDefinition {
                     case HostConnectionInfo.EVENTS:
                         processEvents(info, result.setEmptyList());
                         break;
+                    case PREPARE_LATENCY_NAME:
+                        result.set(slaveHosts.getLatencyStatistics().getLatency(hostName));
+                        break;
+                    case PREPARE_LATENCY_HISTOGRAM_NAME:
+                        result.set(slaveHosts.getLatencyStatistics().getHistogram(hostName));
+                        break;
                 }
             }
         }
     }
 
+    private static AttributeDefinition createLatencyField(final String name, final MeasurementUnit unit) {
+        return SimpleAttributeDefinitionBuilder.create(name, ModelType.LONG, false)
+                .setMeasurementUnit(unit)
+                .setStorageRuntime()
+                .setRuntimeServiceNotRequired()
+                .build();
+    }
+
     static void processEvents(final HostConnectionInfo info, final ModelNode list) {
         for (final HostConnectionInfo.Event event : info.getEvents()) {
             event.toModelNode(list.add());
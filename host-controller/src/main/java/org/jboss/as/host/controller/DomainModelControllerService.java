@@ -152,6 +152,7 @@ import org.jboss.as.domain.controller.logging.DomainControllerLogger;
 import org.jboss.as.domain.controller.operations.ApplyExtensionsHandler;
 import org.jboss.as.domain.controller.operations.DomainModelIncludesValidator;
 import org.jboss.as.domain.controller.operations.coordination.PrepareStepHandler;
+import org.jboss.as.domain.controller.operations.coordination.SlaveHostLatencyStatistics;
 import org.jboss.as.domain.controller.resources.DomainRootDefinition;
 import org.jboss.as.domain.http.server.ConsoleAvailability;
 import org.jboss.as.domain.management.CoreManagementResourceDefinition;
@@ -234,6 +235,7 @@ public class DomainModelControllerService extends AbstractControllerService impl
     private final InjectedValue<ProcessControllerConnectionService> injectedProcessControllerConnection = new InjectedValue<ProcessControllerConnectionService>();
     private final ConcurrentMap<String, ProxyController> hostProxies;
     private final DomainSlaveHostRegistrations slaveHostRegistrations = new DomainSlaveHostRegistrations();
+    private final SlaveHostLatencyStatistics slaveLatencyStatistics = new SlaveHostLatencyStatistics();
     private final Map<String, ProxyController> serverProxies;
     private final PrepareStepHandler prepareStepHandler;
     private final BootstrapListener bootstrapListener;
@@ -348,6 +350,7 @@ public class DomainModelControllerService extends AbstractControllerService impl
         this.serverProxies = serverProxies;
         this.prepareStepHandler = prepareStepHandler;
         this.prepareStepHandler.setServerInventory(new DelegatingServerInventory());
+        this.prepareStepHandler.setSlaveLatencyStatistics(slaveLatencyStatistics);
         this.vaultReader = vaultReader;
         this.ignoredRegistry = ignoredRegistry;
         this.bootstrapListener = bootstrapListener;
@@ -428,6 +431,7 @@ public class DomainModelControllerService extends AbstractControllerService impl
                     final String address = hostRegistration.getAddress();
                     final Event event = cleanShutdown ? create(HostConnectionInfo.EventType.UNREGISTERED, address) : create(HostConnectionInfo.EventType.UNCLEAN_UNREGISTRATION, address);
                     slaveHostRegistrations.unregisterHost(id, event);
+                    slaveLatencyStatistics.clear(id);
                     if (!cleanShutdown) {
                         DOMAIN_LOGGER.lostConnectionToRemoteHost(id);
                     } else {
@@ -454,6 +458,11 @@ public class DomainModelControllerService extends AbstractControllerService impl
         slaveHostRegistrations.pruneDisconnected();
     }
 
+    @Override
+    public SlaveHostLatencyStatistics getLatencyStatistics() {
+        return slaveLatencyStatistics;
+    }
+
     @Override
     public HostConnectionInfo getHostInfo(String hostName) {
         return slaveHostRegistrations.getRegistration(hostName);
@@ -826,7 +835,9 @@ public class DomainModelControllerService extends AbstractControllerService impl
                                                 executor,
                                                 environment.getDomainTempDir(),
                                                 DomainModelControllerService.this,
-                                                domainHostExcludeRegistry);
+                                                domainHostExcludeRegistry,
+                                                hostControllerConfigurationPersister.getDomainModelDescriptionCache(),
+                                                hostControllerConfigurationPersister.getDomainModelChangeLog());
                                     }
                                 },
                                 DomainModelControllerService.SERVICE_NAME, ManagementRemotingServices.DOMAIN_CHANNEL,
@@ -862,7 +873,8 @@ public class DomainModelControllerService extends AbstractControllerService impl
             if (ok && processType != ProcessType.EMBEDDED_HOST_CONTROLLER) {
                 // Install the server > host operation handler
                 ServerToHostOperationHandlerFactoryService.install(serviceTarget, ServerInventoryService.SERVICE_NAME,
-                        getExecutorService(), new InternalExecutor(), this, expressionResolver, environment.getDomainTempDir());
+                        getExecutorService(), new InternalExecutor(), this, expressionResolver, environment.getDomainTempDir(),
+                        hostControllerConfigurationPersister.getServerBootOperationsCache());
 
                 // demand native mgmt services
                 final ServiceBuilder nativeSB = serviceTarget.addService(ServiceName.JBOSS.append("native-mgmt-startup"), Service.NULL);
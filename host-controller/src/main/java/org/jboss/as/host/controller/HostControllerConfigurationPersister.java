@@ -40,6 +40,8 @@ import org.jboss.as.controller.persistence.ConfigurationPersistenceException;
 import org.jboss.as.controller.persistence.ExtensibleConfigurationPersister;
 import org.jboss.as.controller.persistence.SubsystemMarshallingContext;
 import org.jboss.as.domain.controller.LocalHostControllerInfo;
+import org.jboss.as.domain.controller.operations.DomainModelChangeLog;
+import org.jboss.as.domain.controller.operations.DomainModelDescriptionCache;
 import org.jboss.as.host.controller.logging.HostControllerLogger;
 import org.jboss.dmr.ModelNode;
 import org.jboss.staxmapper.XMLElementWriter;
@@ -59,6 +61,9 @@ public class HostControllerConfigurationPersister implements ExtensibleConfigura
     private final ExecutorService executorService;
     private final ExtensionRegistry hostExtensionRegistry;
     private final ExtensionRegistry extensionRegistry;
+    private final DomainModelDescriptionCache domainModelDescriptionCache = new DomainModelDescriptionCache();
+    private final DomainModelChangeLog domainModelChangeLog = new DomainModelChangeLog();
+    private final ManagedServerBootOperationsCache serverBootOperationsCache = new ManagedServerBootOperationsCache();
     private Boolean slave;
 
     public HostControllerConfigurationPersister(final HostControllerEnvironment environment, final LocalHostControllerInfo localHostControllerInfo,
@@ -160,10 +165,15 @@ public class HostControllerConfigurationPersister implements ExtensibleConfigura
         return new PersistenceResource() {
             @Override
             public void commit() {
+                if (delegates[0] != null || delegates[1] != null) {
+                    serverBootOperationsCache.invalidate();
+                }
                 if (delegates[0] != null) {
                     delegates[0].commit();
                 }
                 if (delegates[1] != null) {
+                    domainModelDescriptionCache.invalidate();
+                    domainModelChangeLog.recordCommit(affectedAddresses);
                     delegates[1].commit();
                 }
             }
@@ -180,6 +190,36 @@ public class HostControllerConfigurationPersister implements ExtensibleConfigura
         };
     }
 
+    /**
+     * Gets the cache of the domain model descriptions sent to registering slave hosts, which is invalidated each time
+     * a change to the domain model is stored.
+     *
+     * @return the cache
+     */
+    public DomainModelDescriptionCache getDomainModelDescriptionCache() {
+        return domainModelDescriptionCache;
+    }
+
+    /**
+     * Gets the log of the changes stored to the domain model, used to tell reconnecting slave hosts whether their copy
+     * of the domain model is still current.
+     *
+     * @return the change log
+     */
+    public DomainModelChangeLog getDomainModelChangeLog() {
+        return domainModelChangeLog;
+    }
+
+    /**
+     * Gets the cache of the boot operations sent to the managed servers of this host, which is invalidated each time a
+     * change to the host or domain model is stored.
+     *
+     * @return the cache
+     */
+    public ManagedServerBootOperationsCache getServerBootOperationsCache() {
+        return serverBootOperationsCache;
+    }
+
     @Override
     public void marshallAsXml(ModelNode model, OutputStream output) throws ConfigurationPersistenceException {
         throw new UnsupportedOperationException();
@@ -219,6 +259,14 @@ public class HostControllerConfigurationPersister implements ExtensibleConfigura
         }
     }
 
+    @Override
+    public void flush() throws ConfigurationPersistenceException {
+        hostPersister.flush();
+        if (domainPersister != null) {
+            domainPersister.flush();
+        }
+    }
+
     @Override
     public String snapshot(String name, String comment) throws ConfigurationPersistenceException {
         throw new UnsupportedOperationException();
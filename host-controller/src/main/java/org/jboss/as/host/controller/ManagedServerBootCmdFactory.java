@@ -116,6 +116,7 @@ public class ManagedServerBootCmdFactory implements ManagedServerBootConfigurati
     private final ModelNode hostModel;
     private final ModelNode serverModel;
     private final ModelNode serverGroup;
+    private final String serverGroupName;
     private final JvmElement jvmElement;
     private final HostControllerEnvironment environment;
     private final boolean managementSubsystemEndpoint;
@@ -135,7 +136,7 @@ public class ManagedServerBootCmdFactory implements ManagedServerBootConfigurati
         this.suspend = suspend;
         this.serverModel = resolveExpressions(hostModel.require(SERVER_CONFIG).require(serverName), expressionResolver, true);
         this.directoryGrouping = resolveDirectoryGrouping(hostModel, expressionResolver);
-        final String serverGroupName = serverModel.require(GROUP).asString();
+        this.serverGroupName = serverModel.require(GROUP).asString();
         this.serverGroup = resolveExpressions(domainModel.require(SERVER_GROUP).require(serverGroupName), expressionResolver, true);
 
         String serverVMName = null;
@@ -304,7 +305,13 @@ public class ManagedServerBootCmdFactory implements ManagedServerBootConfigurati
             command.add("-D[" + ManagedServer.getServerProcessId(processId) + "]");
         }
 
-        JvmOptionsBuilderFactory.getInstance(localJvmType).addOptions(jvmElement, command);
+        final List<String> jvmOptions = new ArrayList<String>();
+        JvmOptionsBuilderFactory.getInstance(localJvmType).addOptions(jvmElement, jvmOptions);
+        command.addAll(jvmOptions);
+
+        if (forLaunch) {
+            ManagedServerClassDataSharing.addOptions(serverName, serverGroupName, localJvmType.getJavaExecutable(), jvmOptions, environment, command);
+        }
 
         Map<String, String> bootTimeProperties = getAllSystemProperties(true);
         // Add in properties passed in to the ProcessController command line
@@ -0,0 +1,159 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.host.controller;
+
+import static org.jboss.as.host.controller.logging.HostControllerLogger.ROOT_LOGGER;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.repository.ContentReference;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Caches the boot operations sent to the managed servers of this host controller when they register.
+ * <p>
+ * Creating the boot operations of a server means reading the whole domain model, describing the profile of the server
+ * and resolving expressions, all while holding the controller lock. When many servers of a host are restarted at
+ * the same time, this is done once per server although nothing changed in between. The boot operations are thus
+ * cached per server, in the serialized form they are sent in, and are all discarded whenever a change to the host or
+ * domain model is committed. The deployment content they use is cached along with them, as it still has to be fetched
+ * when missing from the local repository, e.g. if it was removed since.
+ * <p>
+ * The cache is enabled by setting the {@code jboss.host.server-boot-operations-cache} system property to
+ * {@code true}.
+ */
+public final class ManagedServerBootOperationsCache {
+
+    private final boolean enabled;
+    // GuardedBy bootOperations
+    private final Map<String, Entry> bootOperations = new HashMap<>();
+    // GuardedBy bootOperations
+    private long generation;
+
+    public ManagedServerBootOperationsCache() {
+        this(Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged("jboss.host.server-boot-operations-cache", "false")));
+    }
+
+    ManagedServerBootOperationsCache(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets the current generation of the host and domain models, which changes each time the cache is
+     * {@link #invalidate() invalidated}.
+     * <p>
+     * The changed model is published before the cache is invalidated, and an operation context reads the model when it
+     * is created, so the generation boot operations get cached under must be read before the operation creating them
+     * is executed.
+     *
+     * @return the generation
+     */
+    public long getGeneration() {
+        synchronized (bootOperations) {
+            return generation;
+        }
+    }
+
+    /**
+     * Gets the cached boot operations of a server.
+     *
+     * @param serverName the name of the server
+     * @return the boot operations, or {@code null} if they need to be created
+     */
+    public Entry get(final String serverName) {
+        final Entry result;
+        synchronized (bootOperations) {
+            result = bootOperations.get(serverName);
+        }
+        if (result != null) {
+            ROOT_LOGGER.debugf("Reusing the cached boot operations of server %s", serverName);
+        }
+        return result;
+    }
+
+    /**
+     * Caches the boot operations of a server, unless the model changed since they were created.
+     *
+     * @param serverName the name of the server
+     * @param generation the {@link #getGeneration() generation} of the model the boot operations were created from
+     * @param serializedBootOperations the serialized boot operations, which must not be modified afterwards
+     * @param deploymentContent the deployment content used by the boot operations
+     * @param creationNanos the time it took to create the boot operations, in nanoseconds
+     */
+    public void put(final String serverName, final long generation, final byte[] serializedBootOperations,
+                    final List<ContentReference> deploymentContent, final long creationNanos) {
+        ROOT_LOGGER.debugf("Created the boot operations of server %s in %d ms", serverName, TimeUnit.NANOSECONDS.toMillis(creationNanos));
+        if (!enabled) {
+            return;
+        }
+        synchronized (bootOperations) {
+            if (generation == this.generation) {
+                bootOperations.put(serverName, new Entry(serializedBootOperations, deploymentContent));
+            }
+        }
+    }
+
+    /**
+     * Discards all cached boot operations. Called when a change to the host or domain model is committed.
+     */
+    public void invalidate() {
+        synchronized (bootOperations) {
+            generation++;
+            bootOperations.clear();
+        }
+    }
+
+    /**
+     * The cached boot operations of a server.
+     */
+    public static final class Entry {
+        private final byte[] bootOperations;
+        private final List<ContentReference> deploymentContent;
+
+        private Entry(final byte[] bootOperations, final List<ContentReference> deploymentContent) {
+            this.bootOperations = bootOperations;
+            this.deploymentContent = deploymentContent;
+        }
+
+        /**
+         * Gets the serialized boot operations.
+         *
+         * @return the serialized boot operations, which must not be modified
+         */
+        public byte[] getBootOperations() {
+            return bootOperations;
+        }
+
+        /**
+         * Gets the deployment content used by the boot operations.
+         *
+         * @return the references to the content
+         */
+        public List<ContentReference> getDeploymentContent() {
+            return deploymentContent;
+        }
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.host.controller;
+
+import static org.jboss.as.host.controller.logging.HostControllerLogger.ROOT_LOGGER;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.wildfly.core.launcher.Jvm;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Creates and reuses class data sharing archives for the managed servers of a server group.
+ * <p>
+ * Class data sharing is enabled with the {@code jboss.domain.server.class-data-sharing} system property of the host
+ * controller, set either to {@code true} for all server groups or to a comma separated list of server group names.
+ * When the first server of a group is launched, the JVM is asked to archive the classes it loaded when it exits. The
+ * archive is then used by the following launches of the servers of the group. Archives are stored in the
+ * {@code cds} directory of the domain data directory, and are named after the server group, a fingerprint of
+ * the JVM and the modules, and a fingerprint of the JVM options, so that a new archive is created when any of them
+ * changes.
+ * <p>
+ * Dynamic archives require a JVM supporting {@code -XX:ArchiveClassesAtExit}, that is a HotSpot JVM of Java 13 or
+ * later, which the launcher checks by listing the options of the JVM. Servers launched with other JVMs are launched
+ * as if class data sharing was disabled.
+ */
+final class ManagedServerClassDataSharing {
+
+    private static final String ENABLED_PROPERTY = "jboss.domain.server.class-data-sharing";
+    private static final String ARCHIVE_DIR = "cds";
+    private static final String ARCHIVE_SUFFIX = ".jsa";
+    private static final String CREATION_SUFFIX = ".tmp";
+
+    private static final boolean ALL_GROUPS;
+    private static final Set<String> ENABLED_GROUPS;
+
+    static {
+        final String value = WildFlySecurityManager.getPropertyPrivileged(ENABLED_PROPERTY, "false").trim();
+        ALL_GROUPS = Boolean.parseBoolean(value);
+        if (ALL_GROUPS || value.isEmpty() || "false".equalsIgnoreCase(value)) {
+            ENABLED_GROUPS = Collections.emptySet();
+        } else {
+            final Set<String> groups = new HashSet<>();
+            for (String group : value.split(",")) {
+                if (!group.trim().isEmpty()) {
+                    groups.add(group.trim());
+                }
+            }
+            ENABLED_GROUPS = Collections.unmodifiableSet(groups);
+        }
+    }
+
+    /** The fingerprints of the java executables and module paths */
+    private static final Map<List<String>, String> FINGERPRINTS = new ConcurrentHashMap<>();
+    /** The servers being launched, by name */
+    private static final Map<String, Launch> LAUNCHES = new ConcurrentHashMap<>();
+    /** The boot times of the servers that created the archives, by archive */
+    private static final Map<File, Long> CREATION_BOOT_TIMES = new ConcurrentHashMap<>();
+    /** The servers creating the archives, by archive. GuardedBy ManagedServerClassDataSharing.class */
+    private static final Map<File, String> CREATIONS = new HashMap<>();
+
+    private ManagedServerClassDataSharing() {
+    }
+
+    /**
+     * Adds the options to create or use the archive of a server group to the command launching one of its servers.
+     *
+     * @param serverName the name of the server
+     * @param serverGroup the name of the server group of the server
+     * @param javaExecutable the java executable launching the server
+     * @param jvmOptions the options of the JVM launching the server
+     * @param environment the environment of the host controller
+     * @param command the command launching the server
+     */
+    static void addOptions(final String serverName, final String serverGroup, final String javaExecutable,
+                           final List<String> jvmOptions, final HostControllerEnvironment environment,
+                           final List<String> command) {
+        if (!ALL_GROUPS && !ENABLED_GROUPS.contains(serverGroup)) {
+            return;
+        }
+        if (!Jvm.supportsDynamicArchives(javaExecutable)) {
+            ROOT_LOGGER.debugf("Not using class data sharing for server %s as %s does not support dynamic archives", serverName, javaExecutable);
+            return;
+        }
+        final String jvmFingerprint = getJvmFingerprint(javaExecutable, environment);
+        final File archive = new File(new File(environment.getDomainDataDir(), ARCHIVE_DIR),
+                serverGroup + "-" + jvmFingerprint + "-" + Integer.toHexString(jvmOptions.hashCode()) + ARCHIVE_SUFFIX);
+        final boolean creation;
+        synchronized (ManagedServerClassDataSharing.class) {
+            if (archive.isFile()) {
+                command.add("-XX:SharedArchiveFile=" + archive.getAbsolutePath());
+                creation = false;
+            } else if (!CREATIONS.containsKey(archive)) {
+                // Let the JVM write the archive to a file of its own, which is only moved once the server stopped
+                final File creationFile = getCreationFile(archive, serverName);
+                try {
+                    Files.createDirectories(archive.toPath().getParent());
+                    Files.deleteIfExists(creationFile.toPath());
+                } catch (IOException e) {
+                    ROOT_LOGGER.debugf(e, "Not using class data sharing for server %s", serverName);
+                    return;
+                }
+                deleteOutdatedFiles(serverGroup, jvmFingerprint, archive.getParentFile());
+                CREATIONS.put(archive, serverName);
+                command.add("-XX:ArchiveClassesAtExit=" + creationFile.getAbsolutePath());
+                creation = true;
+            } else {
+                // Another server of the group is creating the archive
+                return;
+            }
+        }
+        LAUNCHES.put(serverName, new Launch(archive, creation));
+    }
+
+    /**
+     * Records the boot time of a server, once it reported it started.
+     *
+     * @param serverName the name of the server
+     */
+    static void serverStarted(final String serverName) {
+        final Launch launch = LAUNCHES.remove(serverName);
+        if (launch == null) {
+            return;
+        }
+        final long bootTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - launch.startTime);
+        if (launch.creation) {
+            CREATION_BOOT_TIMES.put(launch.archive, bootTime);
+            ROOT_LOGGER.debugf("Server %s booted in %d ms while creating the class data sharing archive %s", serverName, bootTime, launch.archive);
+        } else {
+            final Long creationBootTime = CREATION_BOOT_TIMES.get(launch.archive);
+            if (creationBootTime != null) {
+                ROOT_LOGGER.classDataSharingBootTime(serverName, bootTime, launch.archive.getAbsolutePath(), creationBootTime);
+            } else {
+                ROOT_LOGGER.debugf("Server %s booted in %d ms using the class data sharing archive %s", serverName, bootTime, launch.archive);
+            }
+        }
+    }
+
+    /**
+     * Stores the archive created by a server, once its process stopped.
+     *
+     * @param serverName the name of the server
+     */
+    static void serverStopped(final String serverName) {
+        LAUNCHES.remove(serverName);
+        synchronized (ManagedServerClassDataSharing.class) {
+            for (Map.Entry<File, String> entry : CREATIONS.entrySet()) {
+                if (serverName.equals(entry.getValue())) {
+                    final File archive = entry.getKey();
+                    final File creationFile = getCreationFile(archive, serverName);
+                    // The archive is missing if the process did not exit normally, in which case another server can create it
+                    if (creationFile.length() > 0) {
+                        try {
+                            Files.move(creationFile.toPath(), archive.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                        } catch (IOException e) {
+                            ROOT_LOGGER.failedToStoreClassDataSharingArchive(e, archive.getAbsolutePath());
+                        }
+                    }
+                    CREATIONS.remove(archive);
+                    break;
+                }
+            }
+        }
+    }
+
+    private static String getJvmFingerprint(final String javaExecutable, final HostControllerEnvironment environment) {
+        final List<String> key = Arrays.asList(javaExecutable, environment.getModulePath());
+        String fingerprint = FINGERPRINTS.get(key);
+        if (fingerprint == null) {
+            fingerprint = FINGERPRINTS.computeIfAbsent(key, k -> createFingerprint(javaExecutable, environment));
+        }
+        return fingerprint;
+    }
+
+    private static File getCreationFile(final File archive, final String serverName) {
+        return new File(archive.getParentFile(), archive.getName() + "." + serverName + CREATION_SUFFIX);
+    }
+
+    /**
+     * Deletes the archives of a server group created for another JVM or other modules, and the files left by the
+     * servers of the group that did not finish creating an archive, e.g. because the host controller stopped first.
+     * Archives created for other JVM options are kept, as servers of the group may have different options. Invoke with
+     * the class lock held.
+     */
+    static void deleteOutdatedFiles(final String serverGroup, final String jvmFingerprint, final File dir) {
+        final File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            final String name = file.getName();
+            final boolean outdated;
+            if (name.endsWith(ARCHIVE_SUFFIX)) {
+                outdated = isArchiveOf(name, serverGroup) && !name.startsWith(serverGroup + "-" + jvmFingerprint + "-");
+            } else if (name.endsWith(CREATION_SUFFIX)) {
+                final int index = name.indexOf(ARCHIVE_SUFFIX + ".");
+                outdated = index > 0 && isArchiveOf(name.substring(0, index + ARCHIVE_SUFFIX.length()), serverGroup)
+                        && !CREATIONS.containsKey(new File(dir, name.substring(0, index + ARCHIVE_SUFFIX.length())));
+            } else {
+                outdated = false;
+            }
+            if (outdated) {
+                ROOT_LOGGER.debugf("Deleting outdated class data sharing file %s", file);
+                if (!file.delete()) {
+                    ROOT_LOGGER.debugf("Could not delete outdated class data sharing file %s", file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets whether an archive name is the one of a server group, rather than of another group whose name starts with
+     * the same characters.
+     */
+    private static boolean isArchiveOf(final String archiveName, final String serverGroup) {
+        if (!archiveName.startsWith(serverGroup + "-")) {
+            return false;
+        }
+        // Only the two fingerprints may follow the name of the group
+        final String fingerprints = archiveName.substring(serverGroup.length() + 1, archiveName.length() - ARCHIVE_SUFFIX.length());
+        final int index = fingerprints.indexOf('-');
+        return index > 0 && fingerprints.indexOf('-', index + 1) < 0;
+    }
+
+    /**
+     * Creates a fingerprint of a JVM and of the modules it loads, based on the time they were last modified.
+     */
+    private static String createFingerprint(final String javaExecutable, final HostControllerEnvironment environment) {
+        final long[] hash = {javaExecutable.hashCode()};
+        final File executable = new File(javaExecutable);
+        hash[0] = 31 * hash[0] + executable.lastModified();
+        hash[0] = 31 * hash[0] + executable.length();
+        hash[0] = 31 * hash[0] + new File(environment.getHomeDir(), "jboss-modules.jar").lastModified();
+        for (String root : environment.getModulePath().split(File.pathSeparator)) {
+            final Path rootPath = Paths.get(root);
+            if (!Files.isDirectory(rootPath)) {
+                continue;
+            }
+            try {
+                Files.walkFileTree(rootPath, new SimpleFileVisitor<Path>() {
+                    @Override
+                    public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                        if ("module.xml".equals(file.getFileName().toString())) {
+                            hash[0] = 31 * hash[0] + file.toString().hashCode();
+                            hash[0] = 31 * hash[0] + attrs.lastModifiedTime().toMillis();
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            } catch (IOException e) {
+                ROOT_LOGGER.debugf(e, "Failed to read the modules in %s", root);
+            }
+        }
+        return Long.toHexString(hash[0]);
+    }
+
+    private static final class Launch {
+        private final File archive;
+        private final boolean creation;
+        private final long startTime = System.nanoTime();
+
+        private Launch(final File archive, final boolean creation) {
+            this.archive = archive;
+            this.creation = creation;
+        }
+    }
+}
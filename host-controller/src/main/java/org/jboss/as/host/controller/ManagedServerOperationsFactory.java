@@ -103,6 +103,7 @@ import static org.jboss.as.host.controller.ManagedServerBootCmdFactory.resolveEx
 
 import java.io.File;
 import java.util.AbstractList;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -796,10 +797,7 @@ public final class ManagedServerOperationsFactory {
                         if ((content.hasDefined(HASH))) {
                             byte[] hash = content.require(HASH).asBytes();
                             ContentReference reference = ModelContentReference.fromModelAddress(addr, hash);
-                            File[] files = domainController.getLocalFileRepository().getDeploymentFiles(reference);
-                            if (files == null || files.length == 0) {
-                                remoteRepository.getDeploymentFiles(reference);
-                            }
+                            fetchDeploymentContent(reference, domainController, remoteRepository);
                         }
                     }
                 }
@@ -842,11 +840,8 @@ public final class ManagedServerOperationsFactory {
                         final ModelNode contentDetails = content.getValue();
                         byte[] hash = contentDetails.require(CONTENT).asBytes();
                         ContentReference reference = ModelContentReference.fromModelAddress(addr, hash);
-                        File[] files = domainController.getLocalFileRepository().getDeploymentFiles(reference);
-                        if (files == null || files.length == 0) {
-                            if (remoteRepository != null) {
-                                remoteRepository.getDeploymentFiles(reference);
-                            }
+                        if (remoteRepository != null) {
+                            fetchDeploymentContent(reference, domainController, remoteRepository);
                         }
                         addr = PathAddress.pathAddress(PathElement.pathElement(DEPLOYMENT_OVERLAY, name), PathElement.pathElement(CONTENT, contentName));
                         addOp = Util.getEmptyOperation(ADD, addr.toModelNode());
@@ -874,6 +869,58 @@ public final class ManagedServerOperationsFactory {
         }
     }
 
+    /**
+     * Gets the content of the deployments and deployment overlays added by boot operations.
+     *
+     * @param bootUpdates the boot operations of a server
+     * @return the references to the content
+     */
+    public static List<ContentReference> getDeploymentContent(final ModelNode bootUpdates) {
+        final List<ContentReference> result = new ArrayList<ContentReference>();
+        for (ModelNode op : bootUpdates.asList()) {
+            if (!ADD.equals(op.get(OP).asString())) {
+                continue;
+            }
+            final PathAddress address = PathAddress.pathAddress(op.get(OP_ADDR));
+            if (address.size() == 1 && DEPLOYMENT.equals(address.getElement(0).getKey()) && op.hasDefined(CONTENT)) {
+                for (ModelNode content : op.get(CONTENT).asList()) {
+                    if (content.hasDefined(HASH)) {
+                        result.add(ModelContentReference.fromModelAddress(address, content.get(HASH).asBytes()));
+                    }
+                }
+            } else if (address.size() == 2 && DEPLOYMENT_OVERLAY.equals(address.getElement(0).getKey())
+                    && CONTENT.equals(address.getElement(1).getKey()) && op.hasDefined(CONTENT, HASH)) {
+                result.add(ModelContentReference.fromModelAddress(address.getParent(), op.get(CONTENT, HASH).asBytes()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Makes sure the local repository has a copy of deployment content, as creating the boot operations of a server
+     * does, e.g. when boot operations created before are reused.
+     *
+     * @param references the references to the content, as {@link #getDeploymentContent(ModelNode) got} from boot operations
+     * @param domainController the domain controller
+     */
+    public static void fetchDeploymentContent(final List<ContentReference> references, final DomainController domainController) {
+        if (references.isEmpty() || domainController.getLocalHostInfo().isMasterDomainController()) {
+            return;
+        }
+        final HostFileRepository remoteRepository = domainController.getRemoteFileRepository();
+        for (ContentReference reference : references) {
+            fetchDeploymentContent(reference, domainController, remoteRepository);
+        }
+    }
+
+    private static void fetchDeploymentContent(final ContentReference reference, final DomainController domainController,
+                                               final HostFileRepository remoteRepository) {
+        File[] files = domainController.getLocalFileRepository().getDeploymentFiles(reference);
+        if (files == null || files.length == 0) {
+            remoteRepository.getDeploymentFiles(reference);
+        }
+    }
+
     private ModelNode addAddNameAndAddress(ModelNode op, ModelNode address){
         op.get(OP).set(ADD);
         op.get(OP_ADDR).set(address);
@@ -45,6 +45,7 @@ import org.jboss.as.controller.RunningMode;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.remote.TransactionalProtocolClient;
 import org.jboss.as.domain.controller.SlaveRegistrationException;
+import org.jboss.as.domain.controller.operations.ReadMasterDomainModelUtil;
 import org.jboss.as.domain.management.CallbackHandlerFactory;
 import org.jboss.as.domain.management.SecurityRealm;
 import org.jboss.as.host.controller.discovery.DiscoveryOption;
@@ -322,7 +323,11 @@ class RemoteDomainConnection extends FutureManagementChannel {
             return false;
         }
         final List<ModelNode> bootOperations= result.get(ModelDescriptionConstants.RESULT).asList();
-        return callback.applyDomainModel(bootOperations);
+        final ModelNode generation = result.hasDefined(ModelDescriptionConstants.RESPONSE_HEADERS, ReadMasterDomainModelUtil.DOMAIN_MODEL_GENERATION)
+                ? result.get(ModelDescriptionConstants.RESPONSE_HEADERS, ReadMasterDomainModelUtil.DOMAIN_MODEL_GENERATION) : null;
+        final boolean unchanged = result.hasDefined(ModelDescriptionConstants.RESPONSE_HEADERS, ReadMasterDomainModelUtil.DOMAIN_MODEL_UNCHANGED)
+                && result.get(ModelDescriptionConstants.RESPONSE_HEADERS, ReadMasterDomainModelUtil.DOMAIN_MODEL_UNCHANGED).asBoolean();
+        return callback.applyDomainModel(bootOperations, generation, unchanged);
     }
 
     void registered() {
@@ -348,9 +353,11 @@ class RemoteDomainConnection extends FutureManagementChannel {
          * Apply the remote domain model.
          *
          * @param result the read-domain-model operation result
+         * @param generation the generation of the domain model provided by the master, or {@code null} if it did not provide one
+         * @param unchanged {@code true} if the master did not send the domain model, as the local copy is still current
          * @return {@code true} if the model was applied successfully, {@code false} otherwise
          */
-        boolean applyDomainModel(List<ModelNode> result);
+        boolean applyDomainModel(List<ModelNode> result, ModelNode generation, boolean unchanged);
 
         /**
          * Event that the registration was completed.
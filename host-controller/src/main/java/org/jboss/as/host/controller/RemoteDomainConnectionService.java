@@ -82,6 +82,7 @@ import org.jboss.as.domain.controller.DomainController;
 import org.jboss.as.domain.controller.LocalHostControllerInfo;
 import org.jboss.as.domain.controller.SlaveRegistrationException;
 import org.jboss.as.domain.controller.operations.FetchMissingConfigurationHandler;
+import org.jboss.as.domain.controller.operations.ReadMasterDomainModelUtil;
 import org.jboss.as.domain.controller.operations.SyncDomainModelOperationHandler;
 import org.jboss.as.domain.controller.operations.SyncServerGroupOperationHandler;
 import org.jboss.as.domain.controller.operations.coordination.DomainControllerLockIdUtils;
@@ -196,6 +197,11 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
     private ManagementChannelHandler handler;
     private volatile ResponseAttachmentInputStreamSupport responseAttachmentSupport;
     private volatile RemoteDomainConnection connection;
+    // The host info sent with the last registration request
+    private volatile ModelNode requestedHostInfo;
+    // The host info and the generation of the domain model the local copy was last synchronized with
+    private volatile ModelNode syncedHostInfo;
+    private volatile ModelNode syncedDomainModelGeneration;
 
     private RemoteDomainConnectionService(final ModelController controller,
                                           final ExtensionRegistry extensionRegistry,
@@ -531,7 +537,15 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
                  */
                 @Override
                 public ModelNode createLocalHostInfo() {
-                    return HostInfo.createLocalHostHostInfo(localHostInfo, productConfig, ignoredDomainResourceRegistry, ReadRootResourceHandler.grabDomainResource(operationExecutor).getChildren(HOST).iterator().next());
+                    final ModelNode hostInfo = createHostInfoModel();
+                    requestedHostInfo = hostInfo.clone();
+                    // The master can only tell whether the local copy of the domain model is current if it would
+                    // still include the same resources
+                    final ModelNode generation = syncedDomainModelGeneration;
+                    if (generation != null && hostInfo.equals(syncedHostInfo)) {
+                        hostInfo.get(ReadMasterDomainModelUtil.DOMAIN_MODEL_GENERATION).set(generation);
+                    }
+                    return hostInfo;
                 }
 
                 @Override
@@ -540,10 +554,20 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
                 }
 
                 @Override
-                public boolean applyDomainModel(final List<ModelNode> bootOperations) {
-                    // Apply the model..
-                    final HostInfo info = HostInfo.fromModelNode(createLocalHostInfo());
-                    return applyRemoteDomainModel(bootOperations, info);
+                public boolean applyDomainModel(final List<ModelNode> bootOperations, final ModelNode generation, final boolean unchanged) {
+                    final ModelNode hostInfo = requestedHostInfo;
+                    final boolean applied;
+                    if (unchanged) {
+                        HostControllerLogger.ROOT_LOGGER.debug("The domain model did not change since it was last synchronized with the master");
+                        applied = true;
+                    } else {
+                        // Apply the model..
+                        final HostInfo info = HostInfo.fromModelNode(createHostInfoModel());
+                        applied = applyRemoteDomainModel(bootOperations, info);
+                    }
+                    syncedHostInfo = hostInfo;
+                    syncedDomainModelGeneration = applied ? generation : null;
+                    return applied;
                 }
 
                 @Override
@@ -563,6 +587,10 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
         this.handler = handler;
     }
 
+    private ModelNode createHostInfoModel() {
+        return HostInfo.createLocalHostHostInfo(localHostInfo, productConfig, ignoredDomainResourceRegistry, ReadRootResourceHandler.grabDomainResource(operationExecutor).getChildren(HOST).iterator().next());
+    }
+
     /**
      * Resolve the subsystem versions.
      *
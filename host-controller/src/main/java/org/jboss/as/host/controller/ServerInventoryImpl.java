@@ -619,6 +619,7 @@ public class ServerInventoryImpl implements ServerInventory {
         // always un-register in case the process exits
         domainController.unregisterRunningServer(server.getServerName());
         server.processFinished();
+        ManagedServerClassDataSharing.serverStopped(serverName);
         synchronized (shutdownCondition) {
             shutdownCondition.notifyAll();
         }
@@ -642,6 +643,7 @@ public class ServerInventoryImpl implements ServerInventory {
             return;
         }
         server.serverStarted(null);
+        ManagedServerClassDataSharing.serverStarted(serverName);
         synchronized (shutdownCondition) {
             shutdownCondition.notifyAll();
         }
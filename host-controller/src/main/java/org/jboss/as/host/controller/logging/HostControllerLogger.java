@@ -1452,4 +1452,12 @@ public interface HostControllerLogger extends BasicLogger {
     @Message(id = 215, value = "Could not find java executable under %s.")
     IllegalStateException cannotFindJavaExe(String binDir);
 
+    @LogMessage(level = INFO)
+    @Message(id = 216, value = "Server %s booted in %d ms using the class data sharing archive %s, compared to %d ms when the archive was created")
+    void classDataSharingBootTime(String serverName, long bootTime, String archive, long creationBootTime);
+
+    @LogMessage(level = WARN)
+    @Message(id = 217, value = "Failed to store the class data sharing archive %s")
+    void failedToStoreClassDataSharingArchive(@Cause Throwable cause, String archive);
+
 }
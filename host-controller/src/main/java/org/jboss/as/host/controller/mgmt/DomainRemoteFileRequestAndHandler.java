@@ -23,6 +23,7 @@ package org.jboss.as.host.controller.mgmt;
 
 import java.util.concurrent.Executor;
 
+import org.jboss.as.repository.FileTransferQueue;
 import org.jboss.as.repository.RemoteFileRequestAndHandler;
 
 /**
@@ -63,4 +64,8 @@ public class DomainRemoteFileRequestAndHandler extends RemoteFileRequestAndHandl
         super(MAPPER, asyncExecutor);
     }
 
+    public DomainRemoteFileRequestAndHandler(Executor asyncExecutor, FileTransferQueue transferQueue) {
+        super(MAPPER, asyncExecutor, transferQueue);
+    }
+
 }
@@ -65,6 +65,8 @@ import org.jboss.as.domain.controller.HostConnectionInfo;
 import org.jboss.as.domain.controller.HostRegistrations;
 import org.jboss.as.domain.controller.SlaveRegistrationException;
 import org.jboss.as.domain.controller.logging.DomainControllerLogger;
+import org.jboss.as.domain.controller.operations.DomainModelChangeLog;
+import org.jboss.as.domain.controller.operations.DomainModelDescriptionCache;
 import org.jboss.as.domain.controller.operations.ReadMasterDomainModelHandler;
 import org.jboss.as.host.controller.logging.HostControllerLogger;
 import org.jboss.as.protocol.StreamUtils;
@@ -114,16 +116,22 @@ public class HostControllerRegistrationHandler implements ManagementRequestHandl
     private final HostRegistrations slaveHostRegistrations;
     private final String address;
     private final DomainHostExcludeRegistry domainHostExcludeRegistry;
+    private final DomainModelDescriptionCache domainModelDescriptionCache;
+    private final DomainModelChangeLog domainModelChangeLog;
 
     public HostControllerRegistrationHandler(ManagementChannelHandler handler, DomainController domainController, OperationExecutor operationExecutor,
                                              Executor registrations, HostRegistrations slaveHostRegistrations,
-                                             DomainHostExcludeRegistry domainHostExcludeRegistry) {
+                                             DomainHostExcludeRegistry domainHostExcludeRegistry,
+                                             DomainModelDescriptionCache domainModelDescriptionCache,
+                                             DomainModelChangeLog domainModelChangeLog) {
         this.handler = handler;
         this.operationExecutor = operationExecutor;
         this.domainController = domainController;
         this.registrationExecutor = registrations;
         this.slaveHostRegistrations = slaveHostRegistrations;
         this.domainHostExcludeRegistry = domainHostExcludeRegistry;
+        this.domainModelDescriptionCache = domainModelDescriptionCache;
+        this.domainModelChangeLog = domainModelChangeLog;
         this.address = HostControllerRegistrationHandler.this.handler.getRemoteAddress().getHostAddress();
     }
 
@@ -369,7 +377,9 @@ public class HostControllerRegistrationHandler implements ManagementRequestHandl
                 // Remotely resolve the subsystem versions and create the transformation
                 registrationContext.processSubsystems(transformers, extensions);
                 // Now run the read-domain model operation
-                final ReadMasterDomainModelHandler handler = new ReadMasterDomainModelHandler(hostInfo, transformers, domainController.getExtensionRegistry(), false);
+                final ReadMasterDomainModelHandler handler = new ReadMasterDomainModelHandler(hostInfo, transformers, domainController.getExtensionRegistry(), false,
+                        domainModelDescriptionCache, registrationContext.descriptionGeneration,
+                        domainModelChangeLog, registrationContext.domainModelGeneration);
                 context.addStep(READ_DOMAIN_MODEL.getOperation(), handler, OperationContext.Stage.MODEL);
 
                 context.completeStep(new OperationContext.ResultHandler() {
@@ -402,6 +412,8 @@ public class HostControllerRegistrationHandler implements ManagementRequestHandl
         private volatile IOTask<?> task;
         private volatile boolean failed;
         private volatile Transformers transformers;
+        private volatile long descriptionGeneration;
+        private volatile ModelNode domainModelGeneration;
         private ActiveOperation<Void, RegistrationContext> activeOperation;
         private final AtomicBoolean completed = new AtomicBoolean();
         private final DomainHostExcludeRegistry domainHostExcludeRegistry;
@@ -484,6 +496,14 @@ public class HostControllerRegistrationHandler implements ManagementRequestHandl
                     // The domain model is going to be sent as part of the prepared notification
 
                     final OperationStepHandler handler = new HostRegistrationStepHandler(extensionRegistry.getTransformerRegistry(), this);
+                    // The operation context reads the domain model when it is created, so read the generations
+                    // before it is, not once it holds the lock
+                    if (domainModelDescriptionCache != null) {
+                        descriptionGeneration = domainModelDescriptionCache.getGeneration();
+                    }
+                    if (domainModelChangeLog != null) {
+                        domainModelGeneration = domainModelChangeLog.getGeneration();
+                    }
                     ModelNode result = operationExecutor.execute(READ_DOMAIN_MODEL, OperationMessageHandler.logging, this, handler);
 
                     if (FAILED.equals(result.get(OUTCOME).asString())) {
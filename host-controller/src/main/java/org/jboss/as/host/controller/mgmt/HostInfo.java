@@ -46,6 +46,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
@@ -125,7 +126,9 @@ public class HostInfo implements Transformers.ResourceIgnoredTransformationRegis
     private final String productName;
     private final String productVersion;
     private final Long remoteConnectionId;
+    private final ModelNode domainModelGeneration;
     private final Transformers.ResourceIgnoredTransformationRegistry ignoredResources;
+    private final ModelNode ignoredResourcesDescription;
     private final boolean ignoreUnaffectedConfig;
     private final Set<ServerConfigInfo> serverConfigInfos;
     private final Set<String> domainIgnoredExtensions;
@@ -144,6 +147,8 @@ public class HostInfo implements Transformers.ResourceIgnoredTransformationRegis
         productVersion = hostInfo.hasDefined(PRODUCT_VERSION) ? hostInfo.require(PRODUCT_VERSION).asString() : null;
         remoteConnectionId = hostInfo.hasDefined(RemoteDomainConnectionService.DOMAIN_CONNECTION_ID)
                 ? hostInfo.get(RemoteDomainConnectionService.DOMAIN_CONNECTION_ID).asLong() : null;
+        domainModelGeneration = hostInfo.hasDefined(ReadMasterDomainModelUtil.DOMAIN_MODEL_GENERATION)
+                ? hostInfo.get(ReadMasterDomainModelUtil.DOMAIN_MODEL_GENERATION) : null;
 
         Set<String> domainIgnoredExtensions = null;
         Set<String> domainActiveServerGroups = null;
@@ -162,7 +167,9 @@ public class HostInfo implements Transformers.ResourceIgnoredTransformationRegis
         }
         this.domainIgnoredExtensions = domainIgnoredExtensions;
 
-        ignoredResources = createIgnoredRegistry(hostInfo, domainIgnoredExtensions);
+        final Map<String, IgnoredType> ignoredTypes = processIgnoredResource(hostInfo, domainIgnoredExtensions);
+        ignoredResources = createIgnoredRegistry(ignoredTypes);
+        ignoredResourcesDescription = describeIgnoredResources(ignoredTypes);
 
         hostDeclaredIgnoreUnaffected = hostInfo.hasDefined(IGNORE_UNUSED_CONFIG) && hostInfo.get(IGNORE_UNUSED_CONFIG).asBoolean();
         ignoreUnaffectedConfig = hostDeclaredIgnoreUnaffected || (domainActiveServerGroups != null && !domainActiveServerGroups.isEmpty());
@@ -217,6 +224,16 @@ public class HostInfo implements Transformers.ResourceIgnoredTransformationRegis
         return remoteConnectionId;
     }
 
+    /**
+     * Gets the generation of the domain model the host last synchronized its copy of the domain model with, if it is
+     * still current on the host.
+     *
+     * @return the generation, or {@code null} if the host needs a full synchronization
+     */
+    public ModelNode getDomainModelGeneration() {
+        return domainModelGeneration;
+    }
+
     public boolean isResourceTransformationIgnored(final PathAddress address) {
         // This resource transformation is only used when registering the host
         // Future operations will send an updated list of ignored-resources
@@ -227,6 +244,16 @@ public class HostInfo implements Transformers.ResourceIgnoredTransformationRegis
         return ignoreUnaffectedConfig;
     }
 
+    /**
+     * Gets a description of the resources ignored by the host at registration, such that hosts ignoring the same
+     * resources have equal descriptions.
+     *
+     * @return the description. Will not be {@code null}
+     */
+    public ModelNode getIgnoredResourcesDescription() {
+        return ignoredResourcesDescription;
+    }
+
     public Set<IgnoredNonAffectedServerGroupsUtil.ServerConfigInfo> getServerConfigInfos() {
         return serverConfigInfos;
     }
@@ -318,12 +345,10 @@ public class HostInfo implements Transformers.ResourceIgnoredTransformationRegis
     }
 
     public static Transformers.ResourceIgnoredTransformationRegistry createIgnoredRegistry(final ModelNode modelNode) {
-        return createIgnoredRegistry(modelNode, null);
+        return createIgnoredRegistry(processIgnoredResource(modelNode, null));
     }
 
-    private static Transformers.ResourceIgnoredTransformationRegistry createIgnoredRegistry(final ModelNode modelNode,
-                                                                                            Set<String> domainIgnoredExtensions) {
-        final Map<String, IgnoredType> ignoredResources = processIgnoredResource(modelNode, domainIgnoredExtensions);
+    private static Transformers.ResourceIgnoredTransformationRegistry createIgnoredRegistry(final Map<String, IgnoredType> ignoredResources) {
         return new Transformers.ResourceIgnoredTransformationRegistry() {
             @Override
             public boolean isResourceTransformationIgnored(PathAddress address) {
@@ -341,6 +366,24 @@ public class HostInfo implements Transformers.ResourceIgnoredTransformationRegis
         };
     }
 
+    private static ModelNode describeIgnoredResources(final Map<String, IgnoredType> ignoredResources) {
+        final ModelNode description = new ModelNode();
+        if (ignoredResources != null) {
+            for (final String type : new TreeSet<>(ignoredResources.keySet())) {
+                final IgnoredType ignoredType = ignoredResources.get(type);
+                final ModelNode typeDescription = description.get(type);
+                if (ignoredType.wildcard) {
+                    typeDescription.get(WILDCARD).set(true);
+                } else if (ignoredType.names != null) {
+                    for (final String name : new TreeSet<>(ignoredType.names)) {
+                        typeDescription.get(NAMES).add(name);
+                    }
+                }
+            }
+        }
+        return description;
+    }
+
     private static Map<String, IgnoredType> processIgnoredResource(final ModelNode model, Set<String> domainIgnoredExtensions) {
         Map<String, IgnoredType> ignoredResources = null;
         if (model.hasDefined(IGNORED_RESOURCES)) {
@@ -40,8 +40,10 @@ import org.jboss.as.protocol.mgmt.ManagementRequestHeader;
 import org.jboss.as.protocol.mgmt.ManagementResponseHeader;
 import org.jboss.as.protocol.mgmt.RequestProcessingException;
 import org.jboss.as.repository.ContentReference;
+import org.jboss.as.repository.FileTransferQueue;
 import org.jboss.as.repository.HostFileRepository;
 import org.jboss.as.repository.RemoteFileRequestAndHandler.RootFileReader;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Handles for requests from slave DC to master DC on the 'domain' channel.
@@ -50,12 +52,21 @@ import org.jboss.as.repository.RemoteFileRequestAndHandler.RootFileReader;
  */
 class MasterDomainControllerOperationHandlerImpl implements ManagementRequestHandlerFactory {
 
+    /**
+     * The maximum number of files sent to a single host at the same time, or 0 for no limit. Keeps one host
+     * pulling many large deployments at once from hogging the master's management threads.
+     */
+    private static final int MAX_CONCURRENT_FILE_TRANSFERS = Integer.parseInt(
+            WildFlySecurityManager.getPropertyPrivileged("jboss.as.domain.max-concurrent-file-transfers-per-host", "0"));
+
     private final DomainController domainController;
     private final Executor asyncExecutor;
+    private final FileTransferQueue fileTransferQueue;
 
     public MasterDomainControllerOperationHandlerImpl(final DomainController domainController, final Executor asyncExecutor) {
         this.domainController = domainController;
         this.asyncExecutor = asyncExecutor;
+        this.fileTransferQueue = MAX_CONCURRENT_FILE_TRANSFERS > 0 ? new FileTransferQueue(MAX_CONCURRENT_FILE_TRANSFERS) : null;
     }
 
     @Override
@@ -95,7 +106,7 @@ class MasterDomainControllerOperationHandlerImpl implements ManagementRequestHan
 
     private class GetFileOperation extends AbstractHostRequestHandler {
 
-        private final DomainRemoteFileRequestAndHandler remoteSupport = new DomainRemoteFileRequestAndHandler(asyncExecutor);
+        private final DomainRemoteFileRequestAndHandler remoteSupport = new DomainRemoteFileRequestAndHandler(asyncExecutor, fileTransferQueue);
 
         @Override
         void handleRequest(String hostId, DataInput input, ActiveOperation.ResultHandler<Void> resultHandler, ManagementRequestContext<Void> context) throws IOException {
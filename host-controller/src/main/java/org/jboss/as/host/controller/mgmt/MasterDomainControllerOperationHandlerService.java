@@ -46,6 +46,8 @@ import org.jboss.as.controller.remote.ResponseAttachmentInputStreamSupport;
 import org.jboss.as.controller.remote.TransactionalProtocolOperationHandler;
 import org.jboss.as.domain.controller.DomainController;
 import org.jboss.as.domain.controller.HostRegistrations;
+import org.jboss.as.domain.controller.operations.DomainModelChangeLog;
+import org.jboss.as.domain.controller.operations.DomainModelDescriptionCache;
 import org.jboss.as.domain.controller.operations.FetchMissingConfigurationHandler;
 import org.jboss.as.domain.controller.operations.coordination.DomainControllerLockIdUtils;
 import org.jboss.as.host.controller.logging.HostControllerLogger;
@@ -77,6 +79,8 @@ public class MasterDomainControllerOperationHandlerService extends AbstractModel
     private final File tempDir;
     private final HostRegistrations slaveHostRegistrations;
     private final DomainHostExcludeRegistry domainHostExcludeRegistry;
+    private final DomainModelDescriptionCache domainModelDescriptionCache;
+    private final DomainModelChangeLog domainModelChangeLog;
 
     public MasterDomainControllerOperationHandlerService(
             final Consumer<AbstractModelControllerOperationHandlerFactoryService> serviceConsumer,
@@ -85,7 +89,8 @@ public class MasterDomainControllerOperationHandlerService extends AbstractModel
             final Supplier<ScheduledExecutorService> scheduledExecutorSupplier,
             final DomainController domainController, final HostControllerRegistrationHandler.OperationExecutor operationExecutor,
             final TransactionalOperationExecutor txOperationExecutor,
-            final File tempDir, final HostRegistrations slaveHostRegistrations, DomainHostExcludeRegistry domainHostExcludeRegistry) {
+            final File tempDir, final HostRegistrations slaveHostRegistrations, DomainHostExcludeRegistry domainHostExcludeRegistry,
+            final DomainModelDescriptionCache domainModelDescriptionCache, final DomainModelChangeLog domainModelChangeLog) {
         super(serviceConsumer, modelControllerSupplier, executorSupplier, scheduledExecutorSupplier);
         this.domainController = domainController;
         this.operationExecutor = operationExecutor;
@@ -93,6 +98,8 @@ public class MasterDomainControllerOperationHandlerService extends AbstractModel
         this.tempDir = tempDir;
         this.slaveHostRegistrations = slaveHostRegistrations;
         this.domainHostExcludeRegistry = domainHostExcludeRegistry;
+        this.domainModelDescriptionCache = domainModelDescriptionCache;
+        this.domainModelChangeLog = domainModelChangeLog;
     }
 
     @Override
@@ -107,7 +114,8 @@ public class MasterDomainControllerOperationHandlerService extends AbstractModel
         handler.getAttachments().attach(ManagementChannelHandler.TEMP_DIR, tempDir);
         // Assemble the request handlers for the domain channel
         handler.addHandlerFactory(new HostControllerRegistrationHandler(handler, domainController, operationExecutor,
-                getExecutor(), slaveHostRegistrations, domainHostExcludeRegistry));
+                getExecutor(), slaveHostRegistrations, domainHostExcludeRegistry, domainModelDescriptionCache,
+                domainModelChangeLog));
         handler.addHandlerFactory(new ModelControllerClientOperationHandler(getController(), handler, getResponseAttachmentSupport(), getClientRequestExecutor()));
         handler.addHandlerFactory(new MasterDomainControllerOperationHandlerImpl(domainController, getExecutor()));
         handler.addHandlerFactory(pongRequestHandler);
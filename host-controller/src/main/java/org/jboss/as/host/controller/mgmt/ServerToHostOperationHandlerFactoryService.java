@@ -32,6 +32,7 @@ import java.util.concurrent.ThreadFactory;
 
 import org.jboss.as.controller.ExpressionResolver;
 import org.jboss.as.domain.controller.DomainController;
+import org.jboss.as.host.controller.ManagedServerBootOperationsCache;
 import org.jboss.as.host.controller.ServerInventory;
 import org.jboss.as.protocol.mgmt.ManagementChannelHandler;
 import org.jboss.as.protocol.mgmt.ManagementClientChannelStrategy;
@@ -65,6 +66,7 @@ public class ServerToHostOperationHandlerFactoryService implements ManagementCha
     private final DomainController domainController;
     private final ExpressionResolver expressionResolver;
     private final File tempDir;
+    private final ManagedServerBootOperationsCache bootOperationsCache;
 
     private final ThreadFactory threadFactory = doPrivileged(new PrivilegedAction<JBossThreadFactory>() {
         public JBossThreadFactory run() {
@@ -73,17 +75,19 @@ public class ServerToHostOperationHandlerFactoryService implements ManagementCha
     });
     private volatile ExecutorService registrations;
 
-    ServerToHostOperationHandlerFactoryService(ExecutorService executorService, ServerToHostProtocolHandler.OperationExecutor operationExecutor, DomainController domainController, ExpressionResolver expressionResolver, File tempDir) {
+    ServerToHostOperationHandlerFactoryService(ExecutorService executorService, ServerToHostProtocolHandler.OperationExecutor operationExecutor, DomainController domainController, ExpressionResolver expressionResolver, File tempDir,
+            ManagedServerBootOperationsCache bootOperationsCache) {
         this.executorService = executorService;
         this.operationExecutor = operationExecutor;
         this.domainController = domainController;
         this.expressionResolver = expressionResolver;
         this.tempDir = tempDir;
+        this.bootOperationsCache = bootOperationsCache;
     }
 
     public static void install(final ServiceTarget serviceTarget, final ServiceName serverInventoryName, ExecutorService executorService, ServerToHostProtocolHandler.OperationExecutor operationExecutor, DomainController domainController,
-            ExpressionResolver expressionResolver, File tempDir) {
-        final ServerToHostOperationHandlerFactoryService serverToHost = new ServerToHostOperationHandlerFactoryService(executorService, operationExecutor, domainController, expressionResolver, tempDir);
+            ExpressionResolver expressionResolver, File tempDir, ManagedServerBootOperationsCache bootOperationsCache) {
+        final ServerToHostOperationHandlerFactoryService serverToHost = new ServerToHostOperationHandlerFactoryService(executorService, operationExecutor, domainController, expressionResolver, tempDir, bootOperationsCache);
         serviceTarget.addService(ServerToHostOperationHandlerFactoryService.SERVICE_NAME, serverToHost)
             .addDependency(serverInventoryName, ServerInventory.class, serverToHost.serverInventory)
             .install();
@@ -116,7 +120,7 @@ public class ServerToHostOperationHandlerFactoryService implements ManagementCha
         final ManagementClientChannelStrategy strategy = ManagementClientChannelStrategy.create(channel);
         final ManagementChannelHandler channelHandler = new ManagementChannelHandler(strategy, executorService);
         channelHandler.getAttachments().attach(ManagementChannelHandler.TEMP_DIR, tempDir);
-        final ServerToHostProtocolHandler registrationHandler = new ServerToHostProtocolHandler(serverInventory.getValue(), operationExecutor, domainController, channelHandler, registrations, expressionResolver);
+        final ServerToHostProtocolHandler registrationHandler = new ServerToHostProtocolHandler(serverInventory.getValue(), operationExecutor, domainController, channelHandler, registrations, expressionResolver, bootOperationsCache);
         channelHandler.addHandlerFactory(new ManagementPongRequestHandler());
         channelHandler.addHandlerFactory(registrationHandler);
         channel.receiveMessage(channelHandler.getReceiver());
@@ -30,7 +30,9 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUC
 import static org.jboss.as.host.controller.logging.HostControllerLogger.ROOT_LOGGER;
 import static org.jboss.as.process.protocol.ProtocolUtils.expectHeader;
 
+import java.io.ByteArrayOutputStream;
 import java.io.DataInput;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
@@ -49,6 +51,7 @@ import org.jboss.as.controller.client.OperationBuilder;
 import org.jboss.as.controller.client.OperationMessageHandler;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.domain.controller.DomainController;
+import org.jboss.as.host.controller.ManagedServerBootOperationsCache;
 import org.jboss.as.host.controller.ManagedServerOperationsFactory;
 import org.jboss.as.host.controller.ServerInventory;
 import org.jboss.as.host.controller.logging.HostControllerLogger;
@@ -97,11 +100,12 @@ public class ServerToHostProtocolHandler implements ManagementRequestHandlerFact
     private final DeploymentFileRepository deploymentFileRepository;
     private final Executor registrations;
     private final ExpressionResolver expressionResolver;
+    private final ManagedServerBootOperationsCache bootOperationsCache;
 
     private volatile String serverProcessName;
 
     ServerToHostProtocolHandler(ServerInventory serverInventory, OperationExecutor operationExecutor, DomainController domainController, ManagementChannelHandler channelHandler, Executor registrations,
-            ExpressionResolver expressionResolver) {
+            ExpressionResolver expressionResolver, ManagedServerBootOperationsCache bootOperationsCache) {
         this.serverInventory = serverInventory;
         this.operationExecutor = operationExecutor;
         this.domainController = domainController;
@@ -109,6 +113,7 @@ public class ServerToHostProtocolHandler implements ManagementRequestHandlerFact
         this.registrations = registrations;
         this.deploymentFileRepository = domainController.getLocalFileRepository();
         this.expressionResolver = expressionResolver;
+        this.bootOperationsCache = bootOperationsCache;
     }
 
     @Override
@@ -182,7 +187,9 @@ public class ServerToHostProtocolHandler implements ManagementRequestHandlerFact
                 @Override
                 public void execute(final ManagementRequestContext<Void> context) throws Exception {
                     try {
-                        final OperationStepHandler stepHandler = new ServerRegistrationStepHandler(serverName, context);
+                        // The operation context reads the model when it is created, so read the generation before it is
+                        final long generation = bootOperationsCache.getGeneration();
+                        final OperationStepHandler stepHandler = new ServerRegistrationStepHandler(serverName, generation, context);
                         final ModelNode result = operationExecutor.joinActiveOperation(EMPTY_OP.getOperation(), OperationMessageHandler.DISCARD, ModelController.OperationTransactionControl.COMMIT, stepHandler, operationId);
                         if(! SUCCESS.equals(result.get(OUTCOME).asString())) {
                             safeWriteResponse(context.getChannel(), context.getRequestHeader(), DomainServerProtocol.PARAM_ERROR);
@@ -205,11 +212,17 @@ public class ServerToHostProtocolHandler implements ManagementRequestHandlerFact
 
         private String serverName;
         private String serverProcessName;
+        private final long generation;
         private ManagementRequestContext<Void> comm;
 
-        ServerRegistrationStepHandler(String serverName, ManagementRequestContext<Void> comm) {
+        /**
+         * @param generation the {@link ManagedServerBootOperationsCache#getGeneration() generation} of the boot
+         *                   operations cache, read before the operation context executing this step was created
+         */
+        ServerRegistrationStepHandler(String serverName, long generation, ManagementRequestContext<Void> comm) {
             this.serverProcessName = serverName;
             this.serverName = serverInventory.getProcessServerName(serverProcessName);
+            this.generation = generation;
             this.comm = comm;
         }
 
@@ -217,12 +230,25 @@ public class ServerToHostProtocolHandler implements ManagementRequestHandlerFact
         public void execute(final OperationContext context, final ModelNode operation) throws OperationFailedException {
             // Lock down the controller
             context.acquireControllerLock();
-            // Read the complete domain model
-            final ModelNode domainModel = Resource.Tools.readModel(context.readResourceFromRoot(PathAddress.EMPTY_ADDRESS, true));
-            // Create the boot updates
-            final String hostControllerName = domainController.getLocalHostInfo().getLocalHostName();
-            final ModelNode hostModel = domainModel.require(HOST).require(hostControllerName);
-            final ModelNode updates = ManagedServerOperationsFactory.createBootUpdates(serverName, domainModel, hostModel, domainController, expressionResolver);
+            // Reuse the boot updates created for a previous registration of the server, unless the model changed since
+            final ManagedServerBootOperationsCache.Entry cached = bootOperationsCache.get(serverName);
+            final byte[] updates;
+            if (cached != null) {
+                // The deployment content may have been removed from the local repository since
+                ManagedServerOperationsFactory.fetchDeploymentContent(cached.getDeploymentContent(), domainController);
+                updates = cached.getBootOperations();
+            } else {
+                final long start = System.nanoTime();
+                // Read the complete domain model
+                final ModelNode domainModel = Resource.Tools.readModel(context.readResourceFromRoot(PathAddress.EMPTY_ADDRESS, true));
+                // Create the boot updates
+                final String hostControllerName = domainController.getLocalHostInfo().getLocalHostName();
+                final ModelNode hostModel = domainModel.require(HOST).require(hostControllerName);
+                final ModelNode bootUpdates = ManagedServerOperationsFactory.createBootUpdates(serverName, domainModel, hostModel, domainController, expressionResolver);
+                updates = serialize(bootUpdates);
+                bootOperationsCache.put(serverName, generation, updates,
+                        ManagedServerOperationsFactory.getDeploymentContent(bootUpdates), System.nanoTime() - start);
+            }
             // Register the remote communication
             final ProxyController controller = serverInventory.serverCommunicationRegistered(serverProcessName, channelHandler);
             try {
@@ -230,7 +256,7 @@ public class ServerToHostProtocolHandler implements ManagementRequestHandlerFact
                 final FlushableDataOutput output = comm.writeMessage(ManagementResponseHeader.create(comm.getRequestHeader()));
                 try {
                     output.write(DomainServerProtocol.PARAM_OK);
-                    updates.writeExternal(output);
+                    output.write(updates);
                     output.close();
                 } finally {
                     StreamUtils.safeClose(output);
@@ -252,6 +278,19 @@ public class ServerToHostProtocolHandler implements ManagementRequestHandlerFact
         }
     }
 
+    /**
+     * Serializes the boot updates the way the server reads them, so they can be cached and sent again as they are.
+     */
+    private static byte[] serialize(final ModelNode updates) throws OperationFailedException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            updates.writeExternal(output);
+        } catch (IOException e) {
+            throw new OperationFailedException(e.getMessage(), e);
+        }
+        return bytes.toByteArray();
+    }
+
     /**
      * Handler responsible for handling server reconnnects.
      */
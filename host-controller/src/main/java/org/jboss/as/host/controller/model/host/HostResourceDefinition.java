@@ -50,6 +50,7 @@ import org.jboss.as.controller.extension.ExtensionRegistry;
 import org.jboss.as.controller.extension.ExtensionRegistryType;
 import org.jboss.as.controller.extension.ExtensionResourceDefinition;
 import org.jboss.as.controller.extension.MutableRootResourceRegistrationProvider;
+import org.jboss.as.controller.operations.common.ConfigurationWriteStatisticsHandler;
 import org.jboss.as.controller.operations.common.NamespaceAddHandler;
 import org.jboss.as.controller.operations.common.NamespaceRemoveHandler;
 import org.jboss.as.controller.operations.common.ProcessStateAttributeHandler;
@@ -397,6 +398,8 @@ public class HostResourceDefinition extends SimpleResourceDefinition {
         hostRegistration.registerOperationHandler(SnapshotDeleteHandler.DEFINITION, snapshotDelete);
         SnapshotListHandler snapshotList = new SnapshotListHandler(configurationPersister.getHostPersister());
         hostRegistration.registerOperationHandler(SnapshotListHandler.DEFINITION, snapshotList);
+        hostRegistration.registerOperationHandler(ConfigurationWriteStatisticsHandler.DEFINITION,
+                new ConfigurationWriteStatisticsHandler(configurationPersister.getHostPersister()));
         SnapshotTakeHandler snapshotTake = new SnapshotTakeHandler(configurationPersister.getHostPersister());
         hostRegistration.registerOperationHandler(SnapshotTakeHandler.DEFINITION, snapshotTake);
 
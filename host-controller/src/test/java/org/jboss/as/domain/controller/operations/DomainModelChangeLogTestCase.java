@@ -0,0 +1,137 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.controller.operations;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HOST;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.IGNORE_UNUSED_CONFIG;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INITIAL_SERVER_GROUPS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT_MAJOR_VERSION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT_MICRO_VERSION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT_MINOR_VERSION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROFILE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RELEASE_CODENAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RELEASE_VERSION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVER_GROUP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.host.controller.mgmt.HostInfo;
+import org.jboss.dmr.ModelNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DomainModelChangeLogTestCase {
+
+    private static final PathAddress PROFILE_ADDRESS = PathAddress.pathAddress(PathElement.pathElement(PROFILE, "default"));
+    private static final PathAddress GROUP_ADDRESS = PathAddress.pathAddress(PathElement.pathElement(SERVER_GROUP, "main"));
+
+    @Test
+    public void testChangesSince() {
+        final DomainModelChangeLog log = new DomainModelChangeLog();
+        final ModelNode initial = log.getGeneration();
+        Assert.assertEquals(Collections.emptySet(), log.getChangesSince(initial));
+
+        log.recordCommit(new HashSet<>(Arrays.asList(
+                PROFILE_ADDRESS.append(SUBSYSTEM, "logging"),
+                PathAddress.pathAddress(PathElement.pathElement(HOST, "slave")))));
+        final ModelNode afterFirst = log.getGeneration();
+        log.recordCommit(Collections.singleton(GROUP_ADDRESS));
+
+        Assert.assertEquals(new HashSet<>(Arrays.asList(PROFILE_ADDRESS, GROUP_ADDRESS)), log.getChangesSince(initial));
+        Assert.assertEquals(Collections.singleton(GROUP_ADDRESS), log.getChangesSince(afterFirst));
+        Assert.assertEquals(Collections.emptySet(), log.getChangesSince(log.getGeneration()));
+    }
+
+    @Test
+    public void testUnknownGeneration() {
+        final DomainModelChangeLog log = new DomainModelChangeLog();
+        final ModelNode other = new DomainModelChangeLog().getGeneration();
+        Assert.assertNull(log.getChangesSince(other));
+        Assert.assertNull(log.getChangesSince(new ModelNode()));
+
+        final ModelNode future = log.getGeneration();
+        future.get(DomainModelChangeLog.GENERATION).set(1L);
+        Assert.assertNull(log.getChangesSince(future));
+    }
+
+    @Test
+    public void testRootChange() {
+        final DomainModelChangeLog log = new DomainModelChangeLog();
+        final ModelNode initial = log.getGeneration();
+        log.recordCommit(Collections.singleton(PathAddress.EMPTY_ADDRESS));
+        final Set<PathAddress> changes = log.getChangesSince(initial);
+        Assert.assertEquals(Collections.singleton(PathAddress.EMPTY_ADDRESS), changes);
+    }
+
+    @Test
+    public void testGenerationReadBeforeContext() throws Exception {
+        final DomainModelChangeLog log = new DomainModelChangeLog();
+        final ModelNode known = log.getGeneration();
+
+        // The registration reads the generation and its context reads the model, then a change is committed
+        // while the context waits for the lock
+        final ModelNode generation = log.getGeneration();
+        log.recordCommit(Collections.singleton(PROFILE_ADDRESS));
+
+        final ModelNode result = new ModelNode();
+        final ModelNode responseHeaders = new ModelNode();
+        final OperationContext context = mock(OperationContext.class);
+        when(context.readResourceFromRoot(PathAddress.EMPTY_ADDRESS)).thenReturn(Resource.Factory.create());
+        when(context.getResult()).thenReturn(result);
+        when(context.getResponseHeaders()).thenReturn(responseHeaders);
+
+        new ReadMasterDomainModelHandler(createHostInfo(known), null, null, false, null, 0, log, generation)
+                .execute(context, new ModelNode());
+
+        // The slave is told the generation of the model it gets, not the one of the change it may not get
+        Assert.assertEquals(generation, responseHeaders.get(ReadMasterDomainModelUtil.DOMAIN_MODEL_GENERATION));
+        Assert.assertFalse(responseHeaders.hasDefined(ReadMasterDomainModelUtil.DOMAIN_MODEL_UNCHANGED));
+        Assert.assertEquals(Collections.singleton(PROFILE_ADDRESS),
+                log.getChangesSince(responseHeaders.get(ReadMasterDomainModelUtil.DOMAIN_MODEL_GENERATION)));
+    }
+
+    private static HostInfo createHostInfo(final ModelNode domainModelGeneration) {
+        final ModelNode hostInfo = new ModelNode();
+        hostInfo.get(NAME).set("slave");
+        hostInfo.get(RELEASE_VERSION).set("1.0.0.Final");
+        hostInfo.get(RELEASE_CODENAME).set("TBD");
+        hostInfo.get(MANAGEMENT_MAJOR_VERSION).set(10);
+        hostInfo.get(MANAGEMENT_MINOR_VERSION).set(0);
+        hostInfo.get(MANAGEMENT_MICRO_VERSION).set(0);
+        hostInfo.get(IGNORE_UNUSED_CONFIG).set(false);
+        hostInfo.get(INITIAL_SERVER_GROUPS).setEmptyObject();
+        hostInfo.get(ReadMasterDomainModelUtil.DOMAIN_MODEL_GENERATION).set(domainModelGeneration);
+        return HostInfo.fromModelNode(hostInfo);
+    }
+}
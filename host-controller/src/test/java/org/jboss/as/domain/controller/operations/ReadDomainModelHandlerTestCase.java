@@ -0,0 +1,139 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.domain.controller.operations;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROFILE;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.ResourceDefinition;
+import org.jboss.as.controller.RunningMode;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.controller.transform.TransformationTarget.TransformationTargetType;
+import org.jboss.as.controller.transform.TransformationTargetImpl;
+import org.jboss.as.controller.transform.TransformerRegistry;
+import org.jboss.as.controller.transform.Transformers;
+import org.jboss.dmr.ModelNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the caching of the described domain model by {@link ReadDomainModelHandler}.
+ */
+public class ReadDomainModelHandlerTestCase {
+
+    private static final ResourceDefinition ROOT = new SimpleResourceDefinition(PathElement.pathElement("test"), new NonResolvingResourceDescriptionResolver());
+
+    private final ManagementResourceRegistration registration = ManagementResourceRegistration.Factory.forProcessType(ProcessType.EMBEDDED_SERVER).createRegistration(ROOT);
+    private final Transformers transformers = Transformers.Factory.create(TransformationTargetImpl.create(null, TransformerRegistry.Factory.create(),
+            ModelVersion.create(1), Collections.<PathAddress, ModelVersion>emptyMap(), TransformationTargetType.DOMAIN));
+    private final DomainModelDescriptionCache cache = new DomainModelDescriptionCache();
+    private final ModelNode key = new ModelNode("key");
+
+    @Test
+    public void testReuseDescription() throws Exception {
+        final long generation = cache.getGeneration();
+        final List<ModelNode> first = readDomainModel(createRoot("one"), generation);
+        Assert.assertEquals(0, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+
+        // The second registration gets the cached description rather than describing its own model
+        final List<ModelNode> second = readDomainModel(createRoot("two"), generation);
+        Assert.assertEquals(first, second);
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testInvalidate() throws Exception {
+        final List<ModelNode> first = readDomainModel(createRoot("one"), cache.getGeneration());
+        cache.invalidate();
+
+        final List<ModelNode> second = readDomainModel(createRoot("two"), cache.getGeneration());
+        Assert.assertNotEquals(first, second);
+        Assert.assertEquals(0, cache.getHitCount());
+        Assert.assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void testModelReadBeforeConcurrentChange() throws Exception {
+        // The generation is read and the context created with the current model, then a change is committed
+        // while the context waits for the lock
+        final long generation = cache.getGeneration();
+        final Resource stale = createRoot("one");
+        cache.invalidate();
+
+        final List<ModelNode> staleDescription = readDomainModel(stale, generation);
+        Assert.assertEquals(createRoot("one").getChild(PathElement.pathElement(PROFILE, "one")).getModel(),
+                findProfile(staleDescription, "one"));
+
+        // The description of the stale model was not cached under the new generation
+        final List<ModelNode> current = readDomainModel(createRoot("two"), cache.getGeneration());
+        Assert.assertNotEquals(staleDescription, current);
+        Assert.assertNotNull(findProfile(current, "two"));
+        Assert.assertEquals(0, cache.getHitCount());
+    }
+
+    private List<ModelNode> readDomainModel(final Resource root, final long generation) throws Exception {
+        final ModelNode result = new ModelNode();
+        final OperationContext context = mock(OperationContext.class);
+        when(context.readResourceFromRoot(PathAddress.EMPTY_ADDRESS, true)).thenReturn(root);
+        when(context.getRootResourceRegistration()).thenReturn(registration);
+        when(context.getProcessType()).thenReturn(ProcessType.HOST_CONTROLLER);
+        when(context.getRunningMode()).thenReturn(RunningMode.NORMAL);
+        when(context.getResult()).thenReturn(result);
+
+        new ReadDomainModelHandler(null, transformers, false, cache, key, generation).execute(context, new ModelNode());
+        return result.asList();
+    }
+
+    private static Resource createRoot(final String profileName) {
+        final Resource root = Resource.Factory.create();
+        final Resource profile = Resource.Factory.create();
+        profile.getModel().get("name").set(profileName);
+        root.registerChild(PathElement.pathElement(PROFILE, profileName), profile);
+        return root;
+    }
+
+    private static ModelNode findProfile(final List<ModelNode> describedResources, final String profileName) {
+        final PathAddress address = PathAddress.pathAddress(PathElement.pathElement(PROFILE, profileName));
+        for (final ModelNode described : describedResources) {
+            if (address.equals(PathAddress.pathAddress(described.get(ReadMasterDomainModelUtil.DOMAIN_RESOURCE_ADDRESS)))) {
+                return described.get(ReadMasterDomainModelUtil.DOMAIN_RESOURCE_MODEL);
+            }
+        }
+        return null;
+    }
+}
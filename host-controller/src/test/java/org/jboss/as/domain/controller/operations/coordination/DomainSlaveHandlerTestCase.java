@@ -0,0 +1,142 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.domain.controller.operations.coordination;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.ProxyController;
+import org.jboss.as.controller.transform.OperationResultTransformer;
+import org.jboss.as.controller.transform.OperationTransformer;
+import org.jboss.dmr.ModelNode;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of {@link DomainSlaveHandler}.
+ */
+public class DomainSlaveHandlerTestCase {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testAllHostsRecorded() {
+        final Map<String, HostControllerUpdateTask> tasks = new LinkedHashMap<>();
+        for (int i = 0; i < 10; i++) {
+            tasks.put("host" + i, new TestTask("host" + i, null, null));
+        }
+        final Map<String, HostControllerUpdateTask.ExecutedHostRequest> finalResults = new ConcurrentHashMap<>();
+
+        createHandler().executeTasks(tasks, new HostControllerUpdateTask.ProxyOperationListener(), finalResults);
+
+        Assert.assertEquals(tasks.keySet(), finalResults.keySet());
+    }
+
+    @Test
+    public void testFailingHost() throws Exception {
+        // A host is still being sent the operation when sending it to another one fails
+        final CountDownLatch sending = new CountDownLatch(1);
+        final CountDownLatch failed = new CountDownLatch(1);
+        final Map<String, HostControllerUpdateTask> tasks = new LinkedHashMap<>();
+        tasks.put("slow", new TestTask("slow", sending, failed));
+        tasks.put("failing", new TestTask("failing", null, null) {
+            @Override
+            public ExecutedHostRequest execute(final ProxyOperationListener listener) {
+                try {
+                    sending.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                failed.countDown();
+                throw new IllegalStateException("failing");
+            }
+        });
+        final Map<String, HostControllerUpdateTask.ExecutedHostRequest> finalResults = new ConcurrentHashMap<>();
+
+        try {
+            createHandler().executeTasks(tasks, new HostControllerUpdateTask.ProxyOperationListener(), finalResults);
+            Assert.fail("Sending the operation to a failing host should fail");
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("failing", e.getMessage());
+        }
+        // The slow host got the operation, so its request must be recorded for it to be cancelled
+        Assert.assertEquals(Collections.singleton("slow"), finalResults.keySet());
+    }
+
+    @Test
+    public void testClearLatencies() {
+        final SlaveHostLatencyStatistics statistics = new SlaveHostLatencyStatistics();
+        statistics.record("cleared", TimeUnit.MILLISECONDS.toNanos(3));
+        Assert.assertEquals(1, statistics.getLatency("cleared").get(SlaveHostLatencyStatistics.COUNT).asInt());
+        // Each domain controller keeps its own statistics
+        Assert.assertFalse(new SlaveHostLatencyStatistics().getLatency("cleared").isDefined());
+
+        statistics.clear("cleared");
+        Assert.assertFalse(statistics.getLatency("cleared").isDefined());
+        Assert.assertFalse(statistics.getHistogram("cleared").isDefined());
+    }
+
+    private DomainSlaveHandler createHandler() {
+        return new DomainSlaveHandler(Collections.<String, ProxyController>emptyMap(), new MultiphaseOverallContext(null), executor);
+    }
+
+    private static class TestTask extends HostControllerUpdateTask {
+
+        private final CountDownLatch sending;
+        private final CountDownLatch proceed;
+
+        TestTask(final String name, final CountDownLatch sending, final CountDownLatch proceed) {
+            super(name, new ModelNode(), null, null, null);
+            this.sending = sending;
+            this.proceed = proceed;
+        }
+
+        @Override
+        public ExecutedHostRequest execute(final ProxyOperationListener listener) {
+            if (sending != null) {
+                sending.countDown();
+                try {
+                    proceed.await(10, TimeUnit.SECONDS);
+                    // Still sending the operation after the other host failed
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return new ExecutedHostRequest(null, OperationResultTransformer.ORIGINAL_RESULT, OperationTransformer.DEFAULT_REJECTION_POLICY);
+        }
+    }
+}
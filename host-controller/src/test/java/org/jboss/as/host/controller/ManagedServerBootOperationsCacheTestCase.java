@@ -0,0 +1,102 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.host.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CONTENT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DEPLOYMENT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DEPLOYMENT_OVERLAY;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HASH;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SYSTEM_PROPERTY;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.repository.ContentReference;
+import org.jboss.as.server.deployment.ModelContentReference;
+import org.jboss.dmr.ModelNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ManagedServerBootOperationsCacheTestCase {
+
+    private static final byte[] BOOT_OPERATIONS = {1, 2, 3};
+    private static final List<ContentReference> CONTENT = Collections.<ContentReference>singletonList(
+            ModelContentReference.fromModelAddress(PathAddress.pathAddress(DEPLOYMENT, "test.war"), BOOT_OPERATIONS));
+
+    @Test
+    public void testInvalidate() {
+        final ManagedServerBootOperationsCache cache = new ManagedServerBootOperationsCache(true);
+        Assert.assertNull(cache.get("server-one"));
+        cache.put("server-one", cache.getGeneration(), BOOT_OPERATIONS, CONTENT, 0L);
+        final ManagedServerBootOperationsCache.Entry entry = cache.get("server-one");
+        Assert.assertSame(BOOT_OPERATIONS, entry.getBootOperations());
+        Assert.assertSame(CONTENT, entry.getDeploymentContent());
+        Assert.assertNull(cache.get("server-two"));
+
+        cache.invalidate();
+        Assert.assertNull(cache.get("server-one"));
+    }
+
+    @Test
+    public void testDisabled() {
+        final ManagedServerBootOperationsCache cache = new ManagedServerBootOperationsCache(false);
+        cache.put("server-one", cache.getGeneration(), BOOT_OPERATIONS, CONTENT, 0L);
+        Assert.assertNull(cache.get("server-one"));
+    }
+
+    @Test
+    public void testStaleBootOperations() {
+        final ManagedServerBootOperationsCache cache = new ManagedServerBootOperationsCache(true);
+        final long generation = cache.getGeneration();
+        // The model changed while the boot operations were being created
+        cache.invalidate();
+        cache.put("server-one", generation, BOOT_OPERATIONS, CONTENT, 0L);
+        Assert.assertNull(cache.get("server-one"));
+    }
+
+    @Test
+    public void testDeploymentContent() {
+        final byte[] deploymentHash = {1, 2, 3};
+        final byte[] overlayHash = {4, 5, 6};
+        final PathAddress deploymentAddress = PathAddress.pathAddress(DEPLOYMENT, "test.war");
+        final PathAddress overlayAddress = PathAddress.pathAddress(DEPLOYMENT_OVERLAY, "test-overlay");
+
+        final ModelNode bootUpdates = new ModelNode().setEmptyList();
+        bootUpdates.add(Util.createAddOperation(PathAddress.pathAddress(SYSTEM_PROPERTY, "test")));
+        final ModelNode deploymentAdd = Util.createAddOperation(deploymentAddress);
+        deploymentAdd.get(CONTENT).add().get(HASH).set(deploymentHash);
+        bootUpdates.add(deploymentAdd);
+        bootUpdates.add(Util.createAddOperation(overlayAddress));
+        final ModelNode overlayContentAdd = Util.createAddOperation(overlayAddress.append(CONTENT, "WEB-INF/web.xml"));
+        overlayContentAdd.get(CONTENT, HASH).set(overlayHash);
+        bootUpdates.add(overlayContentAdd);
+        bootUpdates.add(Util.createAddOperation(overlayAddress.append(DEPLOYMENT, "test.war")));
+
+        Assert.assertEquals(Arrays.asList(ModelContentReference.fromModelAddress(deploymentAddress, deploymentHash),
+                ModelContentReference.fromModelAddress(overlayAddress, overlayHash)),
+                ManagedServerOperationsFactory.getDeploymentContent(bootUpdates));
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.host.controller;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests of {@link ManagedServerClassDataSharing}.
+ */
+public class ManagedServerClassDataSharingTestCase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testDeleteOutdatedFiles() throws IOException {
+        final File dir = folder.newFolder("cds");
+        final String[] kept = {
+                // The current archives of the group, for different JVM options
+                "main-server-group-1a2b-3c.jsa",
+                "main-server-group-1a2b-4d.jsa",
+                // The archives of other groups
+                "main-server-group-other-5e6f-3c.jsa",
+                "other-server-group-5e6f-3c.jsa",
+                "other-server-group-5e6f-3c.jsa.server-three.tmp",
+                "main-server-group-other-5e6f-3c.jsa.server-four.tmp",
+                "unrelated.txt"
+        };
+        final String[] deleted = {
+                // Archives created for another JVM or other modules
+                "main-server-group-9f8e-3c.jsa",
+                // Archives left by servers that did not finish creating them
+                "main-server-group-1a2b-3c.jsa.server-one.tmp",
+                "main-server-group-9f8e-3c.jsa.server-two.tmp"
+        };
+        for (String name : kept) {
+            Assert.assertTrue(new File(dir, name).createNewFile());
+        }
+        for (String name : deleted) {
+            Assert.assertTrue(new File(dir, name).createNewFile());
+        }
+
+        ManagedServerClassDataSharing.deleteOutdatedFiles("main-server-group", "1a2b", dir);
+
+        final Set<String> remaining = new HashSet<>(Arrays.asList(dir.list()));
+        Assert.assertEquals(new HashSet<>(Arrays.asList(kept)), remaining);
+    }
+}
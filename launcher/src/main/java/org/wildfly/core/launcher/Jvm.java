@@ -27,6 +27,8 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -38,7 +40,7 @@ import org.wildfly.core.launcher.logger.LauncherMessages;
  *
  * @author <a href="mailto:jperkins@redhat.com">James R. Perkins</a>
  */
-class Jvm {
+public class Jvm {
     private static final String JAVA_EXE;
     private static final Path JAVA_HOME;
     private static final boolean MODULAR_JVM;
@@ -69,6 +71,11 @@ class Jvm {
 
     private static final Jvm DEFAULT = new Jvm(JAVA_HOME, MODULAR_JVM);
 
+    /**
+     * Whether the JVMs support dynamic class data sharing archives, by java executable
+     */
+    private static final Map<String, Boolean> DYNAMIC_ARCHIVES = new ConcurrentHashMap<>();
+
     private final Path path;
     private final boolean isModular;
 
@@ -142,6 +149,34 @@ class Jvm {
         return isModular;
     }
 
+    /**
+     * Indicates whether or not this JVM can create and use dynamic class data sharing archives, i.e. whether it
+     * supports the {@code -XX:ArchiveClassesAtExit} option. This is the case of HotSpot JVMs as of Java 13, but not
+     * of all JVMs of these versions, so a new process listing the options of the JVM is launched to find out.
+     *
+     * @return {@code true} if this JVM supports dynamic archives, otherwise {@code false}
+     */
+    public boolean supportsDynamicArchives() {
+        return supportsDynamicArchives(path.resolve("bin").resolve(JAVA_EXE).toString());
+    }
+
+    /**
+     * Indicates whether or not the JVM launched by the {@code javaExecutable} can create and use dynamic class data
+     * sharing archives. A new process listing the options of the JVM is only launched the first time a java executable
+     * is checked.
+     *
+     * @param javaExecutable the path to the java executable
+     *
+     * @return {@code true} if the JVM supports dynamic archives, otherwise {@code false}
+     */
+    public static boolean supportsDynamicArchives(final String javaExecutable) {
+        Boolean result = DYNAMIC_ARCHIVES.get(javaExecutable);
+        if (result == null) {
+            result = DYNAMIC_ARCHIVES.computeIfAbsent(javaExecutable, Jvm::listsArchiveClassesAtExit);
+        }
+        return result != null && result;
+    }
+
 
     private static boolean isModularJavaHome(final Path javaHome) {
         final Path jmodsDir = javaHome.resolve("jmods");
@@ -234,6 +269,57 @@ class Jvm {
     }
 
 
+    /**
+     * Checks to see if the JVM launched by the {@code javaExecutable} supports dynamic class data sharing archives.
+     *
+     * @param javaExecutable the path to the java executable
+     *
+     * @return {@code true} if the JVM lists the {@code ArchiveClassesAtExit} option or {@code null} if the check was
+     * interrupted
+     */
+    private static Boolean listsArchiveClassesAtExit(final String javaExecutable) {
+        Boolean result = false;
+        final List<String> cmd = new ArrayList<>();
+        cmd.add(javaExecutable);
+        cmd.add("-XX:+PrintFlagsFinal");
+        cmd.add("-version");
+        final ProcessBuilder builder = new ProcessBuilder(cmd);
+        Process process = null;
+        Path stdout = null;
+        try {
+            // Create a temporary file for stdout
+            stdout = Files.createTempFile("stdout", ".txt");
+            process = builder.redirectErrorStream(true)
+                    .redirectOutput(stdout.toFile()).start();
+
+            if (process.waitFor(10, TimeUnit.SECONDS) && process.exitValue() == 0) {
+                for (String line : Files.readAllLines(stdout, StandardCharsets.UTF_8)) {
+                    if (line.contains(" ArchiveClassesAtExit ")) {
+                        result = true;
+                        break;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            result = false;
+        } catch (InterruptedException e) {
+            // Not cached, so that the JVM is checked again
+            Thread.currentThread().interrupt();
+            result = null;
+        } finally {
+            if (process != null && process.isAlive()) {
+                process.destroyForcibly();
+            }
+            if (stdout != null) {
+                try {
+                    Files.deleteIfExists(stdout);
+                } catch (IOException ignore) {
+                }
+            }
+        }
+        return result;
+    }
+
     /**
      * Returns the Java executable command.
      *
@@ -24,6 +24,7 @@ package org.wildfly.core.launcher;
 
 import static org.wildfly.core.launcher.logger.LauncherMessages.MESSAGES;
 
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
@@ -54,6 +55,7 @@ public class StandaloneCommandBuilder extends AbstractCommandBuilder<StandaloneC
     private String debugArg;
     private String modulesLocklessArg;
     private String modulesMetricsArg;
+    private Path classDataSharingArchive;
     private final Map<String, String> securityProperties;
 
     /**
@@ -319,6 +321,22 @@ public class StandaloneCommandBuilder extends AbstractCommandBuilder<StandaloneC
         return this;
     }
 
+    /**
+     * Sets the class data sharing archive used to load the classes of the server faster.
+     * <p/>
+     * If the archive does not exist when the command is built, the JVM creates it when the server exits. Otherwise the
+     * classes found in the archive are loaded from it. The archive should be deleted whenever the JVM, its options or the
+     * modules change. The archive is ignored for JVMs that do not support dynamic archives, i.e. before Java 13.
+     *
+     * @param archive the path to the archive or {@code null} to not use class data sharing
+     *
+     * @return the builder
+     */
+    public StandaloneCommandBuilder setClassDataSharingArchive(final Path archive) {
+        this.classDataSharingArchive = archive == null ? null : archive.toAbsolutePath().normalize();
+        return this;
+    }
+
     /**
      * Sets the configuration file for the server. The file must be in the {@link #setConfigurationDirectory(String)
      * configuration} directory. A value of {@code null} will remove the configuration file.
@@ -436,6 +454,13 @@ public class StandaloneCommandBuilder extends AbstractCommandBuilder<StandaloneC
         if (debugArg != null) {
             cmd.add(debugArg);
         }
+        if (classDataSharingArchive != null && environment.getJvm().supportsDynamicArchives()) {
+            if (Files.isRegularFile(classDataSharingArchive)) {
+                cmd.add("-XX:SharedArchiveFile=" + classDataSharingArchive);
+            } else {
+                cmd.add("-XX:ArchiveClassesAtExit=" + classDataSharingArchive);
+            }
+        }
         cmd.add(getBootLogArgument("server.log"));
         cmd.add(getLoggingPropertiesArgument("logging.properties"));
         cmd.add("-jar");
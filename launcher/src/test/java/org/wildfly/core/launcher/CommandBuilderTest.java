@@ -102,6 +102,38 @@ public class CommandBuilderTest {
         Assert.assertFalse("Binding address should have been removed", commands.contains("-b=0.0.0.0"));
     }
 
+    @Test
+    public void testClassDataSharingArchive() throws IOException {
+        final Path dir = Files.createTempDirectory("cds");
+        final Path archive = dir.resolve("standalone.jsa").toAbsolutePath().normalize();
+        try {
+            final StandaloneCommandBuilder commandBuilder = StandaloneCommandBuilder.of(WILDFLY_HOME)
+                    .setClassDataSharingArchive(archive);
+            final boolean supported = Jvm.current().supportsDynamicArchives();
+
+            // The archive is created when the server exits
+            List<String> commands = commandBuilder.buildArguments();
+            Assert.assertEquals(supported, commands.contains("-XX:ArchiveClassesAtExit=" + archive));
+            Assert.assertFalse(commands.contains("-XX:SharedArchiveFile=" + archive));
+
+            // The archive is used once it exists
+            Files.createFile(archive);
+            commands = commandBuilder.buildArguments();
+            Assert.assertFalse(commands.contains("-XX:ArchiveClassesAtExit=" + archive));
+            Assert.assertEquals(supported, commands.contains("-XX:SharedArchiveFile=" + archive));
+
+            commandBuilder.setClassDataSharingArchive(null);
+            commands = commandBuilder.buildArguments();
+            for (String command : commands) {
+                Assert.assertFalse("Class data sharing should have been disabled", command.startsWith("-XX:ArchiveClassesAtExit=")
+                        || command.startsWith("-XX:SharedArchiveFile="));
+            }
+        } finally {
+            Files.deleteIfExists(archive);
+            Files.delete(dir);
+        }
+    }
+
     @Test
     public void testDomainBuilder() {
         // Set up a standalone command builder
@@ -26,9 +26,11 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
 import java.util.Collections;
 
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Test;
 
 /**
@@ -57,22 +59,74 @@ public class JvmTest {
             Assert.assertEquals(String.format("Expected version %s to %s a modular JVM", version, (expectedValue ? "be" : "not be")),
                     expectedValue, Jvm.of(javaHome).isModular());
         } finally {
-            Files.walkFileTree(javaHome, new SimpleFileVisitor<Path>() {
-                @Override
-                public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) throws IOException {
-                    Files.delete(file);
-                    return FileVisitResult.CONTINUE;
-                }
+            deleteFakeJavaHome(javaHome);
+        }
+    }
+
+    @Test
+    public void testSupportsDynamicArchives() throws Exception {
+        // A JVM which cannot be launched
+        final Path javaHome = createFakeJavaHome("13");
+        try {
+            Assert.assertFalse(Jvm.of(javaHome).supportsDynamicArchives());
+        } finally {
+            deleteFakeJavaHome(javaHome);
+        }
+
+        Assume.assumeFalse("The fake JVMs are shell scripts", Environment.isWindows());
+        testSupportsDynamicArchives("     ccstr ArchiveClassesAtExit                           =                                {product} {default}", 0, true);
+        testSupportsDynamicArchives("     ccstr SharedArchiveFile                              =                                {product} {default}", 0, false);
+        testSupportsDynamicArchives("     ccstr ArchiveClassesAtExit                           =                                {product} {default}", 1, false);
+    }
+
+    @Test
+    public void testDynamicArchivesCheckedOnce() throws Exception {
+        Assume.assumeFalse("The fake JVMs are shell scripts", Environment.isWindows());
+        final Path javaHome = createFakeJavaHome("13");
+        try {
+            final Path java = javaHome.resolve("bin").resolve("java");
+            Files.write(java, Arrays.asList("#!/bin/sh", "echo '     ccstr ArchiveClassesAtExit = {product} {default}'", "exit 0"), StandardCharsets.UTF_8);
+            Assume.assumeTrue("Cannot make the fake JVM executable", java.toFile().setExecutable(true));
+            Assert.assertTrue(Jvm.supportsDynamicArchives(java.toString()));
+            // The JVM is not launched again, neither for the same executable nor for another description of the JVM
+            Files.write(java, Arrays.asList("#!/bin/sh", "exit 1"), StandardCharsets.UTF_8);
+            Assert.assertTrue(Jvm.supportsDynamicArchives(java.toString()));
+            Assert.assertTrue(Jvm.of(javaHome).supportsDynamicArchives());
+        } finally {
+            deleteFakeJavaHome(javaHome);
+        }
+    }
 
-                @Override
-                public FileVisitResult postVisitDirectory(final Path dir, final IOException exc) throws IOException {
-                    Files.delete(dir);
-                    return FileVisitResult.CONTINUE;
-                }
-            });
+    private static void testSupportsDynamicArchives(final String flag, final int exitCode, final boolean expectedValue) throws IOException {
+        final Path javaHome = createFakeJavaHome("13");
+        try {
+            // A JVM listing the given flag
+            final Path java = javaHome.resolve("bin").resolve("java");
+            Files.write(java, Arrays.asList("#!/bin/sh", "echo '" + flag + "'", "exit " + exitCode), StandardCharsets.UTF_8);
+            Assume.assumeTrue("Cannot make the fake JVM executable", java.toFile().setExecutable(true));
+            Assert.assertEquals(String.format("Expected a JVM listing %s and exiting with %d to %s dynamic archives", flag.trim(),
+                    exitCode, (expectedValue ? "support" : "not support")), expectedValue, Jvm.of(javaHome).supportsDynamicArchives());
+        } finally {
+            deleteFakeJavaHome(javaHome);
         }
     }
 
+    private static void deleteFakeJavaHome(final Path javaHome) throws IOException {
+        Files.walkFileTree(javaHome, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(final Path dir, final IOException exc) throws IOException {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
     private static Path createFakeJavaHome(final String version) throws IOException {
         final Path javaHome = Files.createTempDirectory("fake-java-home");
         Files.createFile(Files.createDirectory(javaHome.resolve("bin")).resolve(Environment.isWindows() ? "java.exe" : "java"));
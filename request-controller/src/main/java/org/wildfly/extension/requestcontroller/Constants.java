@@ -30,5 +30,7 @@ package org.wildfly.extension.requestcontroller;
 interface Constants {
     String MAX_REQUESTS = "max-requests";
     String ACTIVE_REQUESTS = "active-requests";
+    String QUEUED_REQUESTS = "queued-requests";
+    String AVERAGE_QUEUE_WAIT_TIME = "average-queue-wait-time";
     String TRACK_INDIVIDUAL_ENDPOINTS = "track-individual-endpoints";
 }
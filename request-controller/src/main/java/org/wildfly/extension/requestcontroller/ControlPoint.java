@@ -21,6 +21,8 @@
  */
 package org.wildfly.extension.requestcontroller;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import org.jboss.as.server.logging.ServerLogger;
@@ -70,6 +72,11 @@ public class ControlPoint {
      */
     private int referenceCount = 0;
 
+    /**
+     * The tasks queued through this entry point. Guarded by the request controller's queue lock.
+     */
+    private final Deque<RequestController.QueuedTask> queuedTasks = new ArrayDeque<>();
+
     ControlPoint(RequestController controller, String deployment, String entryPoint, boolean trackIndividualControlPoints) {
         this.controller = controller;
         this.deployment = deployment;
@@ -236,6 +243,10 @@ public class ControlPoint {
         return activeRequestCountUpdater.get(this);
     }
 
+    Deque<RequestController.QueuedTask> getQueuedTasks() {
+        return queuedTasks;
+    }
+
     synchronized int increaseReferenceCount() {
         return ++referenceCount;
     }
@@ -33,18 +33,21 @@ import org.jboss.msc.service.StopContext;
 import org.jboss.msc.value.InjectedValue;
 import org.wildfly.extension.requestcontroller.logging.RequestControllerLogger;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.concurrent.Executor;
-import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * A controller that manages the active requests that are running in the container.
@@ -91,7 +94,21 @@ public class RequestController implements Service<RequestController>, ServerActi
 
     private Timer timer;
 
-    private final Deque<QueuedTask> taskQueue = new LinkedBlockingDeque<>();
+    /**
+     * The control points that have tasks waiting for a permit. Each control point queues its own tasks, and the
+     * control points are served round-robin so a burst of tasks from one of them cannot starve the others.
+     * Guarded by itself.
+     */
+    private final Deque<ControlPoint> queuedControlPoints = new ArrayDeque<>();
+
+    /**
+     * The number of queued tasks. Every completed request checks this, so it can be read without taking the lock.
+     */
+    private final AtomicInteger queuedTaskCount = new AtomicInteger();
+
+    private final LongAdder queuedTaskWaitTime = new LongAdder();
+
+    private final LongAdder queuedTasksRun = new LongAdder();
 
     /**
      * Pause the controller. All existing requests will have a chance to finish, and once all requests are
@@ -122,7 +139,7 @@ public class RequestController implements Service<RequestController>, ServerActi
         if (listener != null) {
             listenerUpdater.compareAndSet(this, listener, null);
         }
-        while (!taskQueue.isEmpty() && (activeRequestCount < maxRequestCount || maxRequestCount < 0)) {
+        while (hasQueuedTasks() && (activeRequestCount < maxRequestCount || maxRequestCount < 0)) {
             runQueuedTask(false);
         }
     }
@@ -210,14 +227,23 @@ public class RequestController implements Service<RequestController>, ServerActi
 
     RunResult beginRequest(boolean force) {
         int maxRequests = maxRequestCount;
-        int active = activeRequestCountUpdater.get(this);
         boolean success = false;
-        while ((maxRequests <= 0 || active < maxRequests) && (!paused || force)) {
-            if (activeRequestCountUpdater.compareAndSet(this, active, active + 1)) {
+        if (maxRequests <= 0) {
+            // No limit to enforce, so a single atomic increment will do rather than a CAS loop that
+            // keeps failing when many threads begin requests at once
+            if (!paused || force) {
+                activeRequestCountUpdater.incrementAndGet(this);
                 success = true;
-                break;
             }
-            active = activeRequestCountUpdater.get(this);
+        } else {
+            int active = activeRequestCountUpdater.get(this);
+            while (active < maxRequests && (!paused || force)) {
+                if (activeRequestCountUpdater.compareAndSet(this, active, active + 1)) {
+                    success = true;
+                    break;
+                }
+                active = activeRequestCountUpdater.get(this);
+            }
         }
         if (success) {
             //re-check the paused state
@@ -235,7 +261,23 @@ public class RequestController implements Service<RequestController>, ServerActi
     }
 
     void requestComplete() {
-        runQueuedTask(true);
+        if (!hasQueuedTasks()) {
+            // Nothing to hand our permit to
+            releasePermit();
+        } else {
+            runQueuedTask(true);
+        }
+    }
+
+    /**
+     * Gives back a permit that is not handed to a queued task. A task queued after the caller found none could not
+     * get a permit while we still held it, so once the permit is back the queue is checked again.
+     */
+    private void releasePermit() {
+        decrementRequestCount();
+        if (!paused && hasQueuedTasks()) {
+            runQueuedTask(false);
+        }
     }
 
     private void decrementRequestCount() {
@@ -304,7 +346,7 @@ public class RequestController implements Service<RequestController>, ServerActi
      */
     public void setMaxRequestCount(int maxRequestCount) {
         this.maxRequestCount = maxRequestCount;
-        while (!taskQueue.isEmpty() && (activeRequestCount < maxRequestCount || maxRequestCount < 0)) {
+        while (hasQueuedTasks() && (activeRequestCount < maxRequestCount || maxRequestCount < 0)) {
             if(!runQueuedTask(false)) {
                 break;
             }
@@ -329,11 +371,9 @@ public class RequestController implements Service<RequestController>, ServerActi
         shutdownControllerInjectedValue.getValue().unRegisterActivity(this);
         timer.cancel();
         timer = null;
-        while (!taskQueue.isEmpty()) {
-            QueuedTask t = taskQueue.poll();
-            if(t != null) {
-                t.run();
-            }
+        QueuedTask t;
+        while ((t = dequeue(false)) != null) {
+            t.run();
         }
     }
 
@@ -350,6 +390,21 @@ public class RequestController implements Service<RequestController>, ServerActi
         return activeRequestCount;
     }
 
+    /**
+     * @return The number of tasks that are queued waiting to run
+     */
+    public int getQueuedRequestCount() {
+        return queuedTaskCount.get();
+    }
+
+    /**
+     * @return The average time in milliseconds that queued tasks which have been run waited in the queue
+     */
+    public long getAverageQueueWaitTime() {
+        long run = queuedTasksRun.sum();
+        return run == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(queuedTaskWaitTime.sum() / run);
+    }
+
     void queueTask(ControlPoint controlPoint, Runnable task, Executor taskExecutor, long timeout, Runnable timeoutTask, boolean rejectOnSuspend, boolean forceRun) {
         if(paused) {
             if(rejectOnSuspend && !forceRun) {
@@ -357,8 +412,8 @@ public class RequestController implements Service<RequestController>, ServerActi
                 return;
             }
         }
-        QueuedTask queuedTask = new QueuedTask(taskExecutor, task, timeoutTask, controlPoint, forceRun);
-        taskQueue.add(queuedTask);
+        QueuedTask queuedTask = new QueuedTask(this, taskExecutor, task, timeoutTask, controlPoint, forceRun);
+        enqueue(queuedTask);
         runQueuedTask(false);
         if(queuedTask.isQueued()) {
             if(timeout > 0) {
@@ -378,39 +433,82 @@ public class RequestController implements Service<RequestController>, ServerActi
         if (!hasPermit && beginRequest(paused) == RunResult.REJECTED) {
             return false;
         }
-        QueuedTask task = null;
-        if (!paused) {
-            task = taskQueue.poll();
-        } else {
-            //the container is suspended, but we still need to run any force queued tasks
-            task = findForcedTask();
-        }
+        //if the container is suspended we still need to run any force queued tasks
+        QueuedTask task = dequeue(paused);
         if (task != null) {
-            if(!task.runRequest()) {
-                decrementRequestCount();
+            if(task.runRequest()) {
+                queuedTaskWaitTime.add(System.nanoTime() - task.queuedTime);
+                queuedTasksRun.increment();
+            } else {
+                releasePermit();
             }
             return true;
         } else {
-            decrementRequestCount();
+            releasePermit();
             return false;
         }
     }
 
-    private QueuedTask findForcedTask() {
-        QueuedTask task = null;
-        List<QueuedTask> storage = new ArrayList<>();
-        while (task == null && !taskQueue.isEmpty()) {
-            QueuedTask tmp = taskQueue.poll();
-            if(tmp.forceRun) {
-                task = tmp;
-            } else {
-                storage.add(tmp);
+    private boolean hasQueuedTasks() {
+        return queuedTaskCount.get() > 0;
+    }
+
+    private void enqueue(QueuedTask task) {
+        synchronized (queuedControlPoints) {
+            final Deque<QueuedTask> tasks = task.controlPoint.getQueuedTasks();
+            if (tasks.isEmpty()) {
+                queuedControlPoints.add(task.controlPoint);
+            }
+            tasks.add(task);
+            queuedTaskCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Removes the next queued task, taking it from the control point whose turn it is.
+     *
+     * @param forcedOnly If only tasks that were queued with {@code forceRun} should be considered
+     * @return The task, or {@code null} if there is none
+     */
+    private QueuedTask dequeue(boolean forcedOnly) {
+        synchronized (queuedControlPoints) {
+            final Iterator<ControlPoint> controlPoints = queuedControlPoints.iterator();
+            while (controlPoints.hasNext()) {
+                final ControlPoint controlPoint = controlPoints.next();
+                final Iterator<QueuedTask> tasks = controlPoint.getQueuedTasks().iterator();
+                while (tasks.hasNext()) {
+                    final QueuedTask task = tasks.next();
+                    if (!forcedOnly || task.forceRun) {
+                        tasks.remove();
+                        queuedTaskCount.decrementAndGet();
+                        controlPoints.remove();
+                        if (!controlPoint.getQueuedTasks().isEmpty()) {
+                            // back of the line
+                            queuedControlPoints.add(controlPoint);
+                        }
+                        return task;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Removes a task that timed out or was cancelled from its control point's queue, if it is still there.
+     *
+     * @param task The task
+     */
+    private void removeQueuedTask(QueuedTask task) {
+        synchronized (queuedControlPoints) {
+            final Deque<QueuedTask> tasks = task.controlPoint.getQueuedTasks();
+            if (tasks.remove(task)) {
+                queuedTaskCount.decrementAndGet();
+                if (tasks.isEmpty()) {
+                    queuedControlPoints.remove(task.controlPoint);
+                }
             }
         }
-        //this screws the order somewhat, but the container is suspending anyway, and the order
-        //was never guarenteed. if we push them back onto the front we will need to just go through them again
-        taskQueue.addAll(storage);
-        return task;
     }
 
     private static final class ControlPointIdentifier {
@@ -448,8 +546,10 @@ public class RequestController implements Service<RequestController>, ServerActi
     }
 
 
-    private static final class QueuedTask extends TimerTask {
+    static final class QueuedTask extends TimerTask {
 
+        private final long queuedTime = System.nanoTime();
+        private final RequestController controller;
         private final Executor executor;
         private final Runnable task;
         private final Runnable cancelTask;
@@ -461,7 +561,8 @@ public class RequestController implements Service<RequestController>, ServerActi
         //2 == cancelled
         private final AtomicInteger state = new AtomicInteger(0);
 
-        private QueuedTask(Executor executor, Runnable task, Runnable cancelTask, ControlPoint controlPoint, boolean forceRun) {
+        private QueuedTask(RequestController controller, Executor executor, Runnable task, Runnable cancelTask, ControlPoint controlPoint, boolean forceRun) {
+            this.controller = controller;
             this.executor = executor;
             this.task = task;
             this.cancelTask = cancelTask;
@@ -472,6 +573,7 @@ public class RequestController implements Service<RequestController>, ServerActi
         @Override
         public void run() {
             if(state.compareAndSet(0, 2)) {
+                controller.removeQueuedTask(this);
                 if(cancelTask != null) {
                     try {
                         executor.execute(cancelTask);
@@ -0,0 +1,178 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.wildfly.extension.requestcontroller;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.server.suspend.SuspendController;
+import org.jboss.msc.value.ImmediateValue;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the queueing of tasks by the {@link RequestController}.
+ */
+public class RequestControllerUnitTestCase {
+
+    private static final Executor DIRECT = Runnable::run;
+
+    private RequestController controller;
+
+    @Before
+    public void startController() throws Exception {
+        controller = new RequestController(true);
+        controller.getShutdownControllerInjectedValue().setValue(new ImmediateValue<>(new SuspendController()));
+        controller.start(null);
+        controller.resume();
+        controller.setMaxRequestCount(1);
+    }
+
+    @After
+    public void stopController() {
+        controller.stop(null);
+    }
+
+    @Test
+    public void testQueuedTasksAreServedRoundRobin() throws Exception {
+        final ControlPoint a = controller.getControlPoint("a.war", "web");
+        final ControlPoint b = controller.getControlPoint("b.war", "web");
+        final List<String> run = new CopyOnWriteArrayList<>();
+
+        Assert.assertEquals(RunResult.RUN, a.beginRequest());
+        a.queueTask(() -> run.add("a1"), DIRECT, -1, null, false);
+        a.queueTask(() -> run.add("a2"), DIRECT, -1, null, false);
+        a.queueTask(() -> run.add("a3"), DIRECT, -1, null, false);
+        b.queueTask(() -> run.add("b1"), DIRECT, -1, null, false);
+        Assert.assertTrue(run.isEmpty());
+        Assert.assertEquals(4, controller.getQueuedRequestCount());
+
+        a.requestComplete();
+        Assert.assertEquals(Arrays.asList("a1", "b1", "a2", "a3"), run);
+        Assert.assertEquals(0, controller.getQueuedRequestCount());
+        Assert.assertEquals(0, controller.getActiveRequestCount());
+        Assert.assertTrue(controller.getAverageQueueWaitTime() >= 0);
+    }
+
+    @Test
+    public void testTimedOutTaskIsNoLongerQueued() throws Exception {
+        final ControlPoint a = controller.getControlPoint("a.war", "web");
+        final ControlPoint b = controller.getControlPoint("b.war", "web");
+        final List<String> run = new CopyOnWriteArrayList<>();
+        final CountDownLatch timedOut = new CountDownLatch(1);
+
+        Assert.assertEquals(RunResult.RUN, a.beginRequest());
+        b.queueTask(() -> run.add("b1"), DIRECT, 50, timedOut::countDown, false);
+        a.queueTask(() -> run.add("a1"), DIRECT, -1, null, false);
+        Assert.assertEquals(2, controller.getQueuedRequestCount());
+
+        Assert.assertTrue(timedOut.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(1, controller.getQueuedRequestCount());
+
+        a.requestComplete();
+        Assert.assertEquals(Arrays.asList("a1"), run);
+        Assert.assertEquals(0, controller.getQueuedRequestCount());
+        Assert.assertEquals(0, controller.getActiveRequestCount());
+    }
+
+    @Test
+    public void testQueuedTaskRunsOncePermitIsAvailable() throws Exception {
+        final ControlPoint a = controller.getControlPoint("a.war", "web");
+        final List<String> run = new CopyOnWriteArrayList<>();
+
+        Assert.assertEquals(RunResult.RUN, a.beginRequest());
+        Assert.assertEquals(RunResult.REJECTED, a.beginRequest());
+        a.queueTask(() -> run.add("a1"), DIRECT, TimeUnit.MINUTES.toMillis(1), () -> run.add("timeout"), false);
+        Assert.assertEquals(1, controller.getQueuedRequestCount());
+        Assert.assertEquals(1, controller.getActiveRequestCount());
+
+        a.requestComplete();
+        Assert.assertEquals(Arrays.asList("a1"), run);
+        Assert.assertEquals(0, controller.getQueuedRequestCount());
+        Assert.assertEquals(0, controller.getActiveRequestCount());
+        Assert.assertEquals(0, a.getActiveRequestCount());
+    }
+
+    @Test
+    public void testConcurrentRequestsAreAllServed() throws Exception {
+        final int threads = 8;
+        final int requests = 2000;
+        controller.setMaxRequestCount(2);
+        final ControlPoint a = controller.getControlPoint("a.war", "web");
+        final ControlPoint b = controller.getControlPoint("b.war", "web");
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final ExecutorService taskExecutor = Executors.newFixedThreadPool(2);
+        final AtomicInteger run = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                final ControlPoint controlPoint = i % 2 == 0 ? a : b;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < requests; j++) {
+                        if (controlPoint.beginRequest() == RunResult.RUN) {
+                            run.incrementAndGet();
+                            controlPoint.requestComplete();
+                        } else {
+                            controlPoint.queueTask(run::incrementAndGet, taskExecutor, -1, null, false);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+            // Every queued task must eventually get the permit of a completed request
+            final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
+            while (run.get() < threads * requests && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            Assert.assertEquals(threads * requests, run.get());
+            Assert.assertEquals(0, controller.getQueuedRequestCount());
+            while (controller.getActiveRequestCount() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            Assert.assertEquals(0, controller.getActiveRequestCount());
+            Assert.assertEquals(0, a.getActiveRequestCount());
+            Assert.assertEquals(0, b.getActiveRequestCount());
+        } finally {
+            executor.shutdownNow();
+            taskExecutor.shutdownNow();
+        }
+    }
+}
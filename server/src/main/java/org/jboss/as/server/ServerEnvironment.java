@@ -46,6 +46,7 @@ import org.jboss.as.controller.interfaces.InetAddressUtil;
 import org.jboss.as.controller.operations.common.ProcessEnvironment;
 import org.jboss.as.controller.persistence.ConfigurationFile;
 import org.jboss.as.network.NetworkUtils;
+import org.jboss.as.repository.ContentRepository;
 import org.jboss.as.server.controller.git.GitRepository;
 import org.jboss.as.server.controller.git.GitRepositoryConfiguration;
 import org.jboss.as.server.logging.ServerLogger;
@@ -629,6 +630,11 @@ public class ServerEnvironment extends ProcessEnvironment implements Serializabl
         setIgnored(ignored, serverDataDir.toPath(), true, false);
         setUnignored(ignored, serverDataDir.toPath(), false);
         setUnignored(ignored, serverContentDir.toPath(), true);
+        if (serverContentDir.toPath().startsWith(serverBaseDir.toPath())) {
+            // data cached next to the managed content can always be recreated from it
+            ignored.add(serverBaseDir.toPath().relativize(serverContentDir.toPath()).toString().replace('\\', '/')
+                    + "/*/*/" + ContentRepository.DERIVED_CONTENT + '/');
+        }
         setIgnored(ignored, serverConfigurationDir.toPath().resolve("logging.properties"), false, true);
         setIgnored(ignored, serverBaseDir.toPath().resolve("deployments"), false, false);
         setIgnored(ignored, serverLogDir.toPath(), false, false);
@@ -96,6 +96,14 @@ public class GitConfigurationPersister extends XmlConfigurationPersister {
         successfulBoot.compareAndSet(false, true);
     }
 
+    /**
+     * Returns {@code false} as the resources reset the git working tree on rollback and commit the written file.
+     */
+    @Override
+    protected boolean isWriteBehindSupported() {
+        return false;
+    }
+
     @Override
     public PersistenceResource store(final ModelNode model, Set<PathAddress> affectedAddresses) throws ConfigurationPersistenceException {
         if(!successfulBoot.get()) {
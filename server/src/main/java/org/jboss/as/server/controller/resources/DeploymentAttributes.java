@@ -370,6 +370,11 @@ public class DeploymentAttributes {
             .withFlags(Flag.READ_ONLY)
             .build();
 
+    public static final OperationDefinition READ_PROCESSING_PROFILE = SimpleOperationDefinitionBuilder.of(ModelDescriptionConstants.READ_PROCESSING_PROFILE, DEPLOYMENT_RESOLVER)
+            .setReplyType(ModelType.OBJECT)
+            .withFlags(Flag.READ_ONLY, Flag.RUNTIME_ONLY)
+            .build();
+
     public static final OperationDefinition DEPLOY_DEFINITION = SimpleOperationDefinitionBuilder.of(ModelDescriptionConstants.DEPLOY, DEPLOYMENT_RESOLVER).build();
     public static final OperationDefinition UNDEPLOY_DEFINITION = SimpleOperationDefinitionBuilder.of(ModelDescriptionConstants.UNDEPLOY, DEPLOYMENT_RESOLVER).build();
     public static final OperationDefinition REDEPLOY_DEFINITION = SimpleOperationDefinitionBuilder.of(ModelDescriptionConstants.REDEPLOY, DEPLOYMENT_RESOLVER).build();
@@ -60,6 +60,7 @@ import org.jboss.as.controller.extension.ExtensionRegistryType;
 import org.jboss.as.controller.extension.ExtensionResourceDefinition;
 import org.jboss.as.controller.extension.MutableRootResourceRegistrationProvider;
 import org.jboss.as.controller.operations.common.ConfigurationPublishHandler;
+import org.jboss.as.controller.operations.common.ConfigurationWriteStatisticsHandler;
 import org.jboss.as.controller.operations.common.NamespaceAddHandler;
 import org.jboss.as.controller.operations.common.NamespaceRemoveHandler;
 import org.jboss.as.controller.operations.common.ProcessStateAttributeHandler;
@@ -378,6 +379,8 @@ public class ServerRootResourceDefinition extends SimpleResourceDefinition {
             resourceRegistration.registerOperationHandler(SnapshotDeleteHandler.DEFINITION, snapshotDelete);
             SnapshotListHandler snapshotList = new SnapshotListHandler(extensibleConfigurationPersister);
             resourceRegistration.registerOperationHandler(SnapshotListHandler.DEFINITION, snapshotList);
+            resourceRegistration.registerOperationHandler(ConfigurationWriteStatisticsHandler.DEFINITION,
+                    new ConfigurationWriteStatisticsHandler(extensibleConfigurationPersister));
             SnapshotTakeHandler snapshotTake = new SnapshotTakeHandler(extensibleConfigurationPersister);
             resourceRegistration.registerOperationHandler(SnapshotTakeHandler.DEFINITION, snapshotTake);
             resourceRegistration.registerOperationHandler(WriteConfigHandler.DEFINITION, WriteConfigHandler.INSTANCE);
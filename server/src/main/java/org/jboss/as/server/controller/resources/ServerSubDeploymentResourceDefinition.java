@@ -23,6 +23,7 @@ import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.descriptions.ResourceDescriptionResolver;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.server.deployment.DeploymentListModulesHandler;
+import org.jboss.as.server.deployment.DeploymentProcessingProfileHandler;
 
 /**
  * The sub-deployment resource definition.
@@ -43,5 +44,6 @@ public class ServerSubDeploymentResourceDefinition extends SimpleResourceDefinit
     public void registerOperations(ManagementResourceRegistration resourceRegistration) {
         super.registerOperations(resourceRegistration);
         resourceRegistration.registerOperationHandler(DeploymentAttributes.LIST_MODULES, new DeploymentListModulesHandler());
+        resourceRegistration.registerOperationHandler(DeploymentAttributes.READ_PROCESSING_PROFILE, DeploymentProcessingProfileHandler.INSTANCE);
     }
 }
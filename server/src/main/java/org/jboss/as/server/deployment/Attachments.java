@@ -31,6 +31,7 @@ import java.util.jar.Manifest;
 
 import org.jboss.as.controller.capability.CapabilityServiceSupport;
 import org.jboss.as.controller.services.path.PathManager;
+import org.jboss.as.server.deployment.annotation.AnnotationIndexCache;
 import org.jboss.as.server.deployment.annotation.CompositeIndex;
 import org.jboss.as.server.deployment.module.AdditionalModuleSpecification;
 import org.jboss.as.server.deployment.module.ExtensionInfo;
@@ -182,6 +183,12 @@ public final class Attachments {
      */
     public static final AttachmentKey<Index> ANNOTATION_INDEX = AttachmentKey.create(Index.class);
 
+    /**
+     * The on-disk cache of resource root annotation indexes for a top level deployment. This is only attached when the
+     * deployment content is immutable and identified by its hash.
+     */
+    public static final AttachmentKey<AnnotationIndexCache> ANNOTATION_INDEX_CACHE = AttachmentKey.create(AnnotationIndexCache.class);
+
     /**
      * The composite annotation index for this deployment.
      */
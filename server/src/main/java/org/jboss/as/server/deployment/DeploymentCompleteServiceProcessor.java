@@ -22,11 +22,15 @@
 
 package org.jboss.as.server.deployment;
 
+import org.jboss.as.server.logging.ServerLogger;
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.ServiceBuilder;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StopContext;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * @author Stuart Douglas
@@ -48,7 +52,9 @@ public class DeploymentCompleteServiceProcessor implements DeploymentUnitProcess
             }
         }
 
-        final ServiceBuilder<?> sb = phaseContext.getServiceTarget().addService(serviceName(deploymentUnit.getServiceName()), Service.NULL);
+        final Service<Void> service = deploymentUnit.getParent() == null
+                ? new DeploymentCompleteService(deploymentUnit.getName(), DeploymentTimes.get(deploymentUnit)) : Service.NULL;
+        final ServiceBuilder<?> sb = phaseContext.getServiceTarget().addService(serviceName(deploymentUnit.getServiceName()), service);
         final List<ServiceName> deploymentCompleteServices = deploymentUnit.getAttachmentList(Attachments.DEPLOYMENT_COMPLETE_SERVICES);
         if (deploymentCompleteServices != null) {
             for (final ServiceName deploymentCompleteService : deploymentCompleteServices) {
@@ -62,4 +68,37 @@ public class DeploymentCompleteServiceProcessor implements DeploymentUnitProcess
     public void undeploy(final DeploymentUnit deploymentUnit) {
         deploymentUnit.removeAttachment(Attachments.DEPLOYMENT_COMPLETE_SERVICES);
     }
+
+    /**
+     * Records when a top level deployment completed, so that the length of its critical path, i.e. how long it took to
+     * complete including the time spent waiting for the deployments it depends on, can be read with the
+     * {@code read-processing-profile} operation.
+     */
+    private static final class DeploymentCompleteService implements Service<Void> {
+        private final String name;
+        private final DeploymentTimes times;
+        private final AtomicBoolean reported = new AtomicBoolean();
+
+        private DeploymentCompleteService(final String name, final DeploymentTimes times) {
+            this.name = name;
+            this.times = times;
+        }
+
+        @Override
+        public void start(final StartContext context) {
+            if (times != null && reported.compareAndSet(false, true)) {
+                times.deploymentComplete();
+                ServerLogger.DEPLOYMENT_LOGGER.debugf("Deployment %s completed %s after it started processing", name, times);
+            }
+        }
+
+        @Override
+        public void stop(final StopContext context) {
+        }
+
+        @Override
+        public Void getValue() {
+            return null;
+        }
+    }
 }
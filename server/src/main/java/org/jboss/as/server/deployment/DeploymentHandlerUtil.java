@@ -57,6 +57,7 @@ import org.jboss.as.server.services.security.AbstractVaultReader;
 import org.jboss.dmr.ModelNode;
 import org.jboss.msc.service.LifecycleEvent;
 import org.jboss.msc.service.LifecycleListener;
+import org.jboss.msc.service.ServiceBuilder;
 import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.ServiceRegistry;
@@ -208,12 +209,16 @@ public class DeploymentHandlerUtil {
 
         final RootDeploymentUnitService service = new RootDeploymentUnitService(deploymentUnitName, managementName, null,
                 registration, mutableRegistration, deploymentResource, context.getCapabilityServiceSupport(), vaultReader, overlays,
-                isExplodedContent);
-        final ServiceController<DeploymentUnit> deploymentUnitController = serviceTarget.addService(deploymentUnitServiceName, service)
+                isExplodedContent, contents[0].hash);
+        final ServiceBuilder<DeploymentUnit> deploymentUnitBuilder = serviceTarget.addService(deploymentUnitServiceName, service)
                 .addDependency(Services.JBOSS_DEPLOYMENT_CHAINS, DeployerChains.class, service.getDeployerChainsInjector())
                 .addDependency(DeploymentMountProvider.SERVICE_NAME, DeploymentMountProvider.class, service.getServerDeploymentRepositoryInjector())
                 .addDependency(context.getCapabilityServiceName("org.wildfly.management.path-manager", PathManager.class), PathManager.class, service.getPathManagerInjector())
-                .addDependency(contentsServiceName, VirtualFile.class, service.getContentsInjector())
+                .addDependency(contentsServiceName, VirtualFile.class, service.getContentsInjector());
+        if (contents[0].hash != null) {
+            deploymentUnitBuilder.addDependency(ContentRepository.SERVICE_NAME, ContentRepository.class, service.getContentRepositoryInjector());
+        }
+        final ServiceController<DeploymentUnit> deploymentUnitController = deploymentUnitBuilder
                 .setInitialMode(ServiceController.Mode.ACTIVE)
                 .install();
 
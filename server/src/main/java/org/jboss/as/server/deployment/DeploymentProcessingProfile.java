@@ -0,0 +1,187 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.dmr.ModelNode;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * The time spent by each {@link DeploymentUnitProcessor} processing a deployment unit.
+ * <p>
+ * Profiling is disabled unless the {@code org.jboss.as.server.deployment.profile} system property is {@code true}, in
+ * which case {@link DeploymentUnitPhaseService} records the wall clock time and, if the JVM supports it, the CPU time
+ * of each processor it runs.
+ */
+final class DeploymentProcessingProfile {
+
+    static final boolean ENABLED = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged("org.jboss.as.server.deployment.profile", "false"));
+
+    private static final AttachmentKey<DeploymentProcessingProfile> PROFILE = AttachmentKey.create(DeploymentProcessingProfile.class);
+
+    /** Guards the creation of the profile attachment; the deployment units' own monitors are left to them. */
+    private static final Object ATTACH_LOCK = new Object();
+
+    private final List<Entry> entries = new ArrayList<>();
+
+    private DeploymentProcessingProfile() {
+    }
+
+    /**
+     * Gets the profile of a deployment unit for a phase that is starting, creating it if needed. The entries recorded
+     * for that phase and the phases after it by an earlier run of the phase chain are removed, so that a restarted
+     * phase chain or a redeployment does not accumulate entries.
+     *
+     * @param deploymentUnit the deployment unit
+     * @param phase the phase that is starting
+     * @return the profile
+     */
+    static DeploymentProcessingProfile startPhase(final DeploymentUnit deploymentUnit, final Phase phase) {
+        DeploymentProcessingProfile profile;
+        synchronized (ATTACH_LOCK) {
+            profile = deploymentUnit.getAttachment(PROFILE);
+            if (profile == null) {
+                profile = new DeploymentProcessingProfile();
+                deploymentUnit.putAttachment(PROFILE, profile);
+                return profile;
+            }
+        }
+        synchronized (profile.entries) {
+            profile.entries.removeIf(entry -> entry.phase.compareTo(phase) >= 0);
+        }
+        return profile;
+    }
+
+    /**
+     * Gets the profile of a deployment unit.
+     *
+     * @param deploymentUnit the deployment unit
+     * @return the profile, or {@code null} if the deployment unit was not profiled
+     */
+    static DeploymentProcessingProfile get(final DeploymentUnit deploymentUnit) {
+        return deploymentUnit.getAttachment(PROFILE);
+    }
+
+    /**
+     * Runs a processor and records the time it took, whether or not it succeeded.
+     */
+    void deploy(final Phase phase, final RegisteredDeploymentUnitProcessor processor, final DeploymentPhaseContext context) throws DeploymentUnitProcessingException {
+        final long cpuStart = cpuTime();
+        final long start = System.nanoTime();
+        try {
+            processor.getProcessor().deploy(context);
+        } finally {
+            final long wallTime = System.nanoTime() - start;
+            final long cpuTime = cpuStart < 0 ? -1 : cpuTime() - cpuStart;
+            final Entry entry = new Entry(phase, processor, wallTime, cpuTime);
+            synchronized (entries) {
+                entries.add(entry);
+            }
+        }
+    }
+
+    /**
+     * Describes the profile, with the totals of each phase followed by the individual processors in the order they ran.
+     * Times are in nanoseconds; the CPU times are undefined if the JVM does not measure them.
+     *
+     * @return the description
+     */
+    ModelNode toModelNode() {
+        final List<Entry> entries;
+        synchronized (this.entries) {
+            entries = new ArrayList<>(this.entries);
+        }
+        final Map<Phase, long[]> phases = new EnumMap<>(Phase.class);
+        final ModelNode processors = new ModelNode().setEmptyList();
+        for (Entry entry : entries) {
+            final long[] totals = phases.computeIfAbsent(entry.phase, p -> new long[2]);
+            totals[0] += entry.wallTime;
+            totals[1] = totals[1] < 0 || entry.cpuTime < 0 ? -1 : totals[1] + entry.cpuTime;
+
+            final ModelNode processor = new ModelNode();
+            processor.get("phase").set(entry.phase.name());
+            processor.get("priority").set(entry.priority);
+            if (entry.subsystem != null) {
+                processor.get("subsystem").set(entry.subsystem);
+            }
+            processor.get("processor").set(entry.processor);
+            setTimes(processor, entry.wallTime, entry.cpuTime);
+            processors.add(processor);
+        }
+        final ModelNode result = new ModelNode();
+        result.get("phases").setEmptyList();
+        for (Map.Entry<Phase, long[]> phase : phases.entrySet()) {
+            final ModelNode node = new ModelNode();
+            node.get("phase").set(phase.getKey().name());
+            setTimes(node, phase.getValue()[0], phase.getValue()[1]);
+            result.get("phases").add(node);
+        }
+        result.get("processors").set(processors);
+        return result;
+    }
+
+    private static void setTimes(final ModelNode node, final long wallTime, final long cpuTime) {
+        node.get("wall-time").set(wallTime);
+        if (cpuTime >= 0) {
+            node.get("cpu-time").set(cpuTime);
+        }
+    }
+
+    private static long cpuTime() {
+        final ThreadMXBean threads = ThreadsHolder.THREADS;
+        return threads != null ? threads.getCurrentThreadCpuTime() : -1;
+    }
+
+    private static final class ThreadsHolder {
+        private static final ThreadMXBean THREADS;
+
+        static {
+            final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            THREADS = threads.isCurrentThreadCpuTimeSupported() && threads.isThreadCpuTimeEnabled() ? threads : null;
+        }
+    }
+
+    private static final class Entry {
+        private final Phase phase;
+        private final int priority;
+        private final String subsystem;
+        private final String processor;
+        private final long wallTime;
+        private final long cpuTime;
+
+        private Entry(final Phase phase, final RegisteredDeploymentUnitProcessor processor, final long wallTime, final long cpuTime) {
+            this.phase = phase;
+            this.priority = processor.getPriority();
+            this.subsystem = processor.getSubsystemName();
+            this.processor = processor.getProcessor().getClass().getName();
+            this.wallTime = wallTime;
+            this.cpuTime = cpuTime;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBDEPLOYMENT;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.ENABLED;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.RUNTIME_NAME;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.logging.ControllerLogger;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Reads the {@link DeploymentProcessingProfile} of a deployment or sub deployment, along with its
+ * {@link DeploymentTimes}. The result is undefined if the deployment is not running.
+ */
+public class DeploymentProcessingProfileHandler implements OperationStepHandler {
+
+    public static final OperationStepHandler INSTANCE = new DeploymentProcessingProfileHandler();
+
+    private DeploymentProcessingProfileHandler() {
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final PathAddress currentAddress = context.getCurrentAddress();
+        final boolean subDeploymentFlag = currentAddress.getLastElement().getKey().equals(SUBDEPLOYMENT);
+        final PathAddress address = subDeploymentFlag ? currentAddress.getParent() : currentAddress;
+
+        final ModelNode model = context.readResourceFromRoot(address, false).getModel();
+        final boolean enabled = ENABLED.resolveModelAttribute(context, model).asBoolean();
+        final String runtimeName = RUNTIME_NAME.resolveModelAttribute(context, model).asString();
+        final String item = context.getCurrentAddressValue();
+
+        if (enabled && context.isNormalServer()) {
+            context.addStep(new OperationStepHandler() {
+                @Override
+                public void execute(OperationContext context, ModelNode operation) {
+                    final ServiceController<?> controller = context.getServiceRegistry(false).getService(Services.deploymentUnitName(runtimeName));
+                    if (controller == null || controller.getState() != ServiceController.State.UP) {
+                        return;
+                    }
+                    final DeploymentUnit deploymentUnit = (DeploymentUnit) controller.getValue();
+                    DeploymentUnit profiled = null;
+                    if (subDeploymentFlag) {
+                        for (DeploymentUnit subDeployment : deploymentUnit.getAttachmentList(Attachments.SUB_DEPLOYMENTS)) {
+                            if (subDeployment.getName().equals(item)) {
+                                profiled = subDeployment;
+                                break;
+                            }
+                        }
+                        if (profiled == null) {
+                            throw ControllerLogger.ROOT_LOGGER.managementResourceNotFound(currentAddress);
+                        }
+                    } else {
+                        profiled = deploymentUnit;
+                    }
+                    final DeploymentProcessingProfile profile = DeploymentProcessingProfile.get(profiled);
+                    if (profile != null) {
+                        context.getResult().set(profile.toModelNode());
+                    }
+                    final DeploymentTimes times = DeploymentTimes.get(profiled);
+                    if (times != null) {
+                        context.getResult().get("critical-path").set(times.toModelNode());
+                    }
+                }
+            }, OperationContext.Stage.RUNTIME);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Tracks how long a deployment unit takes to get through its phases, and how much of that time it spends waiting
+ * between phases for its dependencies, e.g. other deployments it depends on, its sub deployments or services
+ * required by its next phase.
+ */
+final class DeploymentTimes {
+
+    private static final AttachmentKey<DeploymentTimes> TIMES = AttachmentKey.create(DeploymentTimes.class);
+
+    private final long start;
+    private final AtomicLong waiting = new AtomicLong();
+    private volatile long lastPhaseEnd;
+    private volatile long complete;
+
+    private DeploymentTimes(final long start) {
+        this.start = start;
+    }
+
+    /**
+     * Records the start of a phase of a deployment unit.
+     */
+    static void phaseStarting(final DeploymentUnit deploymentUnit, final Phase phase) {
+        phaseStarting(deploymentUnit, phase, System.nanoTime());
+    }
+
+    static void phaseStarting(final DeploymentUnit deploymentUnit, final Phase phase, final long now) {
+        final DeploymentTimes times = deploymentUnit.getAttachment(TIMES);
+        if (phase == Phase.values()[0] || times == null) {
+            deploymentUnit.putAttachment(TIMES, new DeploymentTimes(now));
+        } else {
+            final long lastPhaseEnd = times.lastPhaseEnd;
+            if (lastPhaseEnd != 0) {
+                times.waiting.addAndGet(now - lastPhaseEnd);
+            }
+        }
+    }
+
+    /**
+     * Records the end of a phase of a deployment unit.
+     */
+    static void phaseComplete(final DeploymentUnit deploymentUnit) {
+        phaseComplete(deploymentUnit, System.nanoTime());
+    }
+
+    static void phaseComplete(final DeploymentUnit deploymentUnit, final long now) {
+        final DeploymentTimes times = deploymentUnit.getAttachment(TIMES);
+        if (times != null) {
+            times.lastPhaseEnd = now;
+        }
+    }
+
+    static DeploymentTimes get(final DeploymentUnit deploymentUnit) {
+        return deploymentUnit.getAttachment(TIMES);
+    }
+
+    /**
+     * Records that the deployment, including its sub deployments, has completed.
+     */
+    void deploymentComplete() {
+        deploymentComplete(System.nanoTime());
+    }
+
+    void deploymentComplete(final long now) {
+        complete = now;
+    }
+
+    /**
+     * Gets the time from the start of the first phase of the deployment unit until the deployment completed, or until
+     * the end of its last phase if it is a sub deployment. This is the length of the critical path of the deployment.
+     *
+     * @return the elapsed time, in nanoseconds
+     */
+    long getElapsedTime() {
+        final long complete = this.complete;
+        if (complete != 0) {
+            return complete - start;
+        }
+        final long lastPhaseEnd = this.lastPhaseEnd;
+        return (lastPhaseEnd != 0 ? lastPhaseEnd : System.nanoTime()) - start;
+    }
+
+    /**
+     * Gets the time spent between the end of a phase and the start of the next one.
+     *
+     * @return the waiting time, in nanoseconds
+     */
+    long getWaitingTime() {
+        return waiting.get();
+    }
+
+    /**
+     * Describes the times of the deployment unit, in nanoseconds.
+     *
+     * @return the description
+     */
+    ModelNode toModelNode() {
+        final ModelNode result = new ModelNode();
+        result.get("elapsed-time").set(getElapsedTime());
+        result.get("waiting-time").set(getWaitingTime());
+        return result;
+    }
+
+    /**
+     * Describes the times of the deployment unit in milliseconds, for logging.
+     */
+    @Override
+    public String toString() {
+        return TimeUnit.NANOSECONDS.toMillis(getElapsedTime()) + " ms, including "
+                + TimeUnit.NANOSECONDS.toMillis(getWaitingTime()) + " ms waiting between phases";
+    }
+}
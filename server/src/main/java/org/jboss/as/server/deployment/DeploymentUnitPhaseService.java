@@ -115,6 +115,7 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
             return;
         }
         runOnce.set(true);
+        DeploymentTimes.phaseStarting(deploymentUnit, phase);
         final DeployerChains chains = deployerChainsInjector.getValue();
         final DeploymentUnit deploymentUnit = this.deploymentUnit;
         final List<RegisteredDeploymentUnitProcessor> list = chains.getChain(phase);
@@ -169,11 +170,16 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
             }
         }
 
+        final DeploymentProcessingProfile profile = DeploymentProcessingProfile.ENABLED ? DeploymentProcessingProfile.startPhase(deploymentUnit, phase) : null;
         while (iterator.hasNext()) {
             final RegisteredDeploymentUnitProcessor processor = iterator.next();
             try {
                 if (shouldRun(deploymentUnit, processor)) {
-                    processor.getProcessor().deploy(processorContext);
+                    if (profile == null) {
+                        processor.getProcessor().deploy(processorContext);
+                    } else {
+                        profile.deploy(phase, processor, processorContext);
+                    }
                 }
             } catch (Throwable e) {
                 while (iterator.hasPrevious()) {
@@ -184,6 +190,8 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
             }
         }
 
+        DeploymentTimes.phaseComplete(deploymentUnit);
+
         final Phase nextPhase = phase.next();
         if (nextPhase != null) {
             final ServiceName serviceName = DeploymentUtils.getDeploymentUnitPhaseServiceName(deploymentUnit, nextPhase);
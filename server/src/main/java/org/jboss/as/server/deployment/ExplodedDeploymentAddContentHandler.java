@@ -151,6 +151,10 @@ public class ExplodedDeploymentAddContentHandler implements OperationStepHandler
             public void handleResult(ResultAction resultAction, OperationContext context, ModelNode operation) {
                 if (resultAction == ResultAction.KEEP) {
                     if (oldHash != null  && (newHash == null || !Arrays.equals(oldHash, newHash))) {
+                        if (newHash != null) {
+                            // Let the next deployment of the new content reuse what was derived from the unchanged files
+                            contentRepository.transferDerivedContent(oldHash, newHash);
+                        }
                         // The old content is no longer used; clean from repos
                         contentRepository.removeContent(ModelContentReference.fromModelAddress(address, oldHash));
                     }
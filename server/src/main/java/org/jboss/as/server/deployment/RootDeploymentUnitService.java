@@ -22,11 +22,15 @@
 
 package org.jboss.as.server.deployment;
 
+import java.nio.file.Path;
+
 import org.jboss.as.controller.capability.CapabilityServiceSupport;
 import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.controller.services.path.PathManager;
+import org.jboss.as.repository.ContentRepository;
+import org.jboss.as.server.deployment.annotation.AnnotationIndexCache;
 import org.jboss.as.server.deploymentoverlay.DeploymentOverlayIndex;
 import org.jboss.as.server.services.security.AbstractVaultReader;
 import org.jboss.msc.inject.Injector;
@@ -43,11 +47,13 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
     private final InjectedValue<DeploymentMountProvider> serverDeploymentRepositoryInjector = new InjectedValue<DeploymentMountProvider>();
     private final InjectedValue<PathManager> pathManagerInjector = new InjectedValue<PathManager>();
     private final InjectedValue<VirtualFile> contentsInjector = new InjectedValue<VirtualFile>();
+    private final InjectedValue<ContentRepository> contentRepositoryInjector = new InjectedValue<ContentRepository>();
     private final String name;
     private final String managementName;
     private final DeploymentUnit parent;
     private final DeploymentOverlayIndex deploymentOverlays;
     private final boolean isExplodedContent;
+    private final byte[] contentHash;
 
     /**
      * Construct a new instance.
@@ -61,11 +67,13 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
      * @param vaultReader the vault reader
      * @param deploymentOverlays the deployment overlays
      * @param exploded the deployment has been exploded
+     * @param contentHash the hash of the contents, if they are stored in the content repository
      */
     public RootDeploymentUnitService(final String name, final String managementName, final DeploymentUnit parent,
                                      final ImmutableManagementResourceRegistration registration, final ManagementResourceRegistration mutableRegistration,
                                      final Resource resource, final CapabilityServiceSupport capabilityServiceSupport,
-                                     final AbstractVaultReader vaultReader, DeploymentOverlayIndex deploymentOverlays, boolean exploded) {
+                                     final AbstractVaultReader vaultReader, DeploymentOverlayIndex deploymentOverlays, boolean exploded,
+                                     byte[] contentHash) {
         super(registration, mutableRegistration, resource, capabilityServiceSupport, vaultReader);
         assert name != null : "name is null";
         this.name = name;
@@ -73,6 +81,7 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
         this.parent = parent;
         this.deploymentOverlays = deploymentOverlays;
         this.isExplodedContent = exploded;
+        this.contentHash = contentHash;
     }
 
     protected DeploymentUnit createAndInitializeDeploymentUnit(final ServiceRegistry registry) {
@@ -91,6 +100,10 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
         if(this.isExplodedContent) {
             MountExplodedMarker.setMountExploded(deploymentUnit);
         }
+        final AnnotationIndexCache indexCache = createAnnotationIndexCache();
+        if (indexCache != null) {
+            deploymentUnit.putAttachment(Attachments.ANNOTATION_INDEX_CACHE, indexCache);
+        }
 
         // Attach the deployment repo
         deploymentUnit.putAttachment(Attachments.SERVER_DEPLOYMENT_REPOSITORY, serverDeploymentRepositoryInjector.getValue());
@@ -98,6 +111,20 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
         return deploymentUnit;
     }
 
+    /**
+     * Indexes can only be cached for managed content, whose hash identifies it, and only as long as no overlay may
+     * change the classes of the deployment. The content of an exploded deployment may be changed in place, so its
+     * indexes are only reused if the indexed resource root is unchanged.
+     */
+    private AnnotationIndexCache createAnnotationIndexCache() {
+        if (contentHash == null || parent != null || (deploymentOverlays != null && !deploymentOverlays.getOverlays(name).isEmpty())) {
+            return null;
+        }
+        final ContentRepository contentRepository = contentRepositoryInjector.getOptionalValue();
+        final Path directory = contentRepository == null ? null : contentRepository.getDerivedContentDirectory(contentHash);
+        return directory == null ? null : new AnnotationIndexCache(directory.resolve("annotation-index"), isExplodedContent);
+    }
+
     Injector<DeploymentMountProvider> getServerDeploymentRepositoryInjector() {
         return serverDeploymentRepositoryInjector;
     }
@@ -109,4 +136,8 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
     InjectedValue<VirtualFile> getContentsInjector() {
         return contentsInjector;
     }
+
+    InjectedValue<ContentRepository> getContentRepositoryInjector() {
+        return contentRepositoryInjector;
+    }
 }
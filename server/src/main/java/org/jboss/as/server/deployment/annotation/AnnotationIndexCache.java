@@ -0,0 +1,306 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.as.repository.HashUtil;
+import org.jboss.as.server.logging.ServerLogger;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexReader;
+import org.jboss.jandex.IndexWriter;
+
+/**
+ * On-disk cache of the annotation indexes generated for the resource roots of a single deployment content.
+ * <p>
+ * Entries are keyed by the path of the resource root relative to the deployment root and by the paths excluded
+ * from indexing, so the cache directory must be specific to one content hash. Archived content never changes for a
+ * given hash, so its entries never need to be invalidated individually; they are removed along with the content.
+ * <p>
+ * The content of an exploded deployment may change in place, and its cache is copied to the new content hash when
+ * it does. A cache for such content is therefore {@code fingerprinted}: its entries are also keyed by the paths,
+ * sizes and modification times of the files of the resource root that would be indexed, so only the resource roots
+ * that actually changed are indexed again. Entries that were not used by the last deployment of the content are
+ * {@link #prune() pruned}.
+ * <p>
+ * Entries are also keyed by the version of Jandex, so indexes written by another version are never read. If the
+ * version is unknown nothing is cached.
+ */
+public final class AnnotationIndexCache {
+
+    private static final String SUFFIX = ".idx";
+    private static final String TMP_PREFIX = "index";
+    private static final String TMP_SUFFIX = ".tmp";
+
+    /**
+     * The version of the index format, which is the version of Jandex writing it, or {@code null} if it is unknown.
+     */
+    private static final String INDEX_VERSION = Index.class.getPackage() == null ? null : Index.class.getPackage().getImplementationVersion();
+
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+
+    private final Path directory;
+    private final boolean fingerprinted;
+    private final String indexVersion;
+    private final Set<String> usedEntries = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates a new cache storing its entries in the given directory, which is created on first write.
+     *
+     * @param directory the directory. Cannot be {@code null}
+     * @param fingerprinted {@code true} if the content of the resource roots may change for the same directory
+     */
+    public AnnotationIndexCache(final Path directory, final boolean fingerprinted) {
+        this(directory, fingerprinted, INDEX_VERSION);
+    }
+
+    AnnotationIndexCache(final Path directory, final boolean fingerprinted, final String indexVersion) {
+        assert directory != null : "directory is null";
+        this.directory = directory;
+        this.fingerprinted = fingerprinted;
+        this.indexVersion = indexVersion;
+    }
+
+    /**
+     * Gets whether the entries of this cache are keyed by the files of the resource roots.
+     *
+     * @return {@code true} if the cache is fingerprinted
+     */
+    boolean isFingerprinted() {
+        return fingerprinted;
+    }
+
+    /**
+     * Gets the name of the cache entry of a resource root.
+     *
+     * @param rootPath the path of the resource root relative to the deployment root
+     * @param ignorePaths the paths excluded from indexing, or {@code null}
+     * @param physicalRoot the file or directory holding the resource root, only required if this cache is fingerprinted
+     * @return the name of the entry, or {@code null} if the resource root cannot be cached
+     */
+    String getEntryName(final String rootPath, final Collection<String> ignorePaths, final Path physicalRoot) {
+        if (indexVersion == null) {
+            return null;
+        }
+        final MessageDigest digest = newDigest();
+        digest.update(indexVersion.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(rootPath.getBytes(StandardCharsets.UTF_8));
+        if (ignorePaths != null) {
+            for (String path : new TreeSet<>(ignorePaths)) {
+                digest.update((byte) 0);
+                digest.update(path.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        if (fingerprinted) {
+            if (physicalRoot == null) {
+                return null;
+            }
+            try {
+                fingerprint(digest, physicalRoot, ignorePaths);
+            } catch (IOException | UncheckedIOException e) {
+                ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Failed to fingerprint %s", physicalRoot);
+                return null;
+            }
+        }
+        return HashUtil.bytesToHexString(digest.digest()) + SUFFIX;
+    }
+
+    /**
+     * Reads a cached index.
+     *
+     * @param entryName the name of the entry, as returned by {@link #getEntryName(String, Collection, Path)}
+     * @return the index, or {@code null} if there is no usable cache entry
+     */
+    Index read(final String entryName) {
+        usedEntries.add(entryName);
+        final Path file = directory.resolve(entryName);
+        if (Files.isRegularFile(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                final Index index = new IndexReader(in).read();
+                hits.incrementAndGet();
+                ServerLogger.DEPLOYMENT_LOGGER.tracef("Read cached index from %s", file);
+                return index;
+            } catch (IOException | RuntimeException e) {
+                ServerLogger.DEPLOYMENT_LOGGER.cannotLoadAnnotationIndex(file.toString(), e.toString());
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Stores an index. Failures are only logged, as the cache is merely an optimization.
+     *
+     * @param entryName the name of the entry, as returned by {@link #getEntryName(String, Collection, Path)}
+     * @param index the index to store
+     */
+    void write(final String entryName, final Index index) {
+        usedEntries.add(entryName);
+        final Path file = directory.resolve(entryName);
+        Path tmp = null;
+        try {
+            Files.createDirectories(directory);
+            tmp = Files.createTempFile(directory, TMP_PREFIX, TMP_SUFFIX);
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                new IndexWriter(out).write(index);
+            }
+            // Concurrent writers of the same entry produce the same index, so the last one wins
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            tmp = null;
+            ServerLogger.DEPLOYMENT_LOGGER.tracef("Cached index at %s", file);
+        } catch (IOException | RuntimeException e) {
+            ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Failed to cache index at %s", file);
+        } finally {
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException ignored) {
+                    // ignore
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the entries of a fingerprinted cache that were neither read nor written through this instance, as they
+     * belong to versions of the resource roots that no longer exist, along with the temporary files of writes that
+     * did not complete, e.g. because they were copied from the cache of the previous content while being written.
+     * Does nothing if the cache is not fingerprinted. Must not be called while entries are being written.
+     */
+    void prune() {
+        if (!fingerprinted || !Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+            for (Path entry : entries) {
+                final String name = entry.getFileName().toString();
+                if (name.endsWith(SUFFIX) ? !usedEntries.contains(name) : name.startsWith(TMP_PREFIX) && name.endsWith(TMP_SUFFIX)) {
+                    Files.deleteIfExists(entry);
+                }
+            }
+        } catch (IOException e) {
+            ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Failed to prune %s", directory);
+        }
+    }
+
+    /**
+     * Gets the number of indexes read from a cache since the server started.
+     *
+     * @return the number of cache hits
+     */
+    public static long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of indexes that had to be generated despite a cache being available, since the server started.
+     *
+     * @return the number of cache misses
+     */
+    public static long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Digests the path, size and modification time of the files of a resource root that are indexed, i.e. its class
+     * files outside of the paths excluded from indexing, or of the resource root itself if it is an archive. The files
+     * are not read, so an unchanged resource root can be recognized without reading all of it.
+     */
+    private static void fingerprint(final MessageDigest digest, final Path physicalRoot, final Collection<String> ignorePaths) throws IOException {
+        final BasicFileAttributes rootAttributes = Files.readAttributes(physicalRoot, BasicFileAttributes.class);
+        if (!rootAttributes.isDirectory()) {
+            digestAttributes(digest, "", rootAttributes);
+            return;
+        }
+        final List<Path> files = new ArrayList<>();
+        final Set<String> ignored = ignorePaths == null ? Collections.<String>emptySet() : new HashSet<String>(ignorePaths);
+        Files.walkFileTree(physicalRoot, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) {
+                return ignored.contains(relativePath(physicalRoot, dir)) ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                if (attrs.isRegularFile() && file.getFileName().toString().endsWith(".class")) {
+                    files.add(file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        Collections.sort(files);
+        for (Path file : files) {
+            digestAttributes(digest, relativePath(physicalRoot, file), Files.readAttributes(file, BasicFileAttributes.class));
+        }
+    }
+
+    private static void digestAttributes(final MessageDigest digest, final String path, final BasicFileAttributes attributes) {
+        digest.update((byte) 0);
+        digest.update(path.getBytes(StandardCharsets.UTF_8));
+        final long size = attributes.size();
+        final long lastModified = attributes.lastModifiedTime().toMillis();
+        for (int i = 0; i < 8; i++) {
+            digest.update((byte) (size >>> (i * 8)));
+            digest.update((byte) (lastModified >>> (i * 8)));
+        }
+    }
+
+    /**
+     * Gets the path of a file relative to a resource root, separated by {@code /} like the paths excluded from indexing.
+     */
+    private static String relativePath(final Path physicalRoot, final Path file) {
+        return physicalRoot.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -22,12 +22,27 @@
 
 package org.jboss.as.server.deployment.annotation;
 
+import static java.security.AccessController.doPrivileged;
+
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 import org.jboss.as.server.deployment.DeploymentPhaseContext;
 import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.deployment.DeploymentUnitProcessor;
 import org.jboss.as.server.deployment.DeploymentUtils;
 import org.jboss.as.server.deployment.module.ResourceRoot;
+import org.jboss.as.server.logging.ServerLogger;
+import org.jboss.threads.JBossThreadFactory;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Deployment unit processor responsible for creating and attaching an annotation index for a resource root
@@ -37,6 +52,30 @@ import org.jboss.as.server.deployment.module.ResourceRoot;
  */
 public class AnnotationIndexProcessor implements DeploymentUnitProcessor {
 
+    /**
+     * The maximum number of resource roots indexed concurrently, shared by all deployments. A value lower than 2
+     * indexes the resource roots of a deployment one after the other on the deployment thread.
+     */
+    static final int MAX_PARALLELISM = getMaxParallelism();
+
+    private static int getMaxParallelism() {
+        final String property = "org.jboss.as.server.deployment.annotation-index.max-parallelism";
+        final String val = WildFlySecurityManager.getPropertyPrivileged(property, null);
+        if (val != null) {
+            try {
+                final int result = Integer.parseInt(val.trim());
+                if (result >= 0) {
+                    return result;
+                } else {
+                    ServerLogger.ROOT_LOGGER.invalidPoolCoreSize(val, property);
+                }
+            } catch (NumberFormatException nfe) {
+                ServerLogger.ROOT_LOGGER.invalidPoolCoreSize(val, property);
+            }
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+
     /**
      * Process this deployment for annotations.  This will use an annotation indexer to create an index of all annotations
      * found in this deployment and attach it to the deployment unit context.
@@ -47,11 +86,84 @@ public class AnnotationIndexProcessor implements DeploymentUnitProcessor {
      */
     public void deploy(DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
         final DeploymentUnit deploymentUnit = phaseContext.getDeploymentUnit();
-        for (ResourceRoot resourceRoot : DeploymentUtils.allResourceRoots(deploymentUnit)) {
-            ResourceRootIndexer.indexResourceRoot(resourceRoot);
+        final List<ResourceRoot> resourceRoots = DeploymentUtils.allResourceRoots(deploymentUnit);
+        indexResourceRoots(resourceRoots, deploymentUnit, getExecutor(resourceRoots.size()));
+    }
+
+    /**
+     * Gets the executor to index the given number of resource roots with.
+     *
+     * @param resourceRoots the number of resource roots
+     * @return the executor, or {@code null} if the resource roots should be indexed one after the other
+     */
+    static ExecutorService getExecutor(final int resourceRoots) {
+        return MAX_PARALLELISM < 2 || resourceRoots < 2 ? null : ExecutorHolder.EXECUTOR;
+    }
+
+    /**
+     * Indexes resource roots, concurrently if an executor is given.
+     *
+     * @param resourceRoots the resource roots to index
+     * @param deploymentUnit the deployment unit the resource roots belong to, or {@code null}
+     * @param executor the executor indexing the resource roots, or {@code null} to index them one after the other on
+     *                 the calling thread
+     * @throws DeploymentUnitProcessingException if a resource root could not be indexed
+     */
+    static void indexResourceRoots(final List<ResourceRoot> resourceRoots, final DeploymentUnit deploymentUnit,
+                                   final ExecutorService executor) throws DeploymentUnitProcessingException {
+        if (executor == null) {
+            for (ResourceRoot resourceRoot : resourceRoots) {
+                ResourceRootIndexer.indexResourceRoot(resourceRoot, deploymentUnit);
+            }
+            return;
+        }
+        // Each root gets its own Indexer, so roots can be indexed independently of each other
+        final List<Future<Void>> tasks = new ArrayList<>(resourceRoots.size());
+        for (final ResourceRoot resourceRoot : resourceRoots) {
+            tasks.add(executor.submit(() -> {
+                ResourceRootIndexer.indexResourceRoot(resourceRoot, deploymentUnit);
+                return null;
+            }));
+        }
+        DeploymentUnitProcessingException failure = null;
+        for (Future<Void> task : tasks) {
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                for (Future<Void> t : tasks) {
+                    t.cancel(false);
+                }
+                throw ServerLogger.ROOT_LOGGER.deploymentIndexingFailed(e);
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof DeploymentUnitProcessingException
+                            ? (DeploymentUnitProcessingException) e.getCause()
+                            : ServerLogger.ROOT_LOGGER.deploymentIndexingFailed(e.getCause());
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
         }
     }
 
     public void undeploy(final DeploymentUnit context) {
     }
+
+    private static final class ExecutorHolder {
+        private static final ExecutorService EXECUTOR;
+
+        static {
+            final JBossThreadFactory threadFactory = doPrivileged(new PrivilegedAction<JBossThreadFactory>() {
+                public JBossThreadFactory run() {
+                    return new JBossThreadFactory(new ThreadGroup("AnnotationIndexProcessor-threads"), Boolean.TRUE, null, "%G - %t", null, null);
+                }
+            });
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_PARALLELISM, MAX_PARALLELISM, 60L, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), threadFactory);
+            executor.allowCoreThreadTimeOut(true);
+            EXECUTOR = executor;
+        }
+    }
 }
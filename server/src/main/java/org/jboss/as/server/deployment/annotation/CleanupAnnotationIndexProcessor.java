@@ -43,7 +43,11 @@ public class CleanupAnnotationIndexProcessor implements DeploymentUnitProcessor
         for(final ResourceRoot root : DeploymentUtils.allResourceRoots(deploymentUnit)) {
             root.removeAttachment(Attachments.ANNOTATION_INDEX);
         }
-
+        // By now the sub deployments have been indexed as well, so the cache entries in use are known
+        final AnnotationIndexCache cache = deploymentUnit.getParent() == null ? deploymentUnit.removeAttachment(Attachments.ANNOTATION_INDEX_CACHE) : null;
+        if (cache != null) {
+            cache.prune();
+        }
     }
 
     @Override
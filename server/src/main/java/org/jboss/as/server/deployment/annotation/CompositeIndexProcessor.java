@@ -92,7 +92,7 @@ public class CompositeIndexProcessor implements DeploymentUnitProcessor {
             if(additional != null) {
                 final List<Index> moduleIndexes = new ArrayList<>();
                 for(ResourceRoot resource : additional.getResourceRoots()) {
-                    ResourceRootIndexer.indexResourceRoot(resource);
+                    ResourceRootIndexer.indexResourceRoot(resource, deploymentUnit);
                     Index indexAttachment = resource.getAttachment(Attachments.ANNOTATION_INDEX);
                     if(indexAttachment != null) {
                         indexes.add(indexAttachment);
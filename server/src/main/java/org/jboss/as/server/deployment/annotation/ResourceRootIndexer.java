@@ -22,13 +22,16 @@
 
 package org.jboss.as.server.deployment.annotation;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 import org.jboss.as.server.logging.ServerLogger;
 import org.jboss.as.server.deployment.Attachments;
+import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.deployment.module.ResourceRoot;
 import org.jboss.as.server.moduleservice.ModuleIndexBuilder;
@@ -50,6 +53,30 @@ public class ResourceRootIndexer {
      * Creates and attaches the annotation index to a resource root, if it has not already been attached
      */
     public static void indexResourceRoot(final ResourceRoot resourceRoot) throws DeploymentUnitProcessingException {
+        indexResourceRoot(resourceRoot, null);
+    }
+
+    /**
+     * Creates and attaches the annotation indexes to resource roots, if they have not already been attached. The
+     * resource roots are indexed concurrently, like the resource roots of a deployment are during
+     * {@link org.jboss.as.server.deployment.Phase#STRUCTURE_ANNOTATION_INDEX}.
+     *
+     * @param resourceRoots the resource roots to index
+     * @param deploymentUnit the deployment unit the resource roots belong to, or {@code null}
+     */
+    public static void indexResourceRoots(final List<ResourceRoot> resourceRoots, final DeploymentUnit deploymentUnit) throws DeploymentUnitProcessingException {
+        AnnotationIndexProcessor.indexResourceRoots(resourceRoots, deploymentUnit, AnnotationIndexProcessor.getExecutor(resourceRoots.size()));
+    }
+
+    /**
+     * Creates and attaches the annotation index to a resource root, if it has not already been attached. If the
+     * resource root is part of the given deployment and the deployment has an {@link Attachments#ANNOTATION_INDEX_CACHE}
+     * the index is read from, or stored in, that cache.
+     *
+     * @param resourceRoot the resource root to index
+     * @param deploymentUnit the deployment unit the resource root belongs to, or {@code null}
+     */
+    public static void indexResourceRoot(final ResourceRoot resourceRoot, final DeploymentUnit deploymentUnit) throws DeploymentUnitProcessingException {
         if (resourceRoot.getAttachment(Attachments.ANNOTATION_INDEX) != null) {
             return;
         }
@@ -81,6 +108,16 @@ public class ResourceRootIndexer {
         }
 
         final VirtualFile virtualFile = resourceRoot.getRoot();
+        final AnnotationIndexCache cache = getCache(deploymentUnit);
+        final String cacheEntry = cache == null ? null : getCacheEntry(cache, deploymentUnit, virtualFile, indexIgnorePaths);
+        if (cacheEntry != null) {
+            final Index index = cache.read(cacheEntry);
+            if (index != null) {
+                resourceRoot.putAttachment(Attachments.ANNOTATION_INDEX, index);
+                return;
+            }
+        }
+
         final Indexer indexer = new Indexer();
         try {
             final VisitorAttributes visitorAttributes = new VisitorAttributes();
@@ -106,8 +143,52 @@ public class ResourceRootIndexer {
             final Index index = indexer.complete();
             resourceRoot.putAttachment(Attachments.ANNOTATION_INDEX, index);
             ServerLogger.DEPLOYMENT_LOGGER.tracef("Generated index for archive %s", virtualFile);
+            if (cacheEntry != null) {
+                cache.write(cacheEntry, index);
+            }
         } catch (Throwable t) {
             throw ServerLogger.ROOT_LOGGER.deploymentIndexingFailed(t);
         }
     }
+
+    private static AnnotationIndexCache getCache(final DeploymentUnit deploymentUnit) {
+        if (deploymentUnit == null) {
+            return null;
+        }
+        final DeploymentUnit top = deploymentUnit.getParent() == null ? deploymentUnit : deploymentUnit.getParent();
+        return top.getAttachment(Attachments.ANNOTATION_INDEX_CACHE);
+    }
+
+    /**
+     * Gets the cache entry of a resource root, or {@code null} if it does not live inside the deployment content, in
+     * which case it cannot be cached.
+     */
+    private static String getCacheEntry(final AnnotationIndexCache cache, final DeploymentUnit deploymentUnit, final VirtualFile virtualFile, final Set<String> indexIgnorePaths) {
+        final DeploymentUnit top = deploymentUnit.getParent() == null ? deploymentUnit : deploymentUnit.getParent();
+        final ResourceRoot deploymentRoot = top.getAttachment(Attachments.DEPLOYMENT_ROOT);
+        if (deploymentRoot == null) {
+            return null;
+        }
+        final VirtualFile root = deploymentRoot.getRoot();
+        final String rootPath;
+        if (virtualFile.equals(root)) {
+            rootPath = "";
+        } else {
+            try {
+                rootPath = virtualFile.getPathNameRelativeTo(root);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        Path physicalRoot = null;
+        // Only exploded content is fingerprinted, whose physical files are the content itself
+        if (cache.isFingerprinted()) {
+            try {
+                physicalRoot = root.getPhysicalFile().toPath().resolve(rootPath);
+            } catch (IOException e) {
+                ServerLogger.DEPLOYMENT_LOGGER.tracef(e, "Cannot locate %s", virtualFile);
+            }
+        }
+        return cache.getEntryName(rootPath, indexIgnorePaths, physicalRoot);
+    }
 }
@@ -0,0 +1,193 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.module;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jboss.as.server.deployment.AttachmentKey;
+import org.jboss.as.server.deployment.DeploymentUnit;
+import org.jboss.modules.DependencySpec;
+import org.jboss.modules.ModuleIdentifier;
+import org.jboss.modules.ModuleLoader;
+import org.jboss.modules.filter.MultiplePathFilterBuilder;
+import org.jboss.modules.filter.PathFilter;
+import org.jboss.modules.filter.PathFilters;
+
+/**
+ * Creates the {@link DependencySpec}s of the modules of a deployment.
+ * <p>
+ * Most dependencies of deployment modules are added by processors without any filter, and all the sub deployments of
+ * a deployment usually get the same ones. As dependency specifications are immutable, those of unfiltered
+ * dependencies are shared by all the modules of the top level deployment instead of being created again for each
+ * module. The same goes for the import filters of dependencies that do not define their own.
+ */
+final class DependencySpecCache {
+
+    private static final AttachmentKey<DependencySpecCache> CACHE = AttachmentKey.create(DependencySpecCache.class);
+
+    /** Guards the creation of the cache attachment; the deployment units' own monitors are left to them. */
+    private static final Object ATTACH_LOCK = new Object();
+
+    private static final PathFilter DEFAULT_IMPORT_FILTER = createImportFilter(false);
+    private static final PathFilter SERVICES_IMPORT_FILTER = createImportFilter(true);
+
+    private final Map<Key, DependencySpec> specs = new ConcurrentHashMap<>();
+
+    private DependencySpecCache() {
+    }
+
+    /**
+     * Gets the cache shared by a deployment unit and the other units of its top level deployment, creating it if needed.
+     *
+     * @param deploymentUnit the deployment unit
+     * @return the cache
+     */
+    static DependencySpecCache of(final DeploymentUnit deploymentUnit) {
+        final DeploymentUnit top = deploymentUnit.getParent() == null ? deploymentUnit : deploymentUnit.getParent();
+        synchronized (ATTACH_LOCK) {
+            DependencySpecCache cache = top.getAttachment(CACHE);
+            if (cache == null) {
+                cache = new DependencySpecCache();
+                top.putAttachment(CACHE, cache);
+            }
+            return cache;
+        }
+    }
+
+    /**
+     * Discards the cache of a top level deployment.
+     *
+     * @param deploymentUnit the top level deployment unit
+     */
+    static void remove(final DeploymentUnit deploymentUnit) {
+        deploymentUnit.removeAttachment(CACHE);
+    }
+
+    /**
+     * Gets the specification of a dependency.
+     *
+     * @param dependency the dependency
+     * @param export whether the dependency is exported, overriding {@link ModuleDependency#isExport()}
+     * @return the specification
+     */
+    DependencySpec get(final ModuleDependency dependency, final boolean export) {
+        final List<FilterSpecification> importFilters = dependency.getImportFilters();
+        final List<FilterSpecification> exportFilters = dependency.getExportFilters();
+        if (!importFilters.isEmpty() || !exportFilters.isEmpty()) {
+            return create(dependency, export);
+        }
+        final Key key = new Key(dependency, export);
+        final DependencySpec spec = specs.get(key);
+        return spec != null ? spec : specs.computeIfAbsent(key, k -> create(dependency, export));
+    }
+
+    private static DependencySpec create(final ModuleDependency dependency, final boolean export) {
+        final List<FilterSpecification> importFilters = dependency.getImportFilters();
+        final List<FilterSpecification> exportFilters = dependency.getExportFilters();
+        final PathFilter importFilter;
+        final PathFilter exportFilter;
+        if (importFilters.isEmpty()) {
+            importFilter = dependency.isImportServices() ? SERVICES_IMPORT_FILTER : DEFAULT_IMPORT_FILTER;
+        } else {
+            final MultiplePathFilterBuilder importBuilder = PathFilters.multiplePathFilterBuilder(true);
+            for (final FilterSpecification filter : importFilters) {
+                importBuilder.addFilter(filter.getPathFilter(), filter.isInclude());
+            }
+            addDefaultImportFilters(importBuilder, dependency.isImportServices());
+            importFilter = importBuilder.create();
+        }
+        if (exportFilters.isEmpty()) {
+            if (export) {
+                exportFilter = PathFilters.acceptAll();
+            } else {
+                exportFilter = PathFilters.rejectAll();
+            }
+        } else {
+            final MultiplePathFilterBuilder exportBuilder = PathFilters
+                    .multiplePathFilterBuilder(export);
+            for (final FilterSpecification filter : exportFilters) {
+                exportBuilder.addFilter(filter.getPathFilter(), filter.isInclude());
+            }
+            exportFilter = exportBuilder.create();
+        }
+        return DependencySpec.createModuleDependencySpec(importFilter, exportFilter, dependency
+                .getModuleLoader(), dependency.getIdentifier(), dependency.isOptional());
+    }
+
+    private static PathFilter createImportFilter(final boolean importServices) {
+        final MultiplePathFilterBuilder importBuilder = PathFilters.multiplePathFilterBuilder(true);
+        addDefaultImportFilters(importBuilder, importServices);
+        return importBuilder.create();
+    }
+
+    private static void addDefaultImportFilters(final MultiplePathFilterBuilder importBuilder, final boolean importServices) {
+        if (importServices) {
+            importBuilder.addFilter(PathFilters.getMetaInfServicesFilter(), true);
+        }
+        importBuilder.addFilter(PathFilters.getMetaInfSubdirectoriesFilter(), false);
+        importBuilder.addFilter(PathFilters.getMetaInfFilter(), false);
+    }
+
+    /**
+     * The properties of an unfiltered dependency its specification is made of.
+     */
+    private static final class Key {
+        private final ModuleLoader moduleLoader;
+        private final ModuleIdentifier identifier;
+        private final boolean optional;
+        private final boolean export;
+        private final boolean importServices;
+        private final int hashCode;
+
+        private Key(final ModuleDependency dependency, final boolean export) {
+            this.moduleLoader = dependency.getModuleLoader();
+            this.identifier = dependency.getIdentifier();
+            this.optional = dependency.isOptional();
+            this.export = export;
+            this.importServices = dependency.isImportServices();
+            int hashCode = System.identityHashCode(moduleLoader);
+            hashCode = 31 * hashCode + identifier.hashCode();
+            hashCode = 31 * hashCode + (optional ? 1 : 0);
+            hashCode = 31 * hashCode + (export ? 1 : 0);
+            this.hashCode = 31 * hashCode + (importServices ? 1 : 0);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            // Module loaders are compared by identity, as the dependency spec references the loader itself
+            return moduleLoader == other.moduleLoader && identifier.equals(other.identifier) && optional == other.optional
+                    && export == other.export && importServices == other.importServices;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.module;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.security.CodeSigner;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.as.server.logging.ServerLogger;
+import org.jboss.vfs.TempDir;
+import org.jboss.vfs.VFS;
+import org.jboss.vfs.VFSUtils;
+import org.jboss.vfs.VirtualFile;
+import org.jboss.vfs.spi.FileSystem;
+import org.jboss.vfs.spi.JavaZipFileSystem;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * A zip file system that only opens the archive the first time something inside of it is accessed.
+ * <p>
+ * Nested archives used as resource roots are mounted while the structure of a deployment is determined, one after the
+ * other. If the {@code org.jboss.as.server.deployment.lazy-mount} system property is {@code true}, opening them, and
+ * thus reading their central directory, is deferred until they are first read, which usually happens while the
+ * deployment is being indexed in parallel, or not at all.
+ * <p>
+ * The archive still has to be available as a physical file when it is mounted, so archives nested in other archives
+ * are extracted to a temporary file as they were before.
+ */
+public final class LazyZipFileSystem implements FileSystem {
+
+    static final boolean ENABLED = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged("org.jboss.as.server.deployment.lazy-mount", "false"));
+
+    private static final AtomicLong deferred = new AtomicLong();
+    private static final AtomicLong opened = new AtomicLong();
+
+    private final File archiveFile;
+    private final VirtualFile mountPoint;
+    private volatile FileSystem delegate;
+    private TempDir tempDir;
+    private IOException failure;
+    private boolean closed;
+
+    private LazyZipFileSystem(final File archiveFile, final VirtualFile mountPoint) {
+        this.archiveFile = archiveFile;
+        this.mountPoint = mountPoint;
+    }
+
+    /**
+     * Mounts an archive onto itself, like {@link VFS#mountZip(VirtualFile, VirtualFile, org.jboss.vfs.TempFileProvider)},
+     * deferring the opening of the archive if lazy mounting is enabled.
+     *
+     * @param archive the archive to mount
+     * @return the handle to close to unmount the archive
+     * @throws IOException if the archive cannot be mounted
+     */
+    public static Closeable mountZip(final VirtualFile archive) throws IOException {
+        if (!ENABLED) {
+            return VFS.mountZip(archive, archive, TempFileProviderService.provider());
+        }
+        return mountZipLazily(archive);
+    }
+
+    /**
+     * Mounts an archive onto itself, deferring the opening of the archive whether lazy mounting is enabled or not.
+     *
+     * @param archive the archive to mount
+     * @return the handle to close to unmount the archive
+     * @throws IOException if the archive cannot be mounted
+     */
+    static Closeable mountZipLazily(final VirtualFile archive) throws IOException {
+        final Closeable handle = VFS.mount(archive, new LazyZipFileSystem(archive.getPhysicalFile(), archive));
+        deferred.incrementAndGet();
+        return handle;
+    }
+
+    /**
+     * Gets the number of archives mounted lazily since the server started.
+     *
+     * @return the number of lazily mounted archives
+     */
+    public static long getDeferredCount() {
+        return deferred.get();
+    }
+
+    /**
+     * Gets the number of lazily mounted archives that had to be opened since the server started.
+     *
+     * @return the number of opened archives
+     */
+    public static long getOpenedCount() {
+        return opened.get();
+    }
+
+    private synchronized FileSystem getDelegate() throws IOException {
+        if (delegate == null) {
+            if (closed) {
+                throw new IOException(archiveFile + " is no longer mounted");
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            TempDir tempDir = null;
+            try {
+                tempDir = TempFileProviderService.provider().createTempDir(archiveFile.getName());
+                delegate = new JavaZipFileSystem(archiveFile, mountPoint, tempDir);
+                this.tempDir = tempDir;
+            } catch (IOException e) {
+                VFSUtils.safeClose(tempDir);
+                ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Failed to open lazily mounted archive %s", archiveFile);
+                failure = e;
+                throw e;
+            }
+            opened.incrementAndGet();
+            ServerLogger.DEPLOYMENT_LOGGER.tracef("Opened lazily mounted archive %s", archiveFile);
+        }
+        return delegate;
+    }
+
+    /**
+     * Gets the opened archive, for the methods that cannot report an {@link IOException}. These report the failure to
+     * open the archive as an {@link UncheckedIOException} instead, rather than hide it by behaving as if the archive
+     * was empty.
+     */
+    private FileSystem getOpenedDelegate() {
+        final FileSystem delegate = this.delegate;
+        if (delegate != null) {
+            return delegate;
+        }
+        try {
+            return getDelegate();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public File getFile(final VirtualFile mountPoint, final VirtualFile target) throws IOException {
+        return getDelegate().getFile(mountPoint, target);
+    }
+
+    @Override
+    public InputStream openInputStream(final VirtualFile mountPoint, final VirtualFile target) throws IOException {
+        return getDelegate().openInputStream(mountPoint, target);
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    public boolean delete(final VirtualFile mountPoint, final VirtualFile target) {
+        return getOpenedDelegate().delete(mountPoint, target);
+    }
+
+    @Override
+    public long getSize(final VirtualFile mountPoint, final VirtualFile target) {
+        return getOpenedDelegate().getSize(mountPoint, target);
+    }
+
+    @Override
+    public long getLastModified(final VirtualFile mountPoint, final VirtualFile target) {
+        return getOpenedDelegate().getLastModified(mountPoint, target);
+    }
+
+    @Override
+    public boolean exists(final VirtualFile mountPoint, final VirtualFile target) {
+        // The mount point itself is the root directory of the archive, so it can be checked without opening the archive
+        if (target.equals(mountPoint)) {
+            return true;
+        }
+        return getOpenedDelegate().exists(mountPoint, target);
+    }
+
+    @Override
+    public boolean isFile(final VirtualFile mountPoint, final VirtualFile target) {
+        if (target.equals(mountPoint)) {
+            return false;
+        }
+        return getOpenedDelegate().isFile(mountPoint, target);
+    }
+
+    @Override
+    public boolean isDirectory(final VirtualFile mountPoint, final VirtualFile target) {
+        if (target.equals(mountPoint)) {
+            return true;
+        }
+        return getOpenedDelegate().isDirectory(mountPoint, target);
+    }
+
+    @Override
+    public List<String> getDirectoryEntries(final VirtualFile mountPoint, final VirtualFile target) {
+        return getOpenedDelegate().getDirectoryEntries(mountPoint, target);
+    }
+
+    @Override
+    public CodeSigner[] getCodeSigners(final VirtualFile mountPoint, final VirtualFile target) {
+        return getOpenedDelegate().getCodeSigners(mountPoint, target);
+    }
+
+    @Override
+    public File getMountSource() {
+        return archiveFile;
+    }
+
+    @Override
+    public URI getRootURI() throws IOException {
+        return getDelegate().getRootURI();
+    }
+
+    @Override
+    public void close() throws IOException {
+        final FileSystem delegate;
+        final TempDir tempDir;
+        synchronized (this) {
+            closed = true;
+            delegate = this.delegate;
+            tempDir = this.tempDir;
+        }
+        if (delegate != null) {
+            try {
+                delegate.close();
+            } finally {
+                VFSUtils.safeClose(tempDir);
+            }
+        }
+    }
+}
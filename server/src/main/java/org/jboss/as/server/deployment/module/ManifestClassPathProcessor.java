@@ -25,6 +25,7 @@ package org.jboss.as.server.deployment.module;
 import java.io.Closeable;
 import java.io.IOException;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -48,7 +49,6 @@ import org.jboss.as.server.moduleservice.ExternalModule;
 import org.jboss.as.server.moduleservice.ServiceModuleLoader;
 import org.jboss.modules.ModuleIdentifier;
 import org.jboss.msc.service.ServiceTarget;
-import org.jboss.vfs.VFS;
 import org.jboss.vfs.VFSUtils;
 import org.jboss.vfs.VirtualFile;
 
@@ -141,6 +141,10 @@ public final class ManifestClassPathProcessor implements DeploymentUnitProcessor
             }
         }
 
+        // the roots created for Class-Path entries are indexed concurrently once they are all known, rather than one
+        // after the other as they are created
+        final List<ResourceRoot> createdRoots = new ArrayList<ResourceRoot>();
+
         //additional resource roots may be added as
         while (!resourceRoots.isEmpty()) {
             final RootEntry entry = resourceRoots.pop();
@@ -183,7 +187,7 @@ public final class ManifestClassPathProcessor implements DeploymentUnitProcessor
                         if (!found) {
                             ServerLogger.DEPLOYMENT_LOGGER.classPathEntryNotValid(item, resourceRoot.getRoot().getPathName());
                         } else {
-                            handlingExistingClassPathEntry(resourceRoots, topLevelDeployment, topLevelRoot, subDeployments, additionalModules, existingAccessibleRoots, resourceRoot, target, classPathFile);
+                            handlingExistingClassPathEntry(resourceRoots, topLevelDeployment, topLevelRoot, subDeployments, additionalModules, existingAccessibleRoots, resourceRoot, target, classPathFile, createdRoots);
                         }
                     } else if (topLevelClassPathFile.exists()) {
                         boolean found = false;
@@ -197,7 +201,7 @@ public final class ManifestClassPathProcessor implements DeploymentUnitProcessor
                         if (!found) {
                             ServerLogger.DEPLOYMENT_LOGGER.classPathEntryNotValid(item, resourceRoot.getRoot().getPathName());
                         } else {
-                            handlingExistingClassPathEntry(resourceRoots, topLevelDeployment, topLevelRoot, subDeployments, additionalModules, existingAccessibleRoots, resourceRoot, target, topLevelClassPathFile);
+                            handlingExistingClassPathEntry(resourceRoots, topLevelDeployment, topLevelRoot, subDeployments, additionalModules, existingAccessibleRoots, resourceRoot, target, topLevelClassPathFile, createdRoots);
                         }
                     } else {
                         ServerLogger.DEPLOYMENT_LOGGER.classPathEntryNotValid(item, resourceRoot.getRoot().getPathName());
@@ -205,9 +209,10 @@ public final class ManifestClassPathProcessor implements DeploymentUnitProcessor
                 }
             }
         }
+        ResourceRootIndexer.indexResourceRoots(createdRoots, topLevelDeployment);
     }
 
-    private void handlingExistingClassPathEntry(final ArrayDeque<RootEntry> resourceRoots, final DeploymentUnit topLevelDeployment, final VirtualFile topLevelRoot, final Map<VirtualFile, ResourceRoot> subDeployments, final Map<VirtualFile, AdditionalModuleSpecification> additionalModules, final Set<VirtualFile> existingAccessibleRoots, final ResourceRoot resourceRoot, final Attachable target, final VirtualFile classPathFile) throws DeploymentUnitProcessingException {
+    private void handlingExistingClassPathEntry(final ArrayDeque<RootEntry> resourceRoots, final DeploymentUnit topLevelDeployment, final VirtualFile topLevelRoot, final Map<VirtualFile, ResourceRoot> subDeployments, final Map<VirtualFile, AdditionalModuleSpecification> additionalModules, final Set<VirtualFile> existingAccessibleRoots, final ResourceRoot resourceRoot, final Attachable target, final VirtualFile classPathFile, final List<ResourceRoot> createdRoots) throws DeploymentUnitProcessingException {
         if (existingAccessibleRoots.contains(classPathFile)) {
             ServerLogger.DEPLOYMENT_LOGGER.debugf("Class-Path entry %s in %s ignored, as target is already accessible", classPathFile, resourceRoot.getRoot());
         } else if (additionalModules.containsKey(classPathFile)) {
@@ -221,13 +226,14 @@ public final class ManifestClassPathProcessor implements DeploymentUnitProcessor
             final ResourceRoot otherRoot = subDeployments.get(classPathFile);
             target.addToAttachmentList(Attachments.CLASS_PATH_ENTRIES, ModuleIdentifierProcessor.createModuleIdentifier(otherRoot.getRootName(), otherRoot, topLevelDeployment, topLevelRoot, false));
         } else {
-            ModuleIdentifier identifier = createAdditionalModule(resourceRoot, topLevelDeployment, topLevelRoot, additionalModules, classPathFile, resourceRoots);
+            ModuleIdentifier identifier = createAdditionalModule(resourceRoot, topLevelDeployment, topLevelRoot, additionalModules, classPathFile, resourceRoots, createdRoots);
             target.addToAttachmentList(Attachments.CLASS_PATH_ENTRIES, identifier);
         }
     }
 
-    private ModuleIdentifier createAdditionalModule(final ResourceRoot resourceRoot, final DeploymentUnit topLevelDeployment, final VirtualFile topLevelRoot, final Map<VirtualFile, AdditionalModuleSpecification> additionalModules, final VirtualFile classPathFile, final ArrayDeque<RootEntry> resourceRoots) throws DeploymentUnitProcessingException {
+    private ModuleIdentifier createAdditionalModule(final ResourceRoot resourceRoot, final DeploymentUnit topLevelDeployment, final VirtualFile topLevelRoot, final Map<VirtualFile, AdditionalModuleSpecification> additionalModules, final VirtualFile classPathFile, final ArrayDeque<RootEntry> resourceRoots, final List<ResourceRoot> createdRoots) throws DeploymentUnitProcessingException {
         final ResourceRoot root = createResourceRoot(classPathFile, topLevelDeployment, topLevelRoot);
+        createdRoots.add(root);
         final String pathName = root.getRoot().getPathNameRelativeTo(topLevelRoot);
         ModuleIdentifier identifier = ModuleIdentifier.create(ServiceModuleLoader.MODULE_PREFIX + topLevelDeployment.getName() + "." + pathName);
         AdditionalModuleSpecification module = new AdditionalModuleSpecification(identifier, root);
@@ -280,12 +286,11 @@ public final class ManifestClassPathProcessor implements DeploymentUnitProcessor
             if(overlay != null) {
                 overlay.remountAsZip(false);
             } else if(file.isFile()) {
-                closable = VFS.mountZip(file, file, TempFileProviderService.provider());
+                closable = LazyZipFileSystem.mountZip(file);
             }
             final MountHandle mountHandle = MountHandle.create(closable);
             final ResourceRoot resourceRoot = new ResourceRoot(file, mountHandle);
             ModuleRootMarker.mark(resourceRoot);
-            ResourceRootIndexer.indexResourceRoot(resourceRoot);
             return resourceRoot;
         } catch (IOException e) {
             throw new RuntimeException(e);
@@ -49,7 +49,6 @@ import org.jboss.modules.ModuleLoader;
 import org.jboss.modules.ModuleSpec;
 import org.jboss.modules.ResourceLoaderSpec;
 import org.jboss.modules.filter.MultiplePathFilterBuilder;
-import org.jboss.modules.filter.PathFilter;
 import org.jboss.modules.filter.PathFilters;
 import org.jboss.modules.security.FactoryPermissionCollection;
 import org.jboss.modules.security.ImmediatePermissionFactory;
@@ -88,6 +87,9 @@ public class ModuleSpecProcessor implements DeploymentUnitProcessor {
         deploymentUnit.removeAttachment(Attachments.MODULE);
         deploymentUnit.removeAttachment(Attachments.MODULE_PERMISSIONS);
         deploymentUnit.removeAttachment(DelegatingClassFileTransformer.ATTACHMENT_KEY);
+        if (deploymentUnit.getParent() == null) {
+            DependencySpecCache.remove(deploymentUnit);
+        }
     }
 
     private void deployModuleSpec(final DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
@@ -234,15 +236,16 @@ public class ModuleSpecProcessor implements DeploymentUnitProcessor {
             addResourceRoot(specBuilder, resourceRoot, permFactories);
         }
 
-        createDependencies(specBuilder, dependencies, false);
-        createDependencies(specBuilder, userDependencies, false);
+        final DependencySpecCache dependencySpecs = DependencySpecCache.of(deploymentUnit);
+        createDependencies(dependencySpecs, specBuilder, dependencies, false);
+        createDependencies(dependencySpecs, specBuilder, userDependencies, false);
 
         if (moduleSpecification.isLocalLast()) {
-            createDependencies(specBuilder, localDependencies, moduleSpecification.isLocalDependenciesTransitive());
+            createDependencies(dependencySpecs, specBuilder, localDependencies, moduleSpecification.isLocalDependenciesTransitive());
             specBuilder.addDependency(DependencySpec.createLocalDependencySpec());
         } else {
             specBuilder.addDependency(DependencySpec.createLocalDependencySpec());
-            createDependencies(specBuilder, localDependencies, moduleSpecification.isLocalDependenciesTransitive());
+            createDependencies(dependencySpecs, specBuilder, localDependencies, moduleSpecification.isLocalDependenciesTransitive());
         }
 
         final Enumeration<Permission> e = DEFAULT_PERMISSIONS.elements();
@@ -312,41 +315,11 @@ public class ModuleSpecProcessor implements DeploymentUnitProcessor {
         }
     }
 
-    private void createDependencies(final ModuleSpec.Builder specBuilder, final List<ModuleDependency> apiDependencies, final boolean requireTransitive) {
+    private void createDependencies(final DependencySpecCache dependencySpecs, final ModuleSpec.Builder specBuilder, final List<ModuleDependency> apiDependencies, final boolean requireTransitive) {
         if (apiDependencies != null) {
             for (final ModuleDependency dependency : apiDependencies) {
                 final boolean export = requireTransitive ? true : dependency.isExport();
-                final List<FilterSpecification> importFilters = dependency.getImportFilters();
-                final List<FilterSpecification> exportFilters = dependency.getExportFilters();
-                final PathFilter importFilter;
-                final PathFilter exportFilter;
-                final MultiplePathFilterBuilder importBuilder = PathFilters.multiplePathFilterBuilder(true);
-                for (final FilterSpecification filter : importFilters) {
-                    importBuilder.addFilter(filter.getPathFilter(), filter.isInclude());
-                }
-                if (dependency.isImportServices()) {
-                    importBuilder.addFilter(PathFilters.getMetaInfServicesFilter(), true);
-                }
-                importBuilder.addFilter(PathFilters.getMetaInfSubdirectoriesFilter(), false);
-                importBuilder.addFilter(PathFilters.getMetaInfFilter(), false);
-                importFilter = importBuilder.create();
-                if (exportFilters.isEmpty()) {
-                    if (export) {
-                        exportFilter = PathFilters.acceptAll();
-                    } else {
-                        exportFilter = PathFilters.rejectAll();
-                    }
-                } else {
-                    final MultiplePathFilterBuilder exportBuilder = PathFilters
-                            .multiplePathFilterBuilder(export);
-                    for (final FilterSpecification filter : exportFilters) {
-                        exportBuilder.addFilter(filter.getPathFilter(), filter.isInclude());
-                    }
-                    exportFilter = exportBuilder.create();
-                }
-                final DependencySpec depSpec = DependencySpec.createModuleDependencySpec(importFilter, exportFilter, dependency
-                        .getModuleLoader(), dependency.getIdentifier(), dependency.isOptional());
-                specBuilder.addDependency(depSpec);
+                specBuilder.addDependency(dependencySpecs.get(dependency, export));
                 logger.debugf("Adding dependency %s to module %s", dependency, specBuilder.getIdentifier());
             }
         }
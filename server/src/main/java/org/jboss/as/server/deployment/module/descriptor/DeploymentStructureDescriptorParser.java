@@ -171,6 +171,8 @@ public class DeploymentStructureDescriptorParser implements DeploymentUnitProces
             }
             // handle additional modules
             Map<ModuleIdentifier, AdditionalModuleSpecification> additionalModules = new HashMap<>();
+            // indexed together once all of them are known, so the archives are opened and indexed concurrently
+            final List<ResourceRoot> additionalResourceRoots = new ArrayList<>();
             for (final ModuleStructureSpec additionalModule : result.getAdditionalModules()) {
                 for (final ModuleIdentifier identifier : additionalModule.getAnnotationModules()) {
                     //additional modules don't support annotation imports
@@ -191,10 +193,9 @@ public class DeploymentStructureDescriptorParser implements DeploymentUnitProces
                 additional.addSystemDependencies(additionalModule.getModuleDependencies());
                 additionalModules.put(additional.getModuleIdentifier(), additional);
                 deploymentUnit.addToAttachmentList(Attachments.ADDITIONAL_MODULES, additional);
-                for (final ResourceRoot root : additionalModuleResourceRoots) {
-                    ResourceRootIndexer.indexResourceRoot(root);
-                }
+                additionalResourceRoots.addAll(additionalModuleResourceRoots);
             }
+            ResourceRootIndexer.indexResourceRoots(additionalResourceRoots, deploymentUnit);
 
             final ModuleSpecification moduleSpec = deploymentUnit.getAttachment(Attachments.MODULE_SPECIFICATION);
             if (result.getEarSubDeploymentsIsolated() != null) {
@@ -269,6 +270,7 @@ public class DeploymentStructureDescriptorParser implements DeploymentUnitProces
         moduleSpec.addExclusions(rootDeploymentSpecification.getExclusions());
         moduleSpec.addAliases(rootDeploymentSpecification.getAliases());
         moduleSpec.addModuleSystemDependencies(rootDeploymentSpecification.getSystemDependencies());
+        final List<ResourceRoot> addedResourceRoots = new ArrayList<>();
         for (final ResourceRoot additionalResourceRoot : rootDeploymentSpecification.getResourceRoots()) {
 
             final ResourceRoot existingRoot = resourceRoots.get(additionalResourceRoot.getRoot());
@@ -280,11 +282,12 @@ public class DeploymentStructureDescriptorParser implements DeploymentUnitProces
                 ServerLogger.DEPLOYMENT_LOGGER.additionalResourceRootDoesNotExist(additionalResourceRoot.getRoot().getPathName());
             } else {
                 deploymentUnit.addToAttachmentList(Attachments.RESOURCE_ROOTS, additionalResourceRoot);
-                //compute the annotation index for the root
-                ResourceRootIndexer.indexResourceRoot(additionalResourceRoot);
+                addedResourceRoots.add(additionalResourceRoot);
                 ModuleRootMarker.mark(additionalResourceRoot);
             }
         }
+        //compute the annotation indexes for the added roots
+        ResourceRootIndexer.indexResourceRoots(addedResourceRoots, deploymentUnit);
         for (final String classFileTransformer : rootDeploymentSpecification.getClassFileTransformers()) {
             moduleSpec.addClassFileTransformer(classFileTransformer);
         }
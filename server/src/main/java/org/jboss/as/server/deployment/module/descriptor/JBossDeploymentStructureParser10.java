@@ -45,16 +45,15 @@ import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.MountedDeploymentOverlay;
 import org.jboss.as.server.deployment.jbossallxml.JBossAllXMLParser;
 import org.jboss.as.server.deployment.module.FilterSpecification;
+import org.jboss.as.server.deployment.module.LazyZipFileSystem;
 import org.jboss.as.server.deployment.module.ModuleDependency;
 import org.jboss.as.server.deployment.module.MountHandle;
 import org.jboss.as.server.deployment.module.ResourceRoot;
-import org.jboss.as.server.deployment.module.TempFileProviderService;
 import org.jboss.modules.ModuleIdentifier;
 import org.jboss.modules.ModuleLoader;
 import org.jboss.modules.filter.PathFilters;
 import org.jboss.staxmapper.XMLElementReader;
 import org.jboss.staxmapper.XMLExtendedStreamReader;
-import org.jboss.vfs.VFS;
 import org.jboss.vfs.VirtualFile;
 
 import static org.jboss.as.server.moduleservice.ServiceModuleLoader.MODULE_PREFIX;
@@ -524,7 +523,7 @@ public class JBossDeploymentStructureParser10 implements XMLElementReader<ParseR
                             if(overlay != null) {
                                 overlay.remountAsZip(false);
                             } else if(child.isFile()) {
-                                closable = VFS.mountZip(child, child, TempFileProviderService.provider());
+                                closable = LazyZipFileSystem.mountZip(child);
                             }
                             final MountHandle mountHandle = MountHandle.create(closable);
                             ResourceRoot resourceRoot = new ResourceRoot(name, child, mountHandle);
@@ -57,6 +57,7 @@ public final class ClassReflectionIndex {
     private final Map<ParamNameList, Constructor<?>> constructorsByTypeName;
     private final Map<String, Map<ParamList, Map<Class<?>, Method>>> methods;
     private final Map<String, Map<ParamNameList, Map<String, Method>>> methodsByTypeName;
+    private final int memberCount;
 
     /**
      * Identity map of all methods defined by this class and its superclasses (including default methods)
@@ -105,6 +106,7 @@ public final class ClassReflectionIndex {
         }
         this.constructorsByTypeName = constructorsByTypeName;
         this.constructors = constructors;
+        this.memberCount = declaredFields.length + declaredMethods.length + declaredConstructors.length;
     }
 
     private static final ParamList EMPTY = new ParamList(new Class<?>[0]);
@@ -166,6 +168,15 @@ public final class ClassReflectionIndex {
         return types == null || types.length == 0 ? EMPTY : new ParamList(types);
     }
 
+    /**
+     * Get the number of declared members held by this index, as a rough measure of its memory footprint.
+     *
+     * @return the number of fields, methods and constructors
+     */
+    int getMemberCount() {
+        return memberCount;
+    }
+
     /**
      * Get the class indexed by this object.
      *
@@ -27,6 +27,7 @@ import org.jboss.as.server.deployment.DeploymentPhaseContext;
 import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.deployment.DeploymentUnitProcessor;
+import org.jboss.as.server.logging.ServerLogger;
 
 /**
  * The processor to remove the reflection index from the deployment unit.
@@ -37,7 +38,13 @@ public final class CleanupReflectionIndexProcessor implements DeploymentUnitProc
 
     /** {@inheritDoc} */
     public void deploy(final DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
-        phaseContext.getDeploymentUnit().removeAttachment(Attachments.REFLECTION_INDEX);
+        final DeploymentUnit deploymentUnit = phaseContext.getDeploymentUnit();
+        final DeploymentReflectionIndex index = deploymentUnit.removeAttachment(Attachments.REFLECTION_INDEX);
+        // The index is shared with the sub deployments, so only report it once
+        if (index != null && deploymentUnit.getParent() == null && ServerLogger.DEPLOYMENT_LOGGER.isTraceEnabled()) {
+            ServerLogger.DEPLOYMENT_LOGGER.tracef("Released reflection index of %s holding %d classes with %d members",
+                    deploymentUnit.getName(), index.getClassCount(), index.getMemberCount());
+        }
         phaseContext.getDeploymentUnit().removeAttachment(Attachments.PROXY_REFLECTION_INDEX);
     }
 
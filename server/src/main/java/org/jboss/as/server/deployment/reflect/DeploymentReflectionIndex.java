@@ -24,8 +24,9 @@ package org.jboss.as.server.deployment.reflect;
 
 import java.security.AccessController;
 import java.security.PrivilegedAction;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.jboss.as.server.logging.ServerLogger;
 import org.jboss.as.server.security.ServerPermission;
@@ -36,7 +37,9 @@ import org.jboss.as.server.security.ServerPermission;
  * @author <a href="mailto:david.lloyd@redhat.com">David M. Lloyd</a>
  */
 public final class DeploymentReflectionIndex {
-    private final Map<Class<?>, ClassReflectionIndex> classes = new HashMap<Class<?>, ClassReflectionIndex>();
+    // Class indexes do not depend on each other when created, so they can be created concurrently
+    private final Map<Class<?>, ClassReflectionIndex> classes = new ConcurrentHashMap<>();
+    private final LongAdder memberCount = new LongAdder();
 
     DeploymentReflectionIndex() {
     }
@@ -61,21 +64,45 @@ public final class DeploymentReflectionIndex {
      * @return the index
      */
     @SuppressWarnings({"unchecked"})
-    public synchronized ClassReflectionIndex getClassIndex(Class clazz) {
-        try {
-            ClassReflectionIndex index = classes.get(clazz);
-            if (index == null) {
-                final SecurityManager sm = System.getSecurityManager();
-                if (sm == null) {
-                    index = new ClassReflectionIndex(clazz, this);
-                } else {
-                    index = AccessController.doPrivileged((PrivilegedAction<ClassReflectionIndex>) () -> new ClassReflectionIndex(clazz, this));
-                }
-                classes.put(clazz, index);
-            }
+    public ClassReflectionIndex getClassIndex(Class clazz) {
+        ClassReflectionIndex index = classes.get(clazz);
+        if (index != null) {
             return index;
+        }
+        try {
+            return classes.computeIfAbsent(clazz, this::createClassIndex);
         } catch (Throwable e) {
             throw ServerLogger.ROOT_LOGGER.errorGettingReflectiveInformation(clazz, clazz.getClassLoader(), e);
         }
     }
+
+    private ClassReflectionIndex createClassIndex(final Class<?> clazz) {
+        final ClassReflectionIndex index;
+        final SecurityManager sm = System.getSecurityManager();
+        if (sm == null) {
+            index = new ClassReflectionIndex(clazz, this);
+        } else {
+            index = AccessController.doPrivileged((PrivilegedAction<ClassReflectionIndex>) () -> new ClassReflectionIndex(clazz, this));
+        }
+        memberCount.add(index.getMemberCount());
+        return index;
+    }
+
+    /**
+     * Get the number of classes currently indexed.
+     *
+     * @return the number of classes
+     */
+    int getClassCount() {
+        return classes.size();
+    }
+
+    /**
+     * Get the total number of fields, methods and constructors held by the indexed classes.
+     *
+     * @return the number of members
+     */
+    long getMemberCount() {
+        return memberCount.sum();
+    }
 }
@@ -0,0 +1,78 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.server.deployment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jboss.dmr.ModelNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of {@link DeploymentProcessingProfile}.
+ */
+public class DeploymentProcessingProfileTestCase {
+
+    private static final RegisteredDeploymentUnitProcessor PROCESSOR = new RegisteredDeploymentUnitProcessor(1, new DeploymentUnitProcessor() {
+        @Override
+        public void deploy(DeploymentPhaseContext phaseContext) {
+        }
+
+        @Override
+        public void undeploy(DeploymentUnit context) {
+        }
+    }, "test");
+
+    @Test
+    public void testRestartedPhasesAreNotAccumulated() throws Exception {
+        final DeploymentUnit deploymentUnit = new DeploymentUnitImpl(null, "test.war", null);
+        runPhases(deploymentUnit, Phase.STRUCTURE, Phase.PARSE, Phase.INSTALL);
+        Assert.assertEquals(Arrays.asList("STRUCTURE", "PARSE", "INSTALL"), processorPhases(deploymentUnit));
+
+        // The phase chain restarting from PARSE replaces the entries of PARSE and the later phases
+        runPhases(deploymentUnit, Phase.PARSE, Phase.INSTALL);
+        Assert.assertEquals(Arrays.asList("STRUCTURE", "PARSE", "INSTALL"), processorPhases(deploymentUnit));
+
+        // A redeployment starts over
+        runPhases(deploymentUnit, Phase.STRUCTURE);
+        Assert.assertEquals(Arrays.asList("STRUCTURE"), processorPhases(deploymentUnit));
+        Assert.assertEquals(1, DeploymentProcessingProfile.get(deploymentUnit).toModelNode().get("phases").asList().size());
+    }
+
+    private static void runPhases(DeploymentUnit deploymentUnit, Phase... phases) throws Exception {
+        for (Phase phase : phases) {
+            DeploymentProcessingProfile.startPhase(deploymentUnit, phase).deploy(phase, PROCESSOR, null);
+        }
+    }
+
+    private static List<String> processorPhases(DeploymentUnit deploymentUnit) {
+        final List<String> phases = new ArrayList<>();
+        for (ModelNode processor : DeploymentProcessingProfile.get(deploymentUnit).toModelNode().get("processors").asList()) {
+            phases.add(processor.get("phase").asString());
+        }
+        return phases;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.dmr.ModelNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of {@link DeploymentTimes}.
+ */
+public class DeploymentTimesTestCase {
+
+    @Test
+    public void testCriticalPath() {
+        final DeploymentUnit deploymentUnit = new DeploymentUnitImpl(null, "test.ear", null);
+        DeploymentTimes.phaseStarting(deploymentUnit, Phase.STRUCTURE, 100);
+        DeploymentTimes.phaseComplete(deploymentUnit, 110);
+        // Waiting for a dependency between STRUCTURE and PARSE
+        DeploymentTimes.phaseStarting(deploymentUnit, Phase.PARSE, 150);
+        DeploymentTimes.phaseComplete(deploymentUnit, 160);
+        DeploymentTimes.phaseStarting(deploymentUnit, Phase.INSTALL, 165);
+        DeploymentTimes.phaseComplete(deploymentUnit, 170);
+
+        final DeploymentTimes times = DeploymentTimes.get(deploymentUnit);
+        Assert.assertEquals(70, times.getElapsedTime());
+        Assert.assertEquals(45, times.getWaitingTime());
+
+        // Waiting for the sub deployments to complete
+        times.deploymentComplete(200);
+        final ModelNode node = times.toModelNode();
+        Assert.assertEquals(100, node.get("elapsed-time").asLong());
+        Assert.assertEquals(45, node.get("waiting-time").asLong());
+    }
+
+    @Test
+    public void testRedeploymentStartsOver() {
+        final DeploymentUnit deploymentUnit = new DeploymentUnitImpl(null, "test.war", null);
+        DeploymentTimes.phaseStarting(deploymentUnit, Phase.STRUCTURE, 100);
+        DeploymentTimes.phaseComplete(deploymentUnit, 110);
+        DeploymentTimes.phaseStarting(deploymentUnit, Phase.PARSE, 150);
+        DeploymentTimes.phaseComplete(deploymentUnit, 160);
+
+        DeploymentTimes.phaseStarting(deploymentUnit, Phase.STRUCTURE, 1000);
+        DeploymentTimes.phaseComplete(deploymentUnit, 1010);
+        final DeploymentTimes times = DeploymentTimes.get(deploymentUnit);
+        Assert.assertEquals(10, times.getElapsedTime());
+        Assert.assertEquals(0, times.getWaitingTime());
+    }
+
+    @Test
+    public void testConcurrentWaiting() throws Exception {
+        final DeploymentUnit deploymentUnit = new DeploymentUnitImpl(null, "test.war", null);
+        DeploymentTimes.phaseStarting(deploymentUnit, Phase.STRUCTURE, 100);
+        DeploymentTimes.phaseComplete(deploymentUnit, 110);
+
+        final int threads = 8;
+        final int iterations = 10000;
+        final CountDownLatch latch = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    latch.await();
+                    for (int j = 0; j < iterations; j++) {
+                        DeploymentTimes.phaseStarting(deploymentUnit, Phase.PARSE, 111);
+                    }
+                    return null;
+                }));
+            }
+            latch.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals((long) threads * iterations, DeploymentTimes.get(deploymentUnit).getWaitingTime());
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.Indexer;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests of {@link AnnotationIndexCache}.
+ */
+public class AnnotationIndexCacheTestCase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        final AnnotationIndexCache cache = new AnnotationIndexCache(folder.getRoot().toPath().resolve("annotation-index"), false, "1");
+        final long misses = AnnotationIndexCache.getMissCount();
+        final long hits = AnnotationIndexCache.getHitCount();
+
+        final String entry = cache.getEntryName("WEB-INF/lib/a.jar", null, null);
+        Assert.assertNull(cache.read(entry));
+        Assert.assertEquals(misses + 1, AnnotationIndexCache.getMissCount());
+
+        cache.write(entry, indexOf(AnnotationIndexCacheTestCase.class));
+        final Index index = cache.read(entry);
+        Assert.assertNotNull(index);
+        Assert.assertNotNull(index.getClassByName(DotName.createSimple(AnnotationIndexCacheTestCase.class.getName())));
+        Assert.assertEquals(hits + 1, AnnotationIndexCache.getHitCount());
+
+        // Entries are specific to the root and to the paths excluded from indexing
+        Assert.assertNotEquals(entry, cache.getEntryName("WEB-INF/lib/b.jar", null, null));
+        Assert.assertNotEquals(entry, cache.getEntryName("WEB-INF/lib/a.jar", Collections.singleton("org/jboss"), null));
+    }
+
+    @Test
+    public void testIndexVersion() throws Exception {
+        final Path directory = folder.getRoot().toPath().resolve("annotation-index");
+        final AnnotationIndexCache cache = new AnnotationIndexCache(directory, false, "1");
+        final String entry = cache.getEntryName("WEB-INF/lib/a.jar", null, null);
+        cache.write(entry, indexOf(AnnotationIndexCacheTestCase.class));
+
+        // Indexes written by another version of Jandex are not read
+        final AnnotationIndexCache other = new AnnotationIndexCache(directory, false, "2");
+        final String otherEntry = other.getEntryName("WEB-INF/lib/a.jar", null, null);
+        Assert.assertNotEquals(entry, otherEntry);
+        Assert.assertNull(other.read(otherEntry));
+
+        // Nothing is cached if the version is unknown
+        Assert.assertNull(new AnnotationIndexCache(directory, false, null).getEntryName("WEB-INF/lib/a.jar", null, null));
+    }
+
+    @Test
+    public void testFingerprinted() throws Exception {
+        final Path directory = folder.getRoot().toPath().resolve("annotation-index");
+        final Path classes = folder.newFolder("classes").toPath();
+        final Path file = Files.write(classes.resolve("A.class"), new byte[] {1});
+        Files.setLastModifiedTime(file, FileTime.fromMillis(1000));
+
+        AnnotationIndexCache cache = new AnnotationIndexCache(directory, true, "1");
+        Assert.assertNull(cache.getEntryName("WEB-INF/classes", null, null));
+        final String entry = cache.getEntryName("WEB-INF/classes", null, classes);
+        Assert.assertEquals(entry, cache.getEntryName("WEB-INF/classes", null, classes));
+        cache.write(entry, indexOf(AnnotationIndexCacheTestCase.class));
+
+        // Files that are not indexed do not change the entry
+        final String ignoring = cache.getEntryName("WEB-INF/classes", Collections.singleton("ignored"), classes);
+        Files.write(classes.resolve("web.xml"), new byte[] {1});
+        Assert.assertEquals(entry, cache.getEntryName("WEB-INF/classes", null, classes));
+        Files.createDirectories(classes.resolve("ignored"));
+        Files.write(classes.resolve("ignored/B.class"), new byte[] {1});
+        Assert.assertEquals(ignoring, cache.getEntryName("WEB-INF/classes", Collections.singleton("ignored"), classes));
+        Assert.assertNotEquals(entry, cache.getEntryName("WEB-INF/classes", null, classes));
+        Files.delete(classes.resolve("ignored/B.class"));
+
+        // A changed resource root is indexed again and the entry of its previous version is pruned, as are
+        // incomplete writes
+        Files.setLastModifiedTime(file, FileTime.fromMillis(2000));
+        final Path incomplete = Files.write(directory.resolve("index123.tmp"), new byte[] {1});
+        cache = new AnnotationIndexCache(directory, true, "1");
+        final String changed = cache.getEntryName("WEB-INF/classes", null, classes);
+        Assert.assertNotEquals(entry, changed);
+        Assert.assertNull(cache.read(changed));
+        cache.write(changed, indexOf(AnnotationIndexCacheTestCase.class));
+        cache.prune();
+        Assert.assertFalse(Files.exists(directory.resolve(entry)));
+        Assert.assertFalse(Files.exists(incomplete));
+        Assert.assertNotNull(cache.read(changed));
+    }
+
+    @Test
+    public void testFingerprintedArchive() throws Exception {
+        final Path directory = folder.getRoot().toPath().resolve("annotation-index");
+        final Path jar = Files.write(folder.getRoot().toPath().resolve("a.jar"), new byte[] {1});
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(1000));
+
+        final AnnotationIndexCache cache = new AnnotationIndexCache(directory, true, "1");
+        final String entry = cache.getEntryName("lib/a.jar", null, jar);
+        Assert.assertNotNull(entry);
+        Files.write(jar, new byte[] {1, 2});
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(1000));
+        Assert.assertNotEquals(entry, cache.getEntryName("lib/a.jar", null, jar));
+    }
+
+    private static Index indexOf(Class<?> clazz) throws Exception {
+        final Indexer indexer = new Indexer();
+        try (InputStream in = clazz.getResourceAsStream(clazz.getSimpleName() + ".class")) {
+            indexer.index(in);
+        }
+        return indexer.complete();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.server.deployment.annotation;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.jboss.as.server.deployment.Attachments;
+import org.jboss.as.server.deployment.module.ResourceRoot;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.Index;
+import org.jboss.vfs.VFS;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests of {@link AnnotationIndexProcessor}.
+ */
+public class AnnotationIndexProcessorTestCase {
+
+    private static final Class<?>[][] ROOT_CLASSES = {
+            {AnnotationIndexProcessorTestCase.class, AnnotationIndexCacheTestCase.class},
+            {AnnotationIndexProcessor.class, ResourceRootIndexer.class},
+            {AnnotationIndexCache.class},
+            {}
+    };
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testParallelIndexEqualsSequentialIndex() throws Exception {
+        final List<ResourceRoot> sequential = createResourceRoots("sequential");
+        final List<ResourceRoot> parallel = createResourceRoots("parallel");
+
+        AnnotationIndexProcessor.indexResourceRoots(sequential, null, null);
+        final ExecutorService executor = Executors.newFixedThreadPool(ROOT_CLASSES.length);
+        try {
+            AnnotationIndexProcessor.indexResourceRoots(parallel, null, executor);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (int i = 0; i < ROOT_CLASSES.length; i++) {
+            final Set<String> expected = new HashSet<>();
+            for (Class<?> clazz : ROOT_CLASSES[i]) {
+                expected.add(clazz.getName());
+            }
+            Assert.assertEquals(expected, classNames(sequential.get(i)));
+            Assert.assertEquals(classNames(sequential.get(i)), classNames(parallel.get(i)));
+        }
+    }
+
+    private List<ResourceRoot> createResourceRoots(String name) throws Exception {
+        final List<ResourceRoot> resourceRoots = new ArrayList<>();
+        for (int i = 0; i < ROOT_CLASSES.length; i++) {
+            final Path root = folder.newFolder(name, "root" + i).toPath();
+            for (Class<?> clazz : ROOT_CLASSES[i]) {
+                final Path classFile = root.resolve(clazz.getName().replace('.', '/') + ".class");
+                Files.createDirectories(classFile.getParent());
+                try (InputStream in = clazz.getResourceAsStream(clazz.getSimpleName() + ".class")) {
+                    Files.copy(in, classFile);
+                }
+            }
+            resourceRoots.add(new ResourceRoot(VFS.getChild(root.toUri()), null));
+        }
+        return resourceRoots;
+    }
+
+    private static Set<String> classNames(ResourceRoot resourceRoot) {
+        final Index index = resourceRoot.getAttachment(Attachments.ANNOTATION_INDEX);
+        Assert.assertNotNull(index);
+        final Set<String> names = new HashSet<>();
+        for (ClassInfo classInfo : index.getKnownClasses()) {
+            names.add(classInfo.name().toString());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.server.deployment.module;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.server.deployment.DeploymentUnit;
+import org.jboss.as.server.deployment.SimpleAttachable;
+import org.jboss.dmr.ModelNode;
+import org.jboss.modules.DependencySpec;
+import org.jboss.modules.ModuleDependencySpec;
+import org.jboss.modules.ModuleFinder;
+import org.jboss.modules.ModuleLoader;
+import org.jboss.modules.filter.MultiplePathFilterBuilder;
+import org.jboss.modules.filter.PathFilter;
+import org.jboss.modules.filter.PathFilters;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.ServiceRegistry;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of {@link DependencySpecCache}.
+ */
+public class DependencySpecCacheTestCase {
+
+    private static final ModuleLoader MODULE_LOADER = new ModuleLoader(new ModuleFinder[0]);
+
+    private static final List<String> PATHS = Arrays.asList("", "org", "org/jboss", "org/excluded", "META-INF",
+            "META-INF/services", "META-INF/maven", "META-INF/maven/org.jboss", "WEB-INF/classes");
+
+    @Test
+    public void testSpecsMatchThoseBuiltForEachModule() {
+        final DependencySpecCache cache = DependencySpecCache.of(new TestDeploymentUnit("test.war", null));
+        for (boolean optional : new boolean[] {false, true}) {
+            for (boolean export : new boolean[] {false, true}) {
+                for (boolean importServices : new boolean[] {false, true}) {
+                    for (int filters = 0; filters < 4; filters++) {
+                        for (boolean requireTransitive : new boolean[] {false, true}) {
+                            final ModuleDependency dependency = dependency(optional, export, importServices, filters);
+                            final boolean exported = requireTransitive || dependency.isExport();
+                            assertSameDependency(createUnshared(dependency, exported), cache.get(dependency, exported));
+                            // A second lookup, from the cache if the dependency is unfiltered, is still the same
+                            assertSameDependency(createUnshared(dependency, exported), cache.get(dependency, exported));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testUnfilteredSpecsAreSharedAcrossSubDeployments() {
+        final TestDeploymentUnit ear = new TestDeploymentUnit("app.ear", null);
+        final TestDeploymentUnit war = new TestDeploymentUnit("web.war", ear);
+        final TestDeploymentUnit jar = new TestDeploymentUnit("ejb.jar", ear);
+        final DependencySpecCache cache = DependencySpecCache.of(war);
+        Assert.assertSame(cache, DependencySpecCache.of(jar));
+        Assert.assertSame(cache, DependencySpecCache.of(ear));
+
+        // Each module has its own dependency instances, as processors add them
+        final DependencySpec warSpec = DependencySpecCache.of(war).get(dependency(false, false, true, 0), false);
+        final DependencySpec jarSpec = DependencySpecCache.of(jar).get(dependency(false, false, true, 0), false);
+        Assert.assertSame(warSpec, jarSpec);
+        assertSameDependency(createUnshared(dependency(false, false, true, 0), false), jarSpec);
+
+        // Any difference in the dependencies gives a different spec
+        Assert.assertNotSame(warSpec, cache.get(dependency(false, false, true, 0), true));
+        Assert.assertNotSame(warSpec, cache.get(dependency(true, false, true, 0), false));
+        Assert.assertNotSame(warSpec, cache.get(dependency(false, false, false, 0), false));
+        Assert.assertNotSame(warSpec, cache.get(new ModuleDependency(MODULE_LOADER, "org.jboss.other", false, false, true, false), false));
+        Assert.assertNotSame(warSpec, cache.get(new ModuleDependency(new ModuleLoader(new ModuleFinder[0]), "org.jboss.test", false, false, true, false), false));
+
+        // Filtered dependencies are not shared
+        final ModuleDependency filtered = dependency(false, false, true, 1);
+        Assert.assertNotSame(cache.get(filtered, false), cache.get(filtered, false));
+
+        // Once the deployment goes away, so do its specs
+        DependencySpecCache.remove(ear);
+        final DependencySpecCache redeployed = DependencySpecCache.of(war);
+        Assert.assertNotSame(cache, redeployed);
+        Assert.assertNotSame(warSpec, redeployed.get(dependency(false, false, true, 0), false));
+    }
+
+    /**
+     * Creates a dependency on {@code org.jboss.test}, with an import filter if bit 0 of {@code filters} is set and an
+     * export filter if bit 1 is set.
+     */
+    private static ModuleDependency dependency(final boolean optional, final boolean export, final boolean importServices, final int filters) {
+        final ModuleDependency dependency = new ModuleDependency(MODULE_LOADER, "org.jboss.test", optional, export, importServices, false);
+        if ((filters & 1) != 0) {
+            dependency.addImportFilter(PathFilters.is("org/excluded"), false);
+        }
+        if ((filters & 2) != 0) {
+            dependency.addExportFilter(PathFilters.isOrIsChildOf("org"), true);
+        }
+        return dependency;
+    }
+
+    /**
+     * Builds the spec of a dependency the way {@code ModuleSpecProcessor} did for each module before specs were shared.
+     */
+    private static DependencySpec createUnshared(final ModuleDependency dependency, final boolean export) {
+        final MultiplePathFilterBuilder importBuilder = PathFilters.multiplePathFilterBuilder(true);
+        for (final FilterSpecification filter : dependency.getImportFilters()) {
+            importBuilder.addFilter(filter.getPathFilter(), filter.isInclude());
+        }
+        if (dependency.isImportServices()) {
+            importBuilder.addFilter(PathFilters.getMetaInfServicesFilter(), true);
+        }
+        importBuilder.addFilter(PathFilters.getMetaInfSubdirectoriesFilter(), false);
+        importBuilder.addFilter(PathFilters.getMetaInfFilter(), false);
+        final PathFilter exportFilter;
+        if (dependency.getExportFilters().isEmpty()) {
+            exportFilter = export ? PathFilters.acceptAll() : PathFilters.rejectAll();
+        } else {
+            final MultiplePathFilterBuilder exportBuilder = PathFilters.multiplePathFilterBuilder(export);
+            for (final FilterSpecification filter : dependency.getExportFilters()) {
+                exportBuilder.addFilter(filter.getPathFilter(), filter.isInclude());
+            }
+            exportFilter = exportBuilder.create();
+        }
+        return DependencySpec.createModuleDependencySpec(importBuilder.create(), exportFilter, dependency.getModuleLoader(),
+                dependency.getIdentifier(), dependency.isOptional());
+    }
+
+    private static void assertSameDependency(final DependencySpec expected, final DependencySpec actual) {
+        final ModuleDependencySpec expectedModule = (ModuleDependencySpec) expected;
+        final ModuleDependencySpec actualModule = (ModuleDependencySpec) actual;
+        Assert.assertSame(expectedModule.getModuleLoader(), actualModule.getModuleLoader());
+        Assert.assertEquals(expectedModule.getName(), actualModule.getName());
+        Assert.assertEquals(expectedModule.isOptional(), actualModule.isOptional());
+        for (String path : PATHS) {
+            Assert.assertEquals("import " + path, expected.getImportFilter().accept(path), actual.getImportFilter().accept(path));
+            Assert.assertEquals("export " + path, expected.getExportFilter().accept(path), actual.getExportFilter().accept(path));
+        }
+    }
+
+    private static final class TestDeploymentUnit extends SimpleAttachable implements DeploymentUnit {
+        private final String name;
+        private final DeploymentUnit parent;
+
+        private TestDeploymentUnit(final String name, final DeploymentUnit parent) {
+            this.name = name;
+            this.parent = parent;
+        }
+
+        @Override
+        public ServiceName getServiceName() {
+            return ServiceName.of(name);
+        }
+
+        @Override
+        public DeploymentUnit getParent() {
+            return parent;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public ServiceRegistry getServiceRegistry() {
+            return null;
+        }
+
+        @Override
+        public ModelNode getDeploymentSubsystemModel(final String subsystemName) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ModelNode createDeploymentSubModel(final String subsystemName, final PathElement address) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ModelNode createDeploymentSubModel(final String subsystemName, final PathAddress address) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ModelNode createDeploymentSubModel(final String subsystemName, final PathAddress address, final Resource resource) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
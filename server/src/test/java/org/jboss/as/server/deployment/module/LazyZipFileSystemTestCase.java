@@ -0,0 +1,171 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.server.deployment.module;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.jboss.as.server.deployment.Attachments;
+import org.jboss.as.server.deployment.annotation.ResourceRootIndexer;
+import org.jboss.vfs.VFS;
+import org.jboss.vfs.VFSUtils;
+import org.jboss.vfs.VirtualFile;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests of {@link LazyZipFileSystem}.
+ */
+public class LazyZipFileSystemTestCase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testOpeningDeferred() throws Exception {
+        final File file = folder.newFile("deferred.jar");
+        createJar(file, "first.txt");
+        final VirtualFile archive = VFS.getChild(file.toURI());
+        final long deferred = LazyZipFileSystem.getDeferredCount();
+        final long opened = LazyZipFileSystem.getOpenedCount();
+        final Closeable handle = LazyZipFileSystem.mountZipLazily(archive);
+        try {
+            Assert.assertEquals(deferred + 1, LazyZipFileSystem.getDeferredCount());
+            // Replace the archive before anything inside of it is read, only the new content should be seen
+            createJar(file, "second.txt");
+            Assert.assertTrue(archive.exists());
+            Assert.assertTrue(archive.isDirectory());
+            Assert.assertEquals(opened, LazyZipFileSystem.getOpenedCount());
+            Assert.assertFalse(archive.getChild("first.txt").exists());
+            Assert.assertEquals(opened + 1, LazyZipFileSystem.getOpenedCount());
+            Assert.assertTrue(archive.getChild("second.txt").exists());
+        } finally {
+            VFSUtils.safeClose(handle);
+        }
+    }
+
+    @Test
+    public void testFirstAccessOpens() throws Exception {
+        final File file = folder.newFile("opened.jar");
+        createJar(file, "META-INF/test.txt");
+        final VirtualFile archive = VFS.getChild(file.toURI());
+        final Closeable handle = LazyZipFileSystem.mountZipLazily(archive);
+        try {
+            final VirtualFile entry = archive.getChild("META-INF/test.txt");
+            Assert.assertTrue(entry.isFile());
+            try (InputStream in = entry.openStream()) {
+                Assert.assertEquals("META-INF/test.txt", read(in));
+            }
+            Assert.assertEquals(1, archive.getChildren().size());
+            Assert.assertEquals("META-INF", archive.getChildren().get(0).getName());
+        } finally {
+            VFSUtils.safeClose(handle);
+        }
+        Assert.assertFalse(archive.getChild("META-INF/test.txt").exists());
+    }
+
+    @Test
+    public void testIndexingOpens() throws Exception {
+        final File first = folder.newFile("first.jar");
+        createJar(first, "first.txt");
+        final File second = folder.newFile("second.jar");
+        createJar(second, "second.txt");
+        final ResourceRoot firstRoot = mountLazily(first);
+        final ResourceRoot secondRoot = mountLazily(second);
+        try {
+            final long opened = LazyZipFileSystem.getOpenedCount();
+            Assert.assertEquals(opened, LazyZipFileSystem.getOpenedCount());
+            ResourceRootIndexer.indexResourceRoots(Arrays.asList(firstRoot, secondRoot), null);
+            Assert.assertEquals(opened + 2, LazyZipFileSystem.getOpenedCount());
+            Assert.assertNotNull(firstRoot.getAttachment(Attachments.ANNOTATION_INDEX));
+            Assert.assertNotNull(secondRoot.getAttachment(Attachments.ANNOTATION_INDEX));
+        } finally {
+            firstRoot.getMountHandle().close();
+            secondRoot.getMountHandle().close();
+        }
+    }
+
+    @Test
+    public void testCorruptArchive() throws Exception {
+        final File file = folder.newFile("corrupt.jar");
+        Files.write(file.toPath(), "not an archive".getBytes(StandardCharsets.UTF_8));
+        final VirtualFile archive = VFS.getChild(file.toURI());
+        final Closeable handle = LazyZipFileSystem.mountZipLazily(archive);
+        try {
+            Assert.assertTrue(archive.exists());
+            // Every access reports the failure, rather than the archive looking empty
+            for (int i = 0; i < 2; i++) {
+                try {
+                    archive.getChild("test.txt").exists();
+                    Assert.fail("Opening a corrupt archive should fail");
+                } catch (UncheckedIOException expected) {
+                    // expected
+                }
+                try {
+                    archive.getChild("test.txt").getPhysicalFile();
+                    Assert.fail("Opening a corrupt archive should fail");
+                } catch (IOException expected) {
+                    // expected
+                }
+            }
+        } finally {
+            VFSUtils.safeClose(handle);
+        }
+    }
+
+    private static ResourceRoot mountLazily(final File file) throws IOException {
+        final VirtualFile archive = VFS.getChild(file.toURI());
+        return new ResourceRoot(archive, MountHandle.create(LazyZipFileSystem.mountZipLazily(archive)));
+    }
+
+    private static String read(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[256];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static void createJar(final File file, final String entryName) throws IOException {
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(file))) {
+            out.putNextEntry(new ZipEntry(entryName));
+            out.write(entryName.getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+        }
+    }
+}
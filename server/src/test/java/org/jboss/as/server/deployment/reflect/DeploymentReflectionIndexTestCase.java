@@ -0,0 +1,169 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.server.deployment.reflect;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of {@link DeploymentReflectionIndex}.
+ */
+public class DeploymentReflectionIndexTestCase {
+
+    private static final Class<?>[] CLASSES = {
+            Leaf.class, OtherLeaf.class, Middle.class, Base.class, Named.class, Sized.class
+    };
+
+    @Test
+    public void testConcurrentLookupsAreConsistent() throws Exception {
+        // What a single thread sees
+        final DeploymentReflectionIndex expected = new DeploymentReflectionIndex();
+        for (Class<?> clazz : CLASSES) {
+            expected.getClassIndex(clazz).getClassMethods();
+        }
+
+        final int threads = 8;
+        final DeploymentReflectionIndex index = new DeploymentReflectionIndex();
+        final ConcurrentMap<Class<?>, ClassReflectionIndex> seen = new ConcurrentHashMap<>();
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                final int offset = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < CLASSES.length; j++) {
+                        // Each thread walks the classes in a different order
+                        final Class<?> clazz = CLASSES[(j + offset) % CLASSES.length];
+                        final ClassReflectionIndex classIndex = index.getClassIndex(clazz);
+                        final ClassReflectionIndex previous = seen.putIfAbsent(clazz, classIndex);
+                        Assert.assertSame(clazz.getName(), previous == null ? classIndex : previous, classIndex);
+                        classIndex.getClassMethods();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Every class was indexed once, its members counted once, and the indexes hold what a single thread builds
+        Assert.assertEquals(expected.getClassCount(), index.getClassCount());
+        Assert.assertEquals(expected.getMemberCount(), index.getMemberCount());
+        for (Class<?> clazz : CLASSES) {
+            final ClassReflectionIndex expectedIndex = expected.getClassIndex(clazz);
+            final ClassReflectionIndex classIndex = index.getClassIndex(clazz);
+            Assert.assertSame(seen.get(clazz), classIndex);
+            Assert.assertEquals(clazz.getName(), toStrings(expectedIndex.getClassMethods()), toStrings(classIndex.getClassMethods()));
+            Assert.assertEquals(clazz.getName(), expectedIndex.getFields().size(), classIndex.getFields().size());
+            Assert.assertEquals(clazz.getName(), expectedIndex.getConstructors().size(), classIndex.getConstructors().size());
+        }
+        for (Map.Entry<Class<?>, ClassReflectionIndex> entry : seen.entrySet()) {
+            Assert.assertSame(entry.getKey(), entry.getValue().getIndexedClass());
+        }
+    }
+
+    private static Set<String> toStrings(Collection<?> members) {
+        // The indexes hold their own copies of the members, so compare them by value
+        final Set<String> result = new HashSet<>();
+        for (Object member : members) {
+            result.add(member.toString());
+        }
+        return result;
+    }
+
+    interface Named {
+        default String name() {
+            return getClass().getSimpleName();
+        }
+    }
+
+    interface Sized {
+        int size();
+
+        default boolean isEmpty() {
+            return size() == 0;
+        }
+    }
+
+    static class Base implements Named {
+        protected int size;
+
+        public int size() {
+            return size;
+        }
+    }
+
+    static class Middle extends Base implements Sized {
+        private final List<String> values = new ArrayList<>();
+
+        Middle() {
+        }
+
+        Middle(String value) {
+            values.add(value);
+        }
+
+        @Override
+        public int size() {
+            return values.size();
+        }
+    }
+
+    static class Leaf extends Middle {
+        @Override
+        public String name() {
+            return "leaf";
+        }
+
+        public void add(String value) {
+        }
+    }
+
+    static class OtherLeaf extends Middle implements Comparable<OtherLeaf> {
+        @Override
+        public int compareTo(OtherLeaf o) {
+            return 0;
+        }
+    }
+}